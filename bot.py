@@ -2,6 +2,7 @@ import discord
 from discord.ext import commands
 import requests
 import asyncio
+import json
 import os
 import time
 import hmac
@@ -83,6 +84,36 @@ def get_auth_headers():
         "X-Bot-Signature": signature
     }
 
+# 조회 응답 재사용: 직전 응답의 ETag 를 If-None-Match 로 보내고 304 면 저장해 둔 JSON 사용
+# (gzip 응답은 requests 가 알아서 풀어줌)
+etag_cache = {}
+ETAG_CACHE_MAX = 500
+
+def get_json_cached(endpoint, params):
+    key = (endpoint, tuple(sorted(params.items())))
+    headers = get_auth_headers()
+    cached = etag_cache.get(key)
+    if cached:
+        headers["If-None-Match"] = cached[0]
+
+    response = requests.get(
+        SPRING_BOOT_API_URL + endpoint,
+        params=params,
+        headers=headers,
+        timeout=30
+    )
+    if response.status_code == 304 and cached:
+        return cached[1]
+    response.raise_for_status()
+    data = response.json()
+
+    etag = response.headers.get("ETag")
+    if etag:
+        if len(etag_cache) >= ETAG_CACHE_MAX:
+            etag_cache.pop(next(iter(etag_cache)))
+        etag_cache[key] = (etag, data)
+    return data
+
 # ============================================================
 # 6) 입력 파서 (exchange / action / market / state)
 # ============================================================
@@ -130,6 +161,66 @@ async def on_ready():
     print(f"API 서버: {SPRING_BOOT_API_URL}")
     print(f"MODE: {'LOCAL' if IS_LOCAL else 'PROD'}")
     print("------")
+    # 가격 알림 구독 (재접속 시 중복 실행 방지)
+    if not getattr(bot, "alert_task", None):
+        bot.alert_task = bot.loop.create_task(alert_listener())
+
+# ============================================================
+# 7-1) 가격 알림 스트림 구독 (SSE)
+# ============================================================
+
+def read_alert_stream(last_event_id, on_event):
+    headers = get_auth_headers()
+    headers["Accept"] = "text/event-stream"
+    if last_event_id:
+        headers["Last-Event-ID"] = str(last_event_id)
+
+    with requests.get(SPRING_BOOT_API_URL + "/alerts/stream", headers=headers, stream=True, timeout=(10, 60)) as response:
+        response.raise_for_status()
+        event_id, data = None, []
+        for line in response.iter_lines(decode_unicode=True):
+            if line is None:
+                continue
+            if line == "":
+                # 빈 줄 = 이벤트 1건 끝
+                if data:
+                    on_event(event_id, json.loads("\n".join(data)))
+                event_id, data = None, []
+            elif line.startswith("id:"):
+                event_id = line[3:].strip()
+            elif line.startswith("data:"):
+                data.append(line[5:].strip())
+
+async def alert_listener():
+    # 받은 마지막 이벤트 id 는 이벤트마다 여기에 기록 (스트림이 예외로 끊겨도 유지 → 재접속 시 중복 DM 없음)
+    state = {"last_event_id": None}
+    loop = asyncio.get_running_loop()
+
+    def on_event(event_id, event):
+        if event_id:
+            state["last_event_id"] = event_id
+        asyncio.run_coroutine_threadsafe(notify_alert(event), loop)
+
+    while True:
+        try:
+            await asyncio.to_thread(read_alert_stream, state["last_event_id"], on_event)
+        except Exception as e:
+            print(f"[ALERT] 스트림 재연결: {e}")
+        await asyncio.sleep(3)
+
+async def notify_alert(event):
+    alert = event.get("alert", {})
+    try:
+        user = await bot.fetch_user(int(alert.get("discord_id")))
+        type_text = {"above": "이상", "below": "이하", "percent": "변동"}.get(alert.get("type"), "")
+        value = alert.get("value", 0)
+        value_text = f"±{value:g}%" if alert.get("type") == "percent" else f"{value:,.0f} KRW"
+        await user.send(
+            f"🔔 **{alert.get('symbol')}** {value_text} {type_text} 알림 발동\n"
+            f"현재가 {event.get('price', 0):,.0f} KRW (알림 #{alert.get('id')})"
+        )
+    except Exception as e:
+        print(f"[ALERT] 전달 실패: {e}")
 
 # ============================================================
 # 8) !조회 명령어
@@ -150,7 +241,8 @@ async def unified_query(ctx, *, query_string: str = None):
             "`3` 또는 `빗썸`: Bithumb\n\n"
             "**[기능]**\n"
             "`자산`: (!조회 0 자산)\n"
-            "`거래내역`: (!조회 3 거래내역 KRW-BTC done)\n\n"
+            "`거래내역`: (!조회 3 거래내역 KRW-BTC done)\n"
+            "`수익`: (!조회 3 수익, 선입선출은 `fifo` 추가)\n\n"
             "**[옵션]**\n"
             "`KRW-BTC`, `BTC-KRW` (마켓)\n"
             "`wait`, `done`, `cancel` (상태)\n"
@@ -178,6 +270,9 @@ async def unified_query(ctx, *, query_string: str = None):
         elif action == "trades":
             await handle_trades(ctx, loading, user_id, exchange, market, state)
 
+        elif action == "pnl":
+            await handle_pnl(ctx, loading, user_id, exchange, "fifo" in query_string.lower().split())
+
     except Exception as e:
         await loading.edit(content=f"❌ 오류: {e}")
 
@@ -194,14 +289,7 @@ async def handle_assets(ctx, msg, user_id, exchange):
     if exchange != "all":
         params["exchange"] = exchange
 
-    response = requests.get(
-        SPRING_BOOT_API_URL + endpoint,
-        params=params,
-        headers=get_auth_headers(),
-        timeout=30
-    )
-    response.raise_for_status()
-    data = response.json()
+    data = get_json_cached(endpoint, params)
 
     embed = discord.Embed(
         title=f"{ctx.author.name}님의 자산 현황",
@@ -235,9 +323,11 @@ async def handle_assets(ctx, msg, user_id, exchange):
             if avg_buy_price > 0 else 0
         )
         arrow = "📈" if profit_percent >= 0 else "📉"
+        # 거래소 장애 등으로 마지막 시세를 쓴 경우
+        stale_mark = " ⚠️지연 시세" if coin.get("price_stale") else ""
 
         embed.add_field(
-            name=f"{currency} ({balance:.4f})",
+            name=f"{currency} ({balance:.4f}){stale_mark}",
             value=(
                 f"평단 {avg_buy_price:,.0f} KRW | "
                 f"현재 {current_price:,.0f} KRW | "
@@ -250,9 +340,14 @@ async def handle_assets(ctx, msg, user_id, exchange):
     # KRW / POINT / 총합 표시
     embed.add_field(name="💰 현금", value=f"{int(money):,} KRW", inline=False)
     embed.add_field(name="💰 포인트", value=f"{int(point):,} KRW", inline=False)
+    # USDT 환산은 서버가 주는 실시간 환율 사용 (없으면 KRW 만 표시)
+    usdt_krw = data.get("usdt_krw")
+    total_text = f"{int(total_krw + money + point):,} KRW"
+    if usdt_krw:
+        total_text += f" / ${total_krw / usdt_krw:,.2f} USDT"
     embed.add_field(
         name="💰 총 평가금액",
-        value=f"{int(total_krw + money + point):,} KRW / ${total_krw / 1350:,.2f} USDT",
+        value=total_text,
         inline=False
     )
 
@@ -269,14 +364,7 @@ async def handle_trades(ctx, msg, user_id, exchange, market, state):
     if state:
         params["state"] = state
 
-    response = requests.get(
-        SPRING_BOOT_API_URL + "/trades",
-        params=params,
-        headers=get_auth_headers(),
-        timeout=30
-    )
-    response.raise_for_status()
-    trades = response.json()
+    trades = get_json_cached("/trades", params)
 
     # 🔥 상태 설명 변환
     STATE_MAP = {
@@ -327,6 +415,161 @@ async def handle_trades(ctx, msg, user_id, exchange, market, state):
 
     await msg.edit(content="조회 완료!", embed=embed)
 
+async def handle_pnl(ctx, msg, user_id, exchange, fifo):
+    response = requests.get(
+        SPRING_BOOT_API_URL + "/pnl",
+        params={
+            "discord_id": str(user_id),
+            "exchange": exchange,
+            "method": "fifo" if fifo else "average"
+        },
+        headers=get_auth_headers(),
+        timeout=30
+    )
+    response.raise_for_status()
+    data = response.json()
+
+    method_text = "선입선출" if data.get("method") == "fifo" else "이동평균"
+    embed = discord.Embed(
+        title=f"[{exchange.upper()}] {ctx.author.name}님의 손익 ({method_text})",
+        color=discord.Color.gold()
+    )
+
+    for s in data.get("symbols", [])[:20]:
+        realized = s.get("realized", 0)
+        unrealized = s.get("unrealized", 0)
+        arrow = "📈" if realized + unrealized >= 0 else "📉"
+        embed.add_field(
+            name=f"{s['symbol']} ({s.get('position', 0):.4f})",
+            value=(
+                f"평단 {s.get('avg_cost', 0):,.0f} | "
+                f"실현 {realized:+,.0f} | "
+                f"평가 {unrealized:+,.0f} | "
+                f"수수료 {s.get('fees', 0):,.0f} {arrow}"
+            ),
+            inline=False
+        )
+
+    total = data.get("total", {})
+    embed.add_field(
+        name="💰 합계 (KRW)",
+        value=(
+            f"실현 {total.get('realized_krw', 0):+,.0f} / 평가 {total.get('unrealized_krw', 0):+,.0f} / "
+            f"수수료 {total.get('fees_krw', 0):,.0f} → 순손익 {total.get('net_krw', 0):+,.0f}"
+        ),
+        inline=False
+    )
+    if data.get("unpriced_fills"):
+        embed.set_footer(text=f"체결가를 알 수 없는 시장가 매도 {data['unpriced_fills']}건은 제외됨")
+
+    await msg.edit(content="조회 완료!", embed=embed)
+
+# ============================================================
+# 9-1) !알림 명령어
+# ============================================================
+
+@bot.command(name="알림")
+async def alert_command(ctx, *args):
+    user_id = str(ctx.author.id)
+    try:
+        # !알림 목록
+        if not args or args[0] == "목록":
+            response = requests.get(SPRING_BOOT_API_URL + "/alerts", params={"discord_id": user_id},
+                                    headers=get_auth_headers(), timeout=10)
+            response.raise_for_status()
+            alerts = response.json()
+            if not alerts:
+                await ctx.send("등록된 알림이 없습니다. 예) `!알림 BTC 이상 100000000`, `!알림 ETH 5%`")
+                return
+            lines = []
+            for a in alerts:
+                if a["type"] == "percent":
+                    lines.append(f"#{a['id']} {a['symbol']} ±{a['value']:g}% (기준 {a['base_price']:,.0f})")
+                else:
+                    lines.append(f"#{a['id']} {a['symbol']} {a['value']:,.0f} {'이상' if a['type'] == 'above' else '이하'}")
+            await ctx.send("```\n" + "\n".join(lines) + "\n```")
+            return
+
+        # !알림 삭제 <번호>
+        if args[0] == "삭제" and len(args) == 2:
+            response = requests.delete(SPRING_BOOT_API_URL + f"/alerts/{int(args[1])}", params={"discord_id": user_id},
+                                       headers=get_auth_headers(), timeout=10)
+            response.raise_for_status()
+            await ctx.send("삭제했습니다." if response.json().get("deleted") else "해당 알림이 없습니다.")
+            return
+
+        # !알림 BTC 이상 100000000 / !알림 BTC 이하 90000000 / !알림 BTC 5%
+        symbol = args[0].upper()
+        if len(args) == 2 and args[1].endswith("%"):
+            alert_type, value = "percent", float(args[1][:-1])
+        elif len(args) == 3 and args[1] in ("이상", "이하"):
+            alert_type, value = ("above" if args[1] == "이상" else "below"), float(args[2].replace(",", ""))
+        else:
+            await ctx.send("예) `!알림 BTC 이상 100000000`, `!알림 BTC 이하 90000000`, `!알림 ETH 5%`, `!알림 목록`, `!알림 삭제 3`")
+            return
+
+        response = requests.post(SPRING_BOOT_API_URL + "/alerts",
+                                 params={"discord_id": user_id, "symbol": symbol, "type": alert_type, "value": value},
+                                 headers=get_auth_headers(), timeout=10)
+        response.raise_for_status()
+        a = response.json()
+        await ctx.send(f"알림 #{a['id']} 등록 완료 ({a['symbol']} 현재가 {a['base_price']:,.0f} KRW)")
+    except Exception as e:
+        await ctx.send(f"❌ 오류: {e}")
+
+# ============================================================
+# 9-2) !키 명령어 (거래소 API 키 등록, DM 전용)
+# ============================================================
+
+KEY_EXCHANGES = {"빗썸": "bithumb", "bithumb": "bithumb", "3": "bithumb",
+                 "게이트아이오": "gateio", "gateio": "gateio", "1": "gateio"}
+
+@bot.command(name="키")
+async def key_command(ctx, *args):
+    user_id = str(ctx.author.id)
+    # 채널에 올라온 키는 바로 지우고 DM 으로 안내
+    if ctx.guild is not None:
+        if args and args[0] == "등록":
+            try:
+                await ctx.message.delete()
+            except Exception:
+                pass
+        await ctx.send("🔒 API 키 관련 명령은 봇에게 DM 으로 보내주세요.")
+        return
+    try:
+        # !키 목록
+        if not args or args[0] == "목록":
+            response = requests.get(SPRING_BOOT_API_URL + "/keys", params={"discord_id": user_id},
+                                    headers=get_auth_headers(), timeout=10)
+            response.raise_for_status()
+            keys = response.json()
+            if not keys:
+                await ctx.send("등록된 키가 없습니다. 예) `!키 등록 빗썸 <API_KEY> <SECRET_KEY>`")
+                return
+            await ctx.send("```\n" + "\n".join(f"{ex}: {masked}" for ex, masked in keys.items()) + "\n```")
+            return
+
+        # !키 등록 <거래소> <API_KEY> <SECRET_KEY>
+        if args[0] == "등록" and len(args) == 4 and args[1].lower() in KEY_EXCHANGES:
+            response = requests.post(SPRING_BOOT_API_URL + f"/keys/{KEY_EXCHANGES[args[1].lower()]}",
+                                     data={"discord_id": user_id, "api_key": args[2], "secret_key": args[3]},
+                                     headers=get_auth_headers(), timeout=10)
+            response.raise_for_status()
+            await ctx.send("✅ 등록했습니다. 바로 `!조회` 에 사용됩니다.")
+            return
+
+        # !키 삭제 <거래소>
+        if args[0] == "삭제" and len(args) == 2 and args[1].lower() in KEY_EXCHANGES:
+            response = requests.delete(SPRING_BOOT_API_URL + f"/keys/{KEY_EXCHANGES[args[1].lower()]}",
+                                       params={"discord_id": user_id}, headers=get_auth_headers(), timeout=10)
+            response.raise_for_status()
+            await ctx.send("삭제했습니다." if response.json().get("deleted") else "등록된 키가 없습니다.")
+            return
+
+        await ctx.send("예) `!키 등록 빗썸 <API_KEY> <SECRET_KEY>`, `!키 목록`, `!키 삭제 게이트아이오`")
+    except Exception as e:
+        await ctx.send(f"❌ 오류: {e}")
+
 # ============================================================
 # 10) !help 명령어
 # ============================================================
@@ -342,10 +585,16 @@ async def help_command(ctx):
         "`3` 또는 `빗썸`: Bithumb\n\n"
         "**[기능]**\n"
         "`자산`: 자산 조회\n"
-        "`거래내역`: 거래 기록 조회\n\n"
+        "`거래내역`: 거래 기록 조회\n"
+        "`수익`: 실현/평가 손익 (`fifo` 를 붙이면 선입선출)\n\n"
         "**[옵션]**\n"
         "`KRW-BTC`, `xrp-krw` 등 마켓\n"
         "- `wait` : 체결 대기 (default), `watch` : 예약주문 대기, `done` : 전체 체결 완료, `cancel` : 주문 취소 상태\n\n"
+        "**[가격 알림]**\n"
+        "`!알림 BTC 이상 100000000`, `!알림 BTC 이하 90000000`, `!알림 ETH 5%`\n"
+        "`!알림 목록`, `!알림 삭제 3` (발동 시 DM)\n\n"
+        "**[API 키 등록]** (봇에게 DM)\n"
+        "`!키 등록 빗썸 <API_KEY> <SECRET_KEY>`, `!키 목록`, `!키 삭제 빗썸`\n\n"
         "**예시**\n"
         "`!조회 빗썸 자산`\n"
         "`!조회 3 거래내역 KRW-BTC done`\n"
@@ -0,0 +1,148 @@
+package com.cryptodiscord;
+
+import com.cryptodiscord.component.AccountResponseCache;
+import com.cryptodiscord.component.BithumbResponseParser;
+import com.cryptodiscord.component.CrossRateEngine;
+import com.cryptodiscord.component.GateioClientRegistry;
+import com.cryptodiscord.component.OutboundRequestScheduler;
+import com.cryptodiscord.component.PriceSnapshotCache;
+import com.cryptodiscord.component.RequestSigner;
+import com.cryptodiscord.component.ResilientCaller;
+import com.cryptodiscord.component.TopOfBookStore;
+import com.cryptodiscord.component.UserApiKeys;
+import com.cryptodiscord.service.CryptoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 벤치마크 공용 픽스처: 실제 빗썸 응답 형태의 페이로드 + 네트워크 없는 RestTemplate
+public final class BenchmarkFixtures {
+    public static final String DISCORD_ID = "bench-user";
+    public static final String BOT_SECRET = "bench-bot-secret";
+
+    private static final String[] COINS = {
+            "BTC", "ETH", "XRP", "SOL", "DOGE", "ADA", "TRX", "AVAX", "LINK", "DOT",
+            "MATIC", "SHIB", "LTC", "BCH", "ATOM", "ETC", "XLM", "NEAR", "APT", "ARB",
+            "OP", "SUI", "SEI", "STX", "IMX", "HBAR", "AAVE", "UNI", "SAND", "MANA",
+            "AXS", "EOS", "XTZ", "FLOW", "CHZ", "ALGO", "EGLD", "THETA", "KAVA", "ZIL"
+    };
+
+    private BenchmarkFixtures() {}
+
+    public static UserApiKeys userApiKeys() throws Exception {
+        UserApiKeys keys = new UserApiKeys();
+        ReflectionTestUtils.setField(keys, "BITHUMB_KEY", "bench-access");
+        ReflectionTestUtils.setField(keys, "BITHUMB_SECRET", "bench-secret-0123456789abcdef");
+        ReflectionTestUtils.setField(keys, "GATEIO_KEY", "bench-gate-key");
+        ReflectionTestUtils.setField(keys, "GATEIO_SECRET", "bench-gate-secret");
+        ReflectionTestUtils.setField(keys, "BOT_SECRET_KEY_VAL", BOT_SECRET);
+        ReflectionTestUtils.setField(keys, "DISCORD_USER_KEY", DISCORD_ID);
+        keys.init();
+        return keys;
+    }
+
+    // 스텁 RestTemplate 위에서 동작하는 CryptoService
+    public static CryptoService cryptoService(Map<String, String> bodies) throws Exception {
+        RestTemplate restTemplate = stubRestTemplate(bodies);
+        UserApiKeys userApiKeys = userApiKeys();
+        // TTL 을 길게 잡아 측정 중에는 스냅샷 재조회가 없도록 함 (요청 경로 비용만 측정)
+        BithumbResponseParser parser = new BithumbResponseParser();
+        OutboundRequestScheduler scheduler = unlimitedScheduler();
+        ResilientCaller resilientCaller = new ResilientCaller(scheduler, new SimpleMeterRegistry(), 4000, 800, 50, 5, 15000);
+        PriceSnapshotCache snapshotCache = new PriceSnapshotCache(restTemplate, parser, scheduler, resilientCaller,
+                Long.MAX_VALUE / 2, "https://api.bithumb.com");
+        snapshotCache.scheduledRefresh();
+        // 계정 응답 캐시는 끄고(ttl 음수) 매 호출마다 조회·파싱 비용까지 측정
+        AccountResponseCache accountCache = new AccountResponseCache(scheduler, -1, 0, 16, 5000);
+        GateioClientRegistry gateioClients = new GateioClientRegistry(userApiKeys, 600_000,
+                "https://api.gateio.ws/api/v4");
+        return new CryptoService(restTemplate, userApiKeys, snapshotCache, gateioClients, new RequestSigner(), parser,
+                resilientCaller, accountCache, new TopOfBookStore(),
+                new CrossRateEngine(snapshotCache, gateioClients, scheduler, resilientCaller), Long.MAX_VALUE / 2,
+                "https://api.bithumb.com");
+    }
+
+    // 스텁 호출이 거래소 호출 한도에 걸리지 않도록 한도를 크게 잡은 스케줄러
+    public static OutboundRequestScheduler unlimitedScheduler() {
+        MockEnvironment env = new MockEnvironment();
+        for (String lane : new String[]{"bithumb.public", "bithumb.private", "gateio.public", "gateio.private"}) {
+            env.setProperty("crypto.ratelimit." + lane + ".capacity", Long.toString(Long.MAX_VALUE / 4));
+        }
+        return new OutboundRequestScheduler(env, new SimpleMeterRegistry(), 1000, 1000);
+    }
+
+    // 경로별로 고정 JSON 을 돌려주는 RestTemplate (path → body)
+    public static RestTemplate stubRestTemplate(Map<String, String> bodies) {
+        return new RestTemplate((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            String body = bodies.get(uri.getPath());
+            MockClientHttpResponse response = body != null
+                    ? new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)
+                    : new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        });
+    }
+
+    // /v1/accounts: KRW + 보유 코인 n개
+    public static String accountsJson(int coinCount) {
+        StringBuilder sb = new StringBuilder("[");
+        sb.append("{\"currency\":\"KRW\",\"balance\":\"1523000.5\",\"locked\":\"0\",\"avg_buy_price\":\"0\",")
+          .append("\"avg_buy_price_modified\":false,\"unit_currency\":\"KRW\"}");
+        for (int i = 0; i < coinCount; i++) {
+            String coin = COINS[i % COINS.length] + (i < COINS.length ? "" : Integer.toString(i));
+            sb.append(",{\"currency\":\"").append(coin)
+              .append("\",\"balance\":\"").append(randomDecimal(0.001, 5000))
+              .append("\",\"locked\":\"0\",\"avg_buy_price\":\"").append(randomDecimal(10, 90_000_000))
+              .append("\",\"avg_buy_price_modified\":false,\"unit_currency\":\"KRW\"}");
+        }
+        return sb.append(']').toString();
+    }
+
+    // /public/ticker/ALL_KRW
+    public static String allKrwTickerJson(int coinCount) {
+        StringBuilder sb = new StringBuilder("{\"status\":\"0000\",\"data\":{");
+        for (int i = 0; i < coinCount; i++) {
+            String coin = COINS[i % COINS.length] + (i < COINS.length ? "" : Integer.toString(i));
+            String price = randomDecimal(10, 90_000_000);
+            sb.append('"').append(coin).append("\":{\"opening_price\":\"").append(price)
+              .append("\",\"closing_price\":\"").append(price)
+              .append("\",\"min_price\":\"").append(price).append("\",\"max_price\":\"").append(price)
+              .append("\",\"units_traded\":\"1234.5678\",\"acc_trade_value\":\"98765432.1\",")
+              .append("\"prev_closing_price\":\"").append(price).append("\",\"units_traded_24H\":\"2345.6\",")
+              .append("\"acc_trade_value_24H\":\"123456789.0\",\"fluctate_24H\":\"-1000\",\"fluctate_rate_24H\":\"-0.5\"},");
+        }
+        return sb.append("\"date\":\"1700000000000\"}}").toString();
+    }
+
+    // /v1/orders: 주문 n건
+    public static String ordersJson(int orderCount) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < orderCount; i++) {
+            if (i > 0) sb.append(',');
+            String volume = randomDecimal(0.0001, 10);
+            sb.append("{\"uuid\":\"C0106000").append(String.format("%08d", i)).append("-aaaa-bbbb-cccc-0123456789ab\",")
+              .append("\"side\":\"").append(i % 2 == 0 ? "bid" : "ask").append("\",")
+              .append("\"ord_type\":\"limit\",\"price\":\"").append(randomDecimal(10_000_000, 90_000_000)).append("\",")
+              .append("\"state\":\"done\",\"market\":\"KRW-BTC\",\"created_at\":\"2025-11-13T12:34:56+09:00\",")
+              .append("\"volume\":\"").append(volume).append("\",\"remaining_volume\":\"0\",")
+              .append("\"reserved_fee\":\"1234.5\",\"remaining_fee\":\"0\",\"paid_fee\":\"1234.5\",")
+              .append("\"locked\":\"0\",\"executed_volume\":\"").append(volume).append("\",\"trades_count\":1}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String randomDecimal(double min, double max) {
+        return Double.toString(Math.round(ThreadLocalRandom.current().nextDouble(min, max) * 1e8) / 1e8);
+    }
+}
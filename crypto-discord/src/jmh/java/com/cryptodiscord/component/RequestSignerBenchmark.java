@@ -0,0 +1,74 @@
+package com.cryptodiscord.component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.apache.commons.codec.binary.Hex;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+// 요청 1건당 서명 비용: 기존 방식(legacy*) vs RequestSigner
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestSignerBenchmark {
+    private static final String SECRET = "bithumb-secret-key-0123456789abcdef0123456789abcdef";
+    private static final String QUERY = "market=KRW-BTC&state=done&page=1&limit=100&order_by=desc";
+
+    private RequestSigner signer;
+    private String nonce;
+    private String signature;
+
+    @Setup
+    public void setup() {
+        signer = new RequestSigner();
+        nonce = Long.toString(System.currentTimeMillis());
+        signature = signer.hmacSha256Hex(SECRET, nonce);
+    }
+
+    @Benchmark
+    public String legacyQueryHash() throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-512");
+        md.update(QUERY.getBytes(StandardCharsets.UTF_8));
+        return String.format("%0128x", new BigInteger(1, md.digest()));
+    }
+
+    @Benchmark
+    public String queryHash() {
+        return signer.sha512Hex(QUERY);
+    }
+
+    @Benchmark
+    public String legacyJwt() {
+        return JWT.create()
+                .withClaim("access_key", "access")
+                .withClaim("timestamp", 1700000000000L)
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    @Benchmark
+    public String jwt() {
+        return JWT.create()
+                .withClaim("access_key", "access")
+                .withClaim("timestamp", 1700000000000L)
+                .sign(signer.jwtAlgorithm(SECRET));
+    }
+
+    @Benchmark
+    public boolean legacyVerify() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String expected = Hex.encodeHexString(mac.doFinal(nonce.getBytes(StandardCharsets.UTF_8)));
+        return MessageDigest.isEqual(expected.getBytes(), signature.toLowerCase().getBytes());
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return signer.verifyHmacSha256Hex(SECRET, nonce, signature);
+    }
+}
@@ -0,0 +1,48 @@
+package com.cryptodiscord.dto;
+
+import com.cryptodiscord.BenchmarkFixtures;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// /api/trades 응답 (List<UnifiedTrade>) JSON 직렬화 / 역직렬화
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UnifiedTradeJsonBenchmark {
+    private static final TypeReference<List<UnifiedTrade>> TRADE_LIST = new TypeReference<>() {};
+
+    @Param({"10", "1000"})
+    public int tradeCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<UnifiedTrade> trades;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws Exception {
+        List<Map<String, Object>> orders = objectMapper.readValue(BenchmarkFixtures.ordersJson(tradeCount), List.class);
+        trades = new ArrayList<>(orders.size());
+        for (Map<String, Object> o : orders) {
+            trades.add(new UnifiedTrade("Bithumb", o.get("market").toString(), o.get("side").toString(),
+                    o.get("price").toString(), o.get("volume").toString(), o.get("created_at").toString(),
+                    o.get("ord_type").toString(), o.get("paid_fee").toString()));
+        }
+        json = objectMapper.writeValueAsBytes(trades);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(trades);
+    }
+
+    @Benchmark
+    public List<UnifiedTrade> deserialize() throws Exception {
+        return objectMapper.readValue(json, TRADE_LIST);
+    }
+}
@@ -0,0 +1,50 @@
+package com.cryptodiscord.interceptor;
+
+import com.cryptodiscord.BenchmarkFixtures;
+import com.cryptodiscord.component.RequestSigner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// 봇 요청 서명 검증 (preHandle 전체 경로)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ApiKeyInterceptorBenchmark {
+    private ApiKeyInterceptor interceptor;
+    private MockHttpServletRequest validRequest;
+    private MockHttpServletRequest invalidRequest;
+
+    @Setup(Level.Iteration)
+    public void setup() throws Exception {
+        RequestSigner signer = new RequestSigner();
+        interceptor = new ApiKeyInterceptor();
+        ReflectionTestUtils.setField(interceptor, "userApiKeys", BenchmarkFixtures.userApiKeys());
+        ReflectionTestUtils.setField(interceptor, "requestSigner", signer);
+        ReflectionTestUtils.setField(interceptor, "meterRegistry", new SimpleMeterRegistry());
+
+        // nonce 유효 시간(10초) 안에 들도록 iteration 마다 새로 생성
+        String nonce = Long.toString(System.currentTimeMillis());
+        validRequest = new MockHttpServletRequest("GET", "/api/my-assets");
+        validRequest.addHeader("X-Bot-Nonce", nonce);
+        validRequest.addHeader("X-Bot-Signature", signer.hmacSha256Hex(BenchmarkFixtures.BOT_SECRET, nonce));
+
+        invalidRequest = new MockHttpServletRequest("GET", "/api/my-assets");
+        invalidRequest.addHeader("X-Bot-Nonce", nonce);
+        invalidRequest.addHeader("X-Bot-Signature", signer.hmacSha256Hex("wrong-secret", nonce));
+    }
+
+    @Benchmark
+    public boolean validSignature() throws Exception {
+        return interceptor.preHandle(validRequest, new MockHttpServletResponse(), null);
+    }
+
+    @Benchmark
+    public boolean invalidSignature() throws Exception {
+        return interceptor.preHandle(invalidRequest, new MockHttpServletResponse(), null);
+    }
+}
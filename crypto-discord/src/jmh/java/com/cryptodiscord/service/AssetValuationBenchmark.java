@@ -0,0 +1,35 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.BenchmarkFixtures;
+import com.cryptodiscord.dto.CoinAsset;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// getBithumbAssets 자산 평가 (거래소 I/O 는 스텁, 응답 JSON 파싱 비용은 포함)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AssetValuationBenchmark {
+
+    @Param({"5", "40"})
+    public int coinCount;
+
+    private CryptoService cryptoService;
+
+    @Setup
+    public void setup() throws Exception {
+        cryptoService = BenchmarkFixtures.cryptoService(Map.of(
+                "/v1/accounts", BenchmarkFixtures.accountsJson(coinCount),
+                "/public/ticker/ALL_KRW", BenchmarkFixtures.allKrwTickerJson(coinCount)
+        ));
+    }
+
+    @Benchmark
+    public List<CoinAsset> bithumbAssetValuation() throws Exception {
+        return cryptoService.getBithumbAssets(BenchmarkFixtures.DISCORD_ID);
+    }
+
+}
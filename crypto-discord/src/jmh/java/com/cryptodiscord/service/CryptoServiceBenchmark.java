@@ -0,0 +1,47 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.BenchmarkFixtures;
+import com.cryptodiscord.component.BithumbResponseParser;
+import com.cryptodiscord.dto.BithumbOrder;
+import com.cryptodiscord.dto.UnifiedTrade;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 빗썸 주문 응답 파싱 / UnifiedTrade 매핑 (대량 주문 페이로드)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CryptoServiceBenchmark {
+
+    @Param({"100", "2000"})
+    public int orderCount;
+
+    private CryptoService cryptoService;
+    private BithumbResponseParser parser;
+    private byte[] ordersJson;
+    private List<BithumbOrder> orders;
+
+    @Setup
+    public void setup() throws Exception {
+        cryptoService = BenchmarkFixtures.cryptoService(Map.of());
+
+        parser = new BithumbResponseParser();
+        ordersJson = BenchmarkFixtures.ordersJson(orderCount).getBytes(StandardCharsets.UTF_8);
+        orders = parser.parseOrders(new ByteArrayInputStream(ordersJson));
+    }
+
+    @Benchmark
+    public List<BithumbOrder> parseBithumbOrders() throws Exception {
+        return parser.parseOrders(new ByteArrayInputStream(ordersJson));
+    }
+
+    @Benchmark
+    public List<UnifiedTrade> mapBithumbOrders() {
+        return cryptoService.mapBithumbOrdersToUnifiedTrades(orders);
+    }
+}
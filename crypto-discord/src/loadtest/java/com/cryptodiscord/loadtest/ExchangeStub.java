@@ -0,0 +1,209 @@
+package com.cryptodiscord.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 빗썸 / Gate.io REST 대역 (로컬 HTTP 서버)
+// - 빗썸: /v1/accounts, /v1/orders, /public/ticker/ALL_KRW
+// - Gate.io(/api/v4): /spot/accounts, /spot/tickers, /wallet/total_balance
+// - 엔드포인트별 지연(latency-ms ± jitter-ms)과 오류율(error-rate, 503 응답)을 설정
+//   stub.latency-ms / stub.jitter-ms / stub.error-rate 가 기본값, stub.<이름>.latency-ms 등으로 개별 지정
+// - 엔드포인트별 호출 수를 세어 앱의 외부 호출 증폭(요청 1건당 거래소 호출 수)을 계산
+public class ExchangeStub {
+    public static final List<String> ENDPOINTS = List.of(
+            "bithumb.accounts", "bithumb.orders", "bithumb.ticker",
+            "gateio.spot_accounts", "gateio.tickers", "gateio.total_balance");
+    private static final String[] COINS = {"BTC", "ETH", "XRP", "SOL", "DOGE", "ADA", "TRX", "LINK", "DOT", "AVAX",
+            "BCH", "ETC", "XLM", "ATOM", "NEAR", "APT", "ARB", "OP", "SUI", "SEI"};
+
+    private record Behavior(long latencyMs, long jitterMs, double errorRate) {}
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "exchange-stub");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Behavior> behaviors = new HashMap<>();
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final int coins;
+    private final int orders;
+
+    public ExchangeStub(Properties props) throws IOException {
+        long latency = Long.parseLong(props.getProperty("stub.latency-ms", "50"));
+        long jitter = Long.parseLong(props.getProperty("stub.jitter-ms", "20"));
+        double errorRate = Double.parseDouble(props.getProperty("stub.error-rate", "0"));
+        for (String name : ENDPOINTS) {
+            String prefix = "stub." + name.substring(name.indexOf('.') + 1) + ".";
+            behaviors.put(name, new Behavior(
+                    Long.parseLong(props.getProperty(prefix + "latency-ms", Long.toString(latency))),
+                    Long.parseLong(props.getProperty(prefix + "jitter-ms", Long.toString(jitter))),
+                    Double.parseDouble(props.getProperty(prefix + "error-rate", Double.toString(errorRate)))));
+            calls.put(name, new AtomicLong());
+            errors.put(name, new AtomicLong());
+        }
+        this.coins = Integer.parseInt(props.getProperty("stub.coins", "10"));
+        this.orders = Integer.parseInt(props.getProperty("stub.orders", "50"));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/v1/accounts", ex -> handle(ex, "bithumb.accounts", this::bithumbAccounts));
+        server.createContext("/v1/orders", ex -> handle(ex, "bithumb.orders", () -> bithumbOrders(ex.getRequestURI())));
+        server.createContext("/public/ticker/ALL_KRW", ex -> handle(ex, "bithumb.ticker", this::bithumbTicker));
+        server.createContext("/api/v4/spot/accounts", ex -> handle(ex, "gateio.spot_accounts", this::gateioAccounts));
+        server.createContext("/api/v4/spot/tickers", ex -> handle(ex, "gateio.tickers", this::gateioTickers));
+        server.createContext("/api/v4/wallet/total_balance", ex -> handle(ex, "gateio.total_balance",
+                () -> "{\"total\":{\"amount\":\"1234.5\",\"currency\":\"USDT\"},\"details\":{}}"));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // 엔드포인트별 누적 호출 수
+    public Map<String, Long> calls() {
+        Map<String, Long> m = new LinkedHashMap<>();
+        for (String name : ENDPOINTS) m.put(name, calls.get(name).get());
+        return m;
+    }
+
+    public long errors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    private void handle(HttpExchange ex, String name, Supplier<String> body) throws IOException {
+        calls.get(name).incrementAndGet();
+        Behavior b = behaviors.get(name);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = Math.max(0, b.latencyMs() + (b.jitterMs() > 0 ? random.nextLong(-b.jitterMs(), b.jitterMs() + 1) : 0));
+        try {
+            if (delay > 0) Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            byte[] bytes;
+            int status;
+            if (random.nextDouble() < b.errorRate()) {
+                errors.get(name).incrementAndGet();
+                status = 503;
+                bytes = "{\"error\":{\"name\":\"stub\",\"message\":\"injected failure\"}}".getBytes(StandardCharsets.UTF_8);
+            } else {
+                status = 200;
+                bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            }
+            ex.getResponseHeaders().set("Content-Type", "application/json");
+            ex.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = ex.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            ex.close();
+        }
+    }
+
+    private String coin(int i) {
+        return COINS[i % COINS.length] + (i < COINS.length ? "" : Integer.toString(i));
+    }
+
+    // 가격은 호출마다 조금씩 움직임 (응답 재사용이 시세 변화로 무효화되는 상황 재현)
+    private String price(int i) {
+        double base = 1_000_000.0 / (i + 1);
+        return Double.toString(Math.round(base * (1 + ThreadLocalRandom.current().nextDouble(-0.001, 0.001)) * 100) / 100.0);
+    }
+
+    private String bithumbAccounts() {
+        StringBuilder sb = new StringBuilder("[{\"currency\":\"KRW\",\"balance\":\"1523000.5\",\"locked\":\"0\",")
+                .append("\"avg_buy_price\":\"0\",\"avg_buy_price_modified\":false,\"unit_currency\":\"KRW\"}");
+        for (int i = 0; i < coins; i++) {
+            sb.append(",{\"currency\":\"").append(coin(i)).append("\",\"balance\":\"").append(0.5 + i)
+              .append("\",\"locked\":\"0\",\"avg_buy_price\":\"").append(price(i))
+              .append("\",\"avg_buy_price_modified\":false,\"unit_currency\":\"KRW\"}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private String bithumbTicker() {
+        StringBuilder sb = new StringBuilder("{\"status\":\"0000\",\"data\":{");
+        for (int i = 0; i < coins; i++) {
+            String p = price(i);
+            sb.append('"').append(coin(i)).append("\":{\"opening_price\":\"").append(p)
+              .append("\",\"closing_price\":\"").append(p).append("\",\"min_price\":\"").append(p)
+              .append("\",\"max_price\":\"").append(p).append("\",\"units_traded\":\"1\",\"acc_trade_value\":\"1\",")
+              .append("\"prev_closing_price\":\"").append(p).append("\",\"units_traded_24H\":\"1\",")
+              .append("\"acc_trade_value_24H\":\"1\",\"fluctate_24H\":\"0\",\"fluctate_rate_24H\":\"0\"},");
+        }
+        sb.append("\"USDT\":{\"closing_price\":\"1380\"},");
+        return sb.append("\"date\":\"").append(System.currentTimeMillis()).append("\"}}").toString();
+    }
+
+    // 첫 페이지에만 주문이 있고 이후 페이지는 비어 있음 (전체 이력 동기화가 바로 끝나도록)
+    private String bithumbOrders(URI uri) {
+        Map<String, String> q = new HashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String kv : uri.getRawQuery().split("&")) {
+                int eq = kv.indexOf('=');
+                if (eq > 0) q.put(kv.substring(0, eq), kv.substring(eq + 1));
+            }
+        }
+        if (!"1".equals(q.getOrDefault("page", "1"))) return "[]";
+        String state = q.getOrDefault("state", "done");
+        String market = q.getOrDefault("market", "KRW-BTC");
+        int n = Math.min(orders, Integer.parseInt(q.getOrDefault("limit", "100")));
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"uuid\":\"").append(state).append('-').append(market).append('-').append(i).append("\",")
+              .append("\"side\":\"").append(i % 2 == 0 ? "bid" : "ask").append("\",\"ord_type\":\"limit\",")
+              .append("\"price\":\"").append(50_000_000 + i * 1000).append("\",\"state\":\"").append(state).append("\",")
+              .append("\"market\":\"").append(market).append("\",\"created_at\":\"2025-11-13T12:")
+              .append(String.format("%02d", i % 60)).append(":00+09:00\",\"volume\":\"0.01\",")
+              .append("\"remaining_volume\":\"0\",\"reserved_fee\":\"125\",\"remaining_fee\":\"0\",\"paid_fee\":\"125\",")
+              .append("\"locked\":\"0\",\"executed_volume\":\"0.01\",\"trades_count\":1}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private String gateioAccounts() {
+        StringBuilder sb = new StringBuilder("[{\"currency\":\"USDT\",\"available\":\"1000\",\"locked\":\"0\"}");
+        for (int i = 0; i < coins; i++) {
+            sb.append(",{\"currency\":\"").append(coin(i)).append("\",\"available\":\"").append(0.25 + i)
+              .append("\",\"locked\":\"0\"}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private String gateioTickers() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < coins; i++) {
+            if (i > 0) sb.append(',');
+            double usdt = Double.parseDouble(price(i)) / 1380;
+            sb.append("{\"currency_pair\":\"").append(coin(i)).append("_USDT\",\"last\":\"")
+              .append(Math.round(usdt * 10_000) / 10_000.0).append("\"}");
+        }
+        return sb.append(']').toString();
+    }
+}
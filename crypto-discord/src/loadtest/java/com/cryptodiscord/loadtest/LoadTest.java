@@ -0,0 +1,209 @@
+package com.cryptodiscord.loadtest;
+
+import com.cryptodiscord.CryptoDiscordApplication;
+import com.cryptodiscord.component.RequestSigner;
+import com.cryptodiscord.component.UserApiKeys;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 부하 테스트: 앱을 로컬 거래소 대역(ExchangeStub)에 붙여 띄우고, 봇과 같은 서명 요청을 동시성 단계별로 보냄
+// 엔드포인트 × 동시성마다 처리량, p50/p99 지연, 오류율, 요청 1건당 거래소 호출 수(증폭)를 출력
+//
+// ./gradlew loadTest -Dloadtest.levels=1,8,32 -Dloadtest.duration-ms=10000 -Dstub.latency-ms=80 -Dstub.error-rate=0.01
+// - loadtest.users: 가상 디스코드 사용자 수 (사용자마다 키 등록, 요청마다 무작위 선택)
+// - loadtest.endpoints: my-assets, assets-bithumb, assets-gateio, trades, pnl 중 선택 (쉼표)
+// - app.<속성>=값: 앱 설정 덮어쓰기 (예: -Dapp.crypto.ratelimit.bithumb.private.capacity=100)
+public class LoadTest {
+    private static final String BOT_SECRET = "loadtest-bot-secret";
+
+    private static final Map<String, String> ENDPOINTS = new LinkedHashMap<>();
+    static {
+        ENDPOINTS.put("my-assets", "/api/my-assets?discord_id=%s");
+        ENDPOINTS.put("assets-bithumb", "/api/assets/exchange?discord_id=%s&exchange=bithumb");
+        ENDPOINTS.put("assets-gateio", "/api/assets/exchange?discord_id=%s&exchange=gateio");
+        ENDPOINTS.put("trades", "/api/trades?discord_id=%s&exchange=bithumb&state=done&limit=20");
+        ENDPOINTS.put("pnl", "/api/pnl?discord_id=%s");
+    }
+
+    // 측정 1회 결과
+    private record Result(String endpoint, int concurrency, long requests, long errors, double seconds,
+                          long p50Micros, long p99Micros, Map<String, Long> outbound) {}
+
+    public static void main(String[] args) throws Exception {
+        Properties props = System.getProperties();
+        int[] levels = Arrays.stream(props.getProperty("loadtest.levels", "1,4,16,64").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        long durationMs = Long.parseLong(props.getProperty("loadtest.duration-ms", "10000"));
+        long warmupMs = Long.parseLong(props.getProperty("loadtest.warmup-ms", "2000"));
+        int users = Integer.parseInt(props.getProperty("loadtest.users", "20"));
+        List<String> endpoints = List.of(props.getProperty("loadtest.endpoints", String.join(",", ENDPOINTS.keySet()))
+                .split(","));
+
+        ExchangeStub stub = new ExchangeStub(props);
+        stub.start();
+        Path dataDir = Files.createTempDirectory("crypto-discord-loadtest");
+        ConfigurableApplicationContext app = startApp(stub.baseUrl(), dataDir, props);
+        try {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            List<String> userIds = registerUsers(app.getBean(UserApiKeys.class), users);
+            System.out.printf("앱 :%d, 거래소 대역 %s, 사용자 %d명%n", port, stub.baseUrl(), users);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            RequestSigner signer = new RequestSigner();
+            List<Result> results = new ArrayList<>();
+            for (String endpoint : endpoints) {
+                String path = ENDPOINTS.get(endpoint.trim());
+                if (path == null) throw new IllegalArgumentException("알 수 없는 엔드포인트: " + endpoint);
+                for (int concurrency : levels) {
+                    run(client, signer, port, path, userIds, concurrency, warmupMs, null, null);
+                    Result r = run(client, signer, port, path, userIds, concurrency, durationMs, endpoint.trim(), stub);
+                    results.add(r);
+                    print(r);
+                }
+            }
+            System.out.println();
+            System.out.println("=== 요약 ===");
+            results.forEach(LoadTest::print);
+        } finally {
+            app.close();
+            stub.stop();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApp(String stubUrl, Path dataDir, Properties props) {
+        Map<String, Object> p = new HashMap<>();
+        p.put("server.port", "0");
+        p.put("management.server.port", "-1");
+        p.put("crypto.exchange.bithumb.base-url", stubUrl);
+        p.put("crypto.exchange.gateio.base-url", stubUrl + "/api/v4");
+        p.put("crypto.marketdata.enabled", "false");
+        p.put("crypto.journal.dir", dataDir.toString());
+        p.put("crypto.alerts.dir", dataDir.toString());
+        p.put("crypto.history.dir", dataDir.resolve("history").toString());
+        p.put("crypto.keystore.file", dataDir.resolve("keys.db").toString());
+        byte[] masterKey = new byte[32];
+        new SecureRandom().nextBytes(masterKey);
+        p.put("crypto.keystore.master-key", Base64.getEncoder().encodeToString(masterKey));
+        p.put("api.bot-access-key", BOT_SECRET);
+        p.put("logging.level.root", "WARN");
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith("app.")) p.put(name.substring(4), props.getProperty(name));
+        }
+        return new SpringApplicationBuilder(CryptoDiscordApplication.class).properties(p).run();
+    }
+
+    private static List<String> registerUsers(UserApiKeys keys, int users) throws Exception {
+        List<String> ids = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String id = Long.toString(900_000_000_000_000L + i);
+            keys.register(id, "bithumb", "bithumb-access-" + i, "bithumb-secret-0123456789abcdef-" + i);
+            keys.register(id, "gateio", "gateio-key-" + i, "gateio-secret-" + i);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    // endpoint 가 null 이면 워밍업 (결과 없음)
+    private static Result run(HttpClient client, RequestSigner signer, int port, String path, List<String> userIds,
+                              int concurrency, long durationMs, String endpoint, ExchangeStub stub) throws Exception {
+        Map<String, Long> before = stub != null ? stub.calls() : Map.of();
+        long deadline = System.nanoTime() + durationMs * 1_000_000L;
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long start = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            Thread t = new Thread(() -> {
+                long[] samples = new long[1024];
+                int n = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        String user = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+                        String nonce = Long.toString(System.currentTimeMillis());
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://127.0.0.1:" + port + String.format(path, user)))
+                                .header("X-Bot-Nonce", nonce)
+                                .header("X-Bot-Signature", signer.hmacSha256Hex(BOT_SECRET, nonce))
+                                .header("Accept-Encoding", "gzip")
+                                .timeout(Duration.ofSeconds(30))
+                                .GET().build();
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (n == samples.length) samples = Arrays.copyOf(samples, n * 2);
+                        samples[n++] = (System.nanoTime() - t0) / 1000;
+                    }
+                } finally {
+                    latencies[worker] = samples;
+                    counts[worker] = n;
+                    done.countDown();
+                }
+            }, "loadtest-" + w);
+            t.setDaemon(true);
+            t.start();
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (endpoint == null) return null;
+
+        int total = 0;
+        for (int c : counts) total += c;
+        long[] all = new long[total];
+        int k = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(latencies[w], 0, all, k, counts[w]);
+            k += counts[w];
+        }
+        Arrays.sort(all);
+
+        Map<String, Long> outbound = new LinkedHashMap<>();
+        stub.calls().forEach((name, after) -> {
+            long delta = after - before.getOrDefault(name, 0L);
+            if (delta > 0) outbound.put(name, delta);
+        });
+        return new Result(endpoint, concurrency, total, errors.get(), seconds,
+                percentile(all, 0.50), percentile(all, 0.99), outbound);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static void print(Result r) {
+        StringBuilder amplification = new StringBuilder();
+        long outboundTotal = 0;
+        for (Map.Entry<String, Long> e : r.outbound().entrySet()) {
+            outboundTotal += e.getValue();
+            amplification.append(String.format(" %s=%.3f", e.getKey(), e.getValue() / (double) Math.max(1, r.requests())));
+        }
+        System.out.printf("%-15s c=%-4d req=%-7d %8.1f req/s  p50=%7.2fms  p99=%8.2fms  err=%5.2f%%  out/req=%.3f%s%n",
+                r.endpoint(), r.concurrency(), r.requests(), r.requests() / r.seconds(),
+                r.p50Micros() / 1000.0, r.p99Micros() / 1000.0,
+                100.0 * r.errors() / Math.max(1, r.requests()),
+                outboundTotal / (double) Math.max(1, r.requests()), amplification);
+    }
+}
@@ -0,0 +1,230 @@
+package com.cryptodiscord.loadtest;
+
+import com.cryptodiscord.component.RequestSigner;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// 기동 벤치마크: 앱을 별도 JVM 으로 띄워 첫 /api/my-assets 성공까지의 시간과 상주 메모리(RSS)를 측정
+// - 모드: jar(기본), aot(-Dspring.aot.enabled=true, -Paot 빌드), cds(클래스 데이터 공유 아카이브, AOT 빌드면 AOT 포함)
+// - 매 실행마다 새 데이터 디렉터리 + 로컬 거래소 대역(ExchangeStub), 프로세스 시작부터 시간 측정
+// - 성공 기준: 200 응답 + startup.require 의 거래소가 모두 status=ok
+// - RSS: 첫 성공 시점과 settle-ms 뒤의 /proc/<pid>/status VmRSS (리눅스 전용, 그 외 0)
+//
+// ./gradlew startupBenchmark [-Paot] -Dstartup.runs=5
+// - startup.modes: 측정할 모드 (쉼표, 기본은 빌드에 있는 모드 전부)
+// - startup.jvm-args: 모든 모드에 붙일 JVM 옵션 (예: -Xmx256m -XX:TieredStopAtLevel=1)
+// - stub.* / app.<속성>: LoadTest 와 같음
+public class StartupBenchmark {
+    private static final String BOT_SECRET = "startup-bot-secret";
+    private static final String USER = "900000000000000000";
+
+    // 실행 1회 결과 (firstSuccessMs: 실패 시 -1)
+    private record Run(String mode, long firstSuccessMs, long attempts, long rssAtFirstKb, long rssSettledKb) {}
+
+    public static void main(String[] args) throws Exception {
+        Properties props = System.getProperties();
+        File jar = new File(props.getProperty("startup.jar", "build/cds/app.jar"));
+        File archive = new File(props.getProperty("startup.archive", "build/cds/app.jsa"));
+        boolean aot = Boolean.parseBoolean(props.getProperty("startup.aot", "false"));
+        int runs = Integer.parseInt(props.getProperty("startup.runs", "5"));
+        long timeoutMs = Long.parseLong(props.getProperty("startup.timeout-ms", "60000"));
+        long settleMs = Long.parseLong(props.getProperty("startup.settle-ms", "5000"));
+        List<String> require = List.of(props.getProperty("startup.require", "bithumb,gateio").split(","));
+        List<String> jvmArgs = split(props.getProperty("startup.jvm-args", ""));
+        if (!jar.isFile()) throw new IllegalStateException("앱 jar 가 없습니다: " + jar + " (./gradlew cdsJar)");
+
+        List<String> available = new ArrayList<>(List.of("jar"));
+        if (aot) available.add("aot");
+        if (archive.isFile()) available.add("cds");
+        List<String> modes = props.getProperty("startup.modes") != null
+                ? split(props.getProperty("startup.modes").replace(',', ' ')) : available;
+        for (String mode : modes) {
+            if (!available.contains(mode)) throw new IllegalArgumentException("사용할 수 없는 모드: " + mode + " (가능: " + available + ")");
+        }
+
+        ExchangeStub stub = new ExchangeStub(props);
+        stub.start();
+        System.out.printf("jar=%s, 아카이브=%s, AOT=%s, 거래소 대역 %s%n", jar, archive.isFile() ? archive : "-", aot, stub.baseUrl());
+        Map<String, List<Run>> results = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < runs; i++) {
+                // 모드를 번갈아 실행 (디스크 캐시 / 기기 상태 변화가 한 모드에 몰리지 않도록)
+                for (String mode : modes) {
+                    List<String> command = command(mode, jar, archive, aot, jvmArgs);
+                    Run r = run(mode, command, jar.getAbsoluteFile().getParentFile(), stub, props, require, timeoutMs, settleMs);
+                    results.computeIfAbsent(mode, m -> new ArrayList<>()).add(r);
+                    System.out.printf("%-4s #%d  first=%6dms  attempts=%-4d rss=%7.1fMB  settled=%7.1fMB%n",
+                            mode, i + 1, r.firstSuccessMs(), r.attempts(), r.rssAtFirstKb() / 1024.0, r.rssSettledKb() / 1024.0);
+                }
+            }
+        } finally {
+            stub.stop();
+        }
+
+        System.out.println();
+        System.out.println("=== 요약 (중앙값, 최소~최대) ===");
+        results.forEach((mode, list) -> {
+            long[] first = list.stream().mapToLong(Run::firstSuccessMs).filter(v -> v >= 0).sorted().toArray();
+            long[] rss = list.stream().mapToLong(Run::rssSettledKb).sorted().toArray();
+            long failed = list.stream().filter(r -> r.firstSuccessMs() < 0).count();
+            System.out.printf("%-4s first=%6dms (%d~%d)  rss=%7.1fMB (%.1f~%.1f)  실패=%d/%d%n", mode,
+                    median(first), first.length > 0 ? first[0] : -1, first.length > 0 ? first[first.length - 1] : -1,
+                    median(rss) / 1024.0, rss[0] / 1024.0, rss[rss.length - 1] / 1024.0, failed, list.size());
+        });
+    }
+
+    private static List<String> command(String mode, File jar, File archive, boolean aot, List<String> jvmArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(jvmArgs);
+        // cds 아카이브는 AOT 빌드면 AOT 로 학습했으므로 같은 설정으로 실행
+        if (mode.equals("aot") || (mode.equals("cds") && aot)) command.add("-Dspring.aot.enabled=true");
+        if (mode.equals("cds")) command.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        command.add("-jar");
+        command.add(jar.getName());
+        return command;
+    }
+
+    private static Run run(String mode, List<String> command, File workDir, ExchangeStub stub, Properties props,
+                           List<String> require, long timeoutMs, long settleMs) throws Exception {
+        Path dataDir = Files.createTempDirectory("crypto-discord-startup");
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.addAll(appArgs(port, stub.baseUrl(), dataDir, props));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(500))
+                .build();
+        RequestSigner signer = new RequestSigner();
+        ObjectMapper mapper = new ObjectMapper();
+
+        long start = System.nanoTime();
+        // 아카이브에는 학습 때의 상대 클래스패스(app.jar, lib/*.jar)가 기록되므로 jar 디렉터리에서 실행
+        Process process = new ProcessBuilder(full)
+                .directory(workDir)
+                .redirectErrorStream(true)
+                .redirectOutput(dataDir.resolve("app.log").toFile())
+                .start();
+        long firstMs = -1;
+        long attempts = 0;
+        long rssAtFirst = 0;
+        try {
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (System.nanoTime() < deadline && process.isAlive()) {
+                attempts++;
+                if (succeeded(client, signer, mapper, port, require)) {
+                    firstMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    rssAtFirst = rssKb(process.pid());
+                    break;
+                }
+                Thread.sleep(20);
+            }
+            if (firstMs < 0) {
+                System.out.printf("%s: %dms 안에 성공하지 못함, 로그: %s%n", mode, timeoutMs, dataDir.resolve("app.log"));
+                return new Run(mode, -1, attempts, 0, rssKb(process.pid()));
+            }
+            if (mode.equals("cds") && Files.readString(dataDir.resolve("app.log")).contains("Unable to use shared archive")) {
+                System.out.printf("%s: 아카이브를 쓰지 못함 (jar 와 아카이브가 다른 빌드 / 다른 JDK?), 로그: %s%n", mode, dataDir.resolve("app.log"));
+            }
+            // 기동 직후 백그라운드 작업(시세 수집, 스케줄러)이 돈 뒤의 메모리
+            Thread.sleep(settleMs);
+            return new Run(mode, firstMs, attempts, rssAtFirst, rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static List<String> appArgs(int port, String stubUrl, Path dataDir, Properties props) {
+        Map<String, String> p = new LinkedHashMap<>();
+        p.put("server.port", Integer.toString(port));
+        p.put("management.server.port", "-1");
+        p.put("crypto.exchange.bithumb.base-url", stubUrl);
+        p.put("crypto.exchange.gateio.base-url", stubUrl + "/api/v4");
+        p.put("crypto.marketdata.enabled", "false");
+        p.put("crypto.journal.dir", dataDir.toString());
+        p.put("crypto.alerts.dir", dataDir.toString());
+        p.put("crypto.history.dir", dataDir.resolve("history").toString());
+        p.put("crypto.keystore.file", dataDir.resolve("keys.db").toString());
+        p.put("api.bot-access-key", BOT_SECRET);
+        p.put("api.keys.discord.user-key", USER);
+        p.put("api.keys.bithumb.key", "bithumb-access-startup");
+        p.put("api.keys.bithumb.secret", "bithumb-secret-0123456789abcdef");
+        p.put("api.keys.gateio.key", "gateio-key-startup");
+        p.put("api.keys.gateio.secret", "gateio-secret-startup");
+        for (String name : props.stringPropertyNames()) {
+            if (name.startsWith("app.")) p.put(name.substring(4), props.getProperty(name));
+        }
+        List<String> args = new ArrayList<>();
+        p.forEach((k, v) -> args.add("--" + k + "=" + v));
+        return args;
+    }
+
+    // 연결 거부 / 타임아웃 / 거래소 실패는 모두 아직 준비 안 됨으로 처리
+    private static boolean succeeded(HttpClient client, RequestSigner signer, ObjectMapper mapper,
+                                     int port, List<String> require) {
+        try {
+            String nonce = Long.toString(System.currentTimeMillis());
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://127.0.0.1:" + port + "/api/my-assets?discord_id=" + USER))
+                    .header("X-Bot-Nonce", nonce)
+                    .header("X-Bot-Signature", signer.hmacSha256Hex(BOT_SECRET, nonce))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET().build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) return false;
+            JsonNode exchanges = mapper.readTree(response.body()).path("exchanges");
+            for (String exchange : require) {
+                if (!"ok".equals(exchanges.path(exchange.trim()).path("status").asText())) return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+                if (line.startsWith("VmRSS:")) return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        } catch (IOException | NumberFormatException ignored) {
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] sorted) {
+        return sorted.length == 0 ? -1 : sorted[sorted.length / 2];
+    }
+
+    private static List<String> split(String s) {
+        List<String> list = new ArrayList<>();
+        for (String part : s.trim().split("\\s+")) {
+            if (!part.isEmpty()) list.add(part);
+        }
+        return list;
+    }
+}
@@ -1,20 +1,38 @@
 package com.cryptodiscord;
 
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Map;
+
 @SpringBootApplication
+@EnableScheduling
 public class CryptoDiscordApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(CryptoDiscordApplication.class, args);
+        SpringApplication app = new SpringApplication(CryptoDiscordApplication.class);
+        // 메트릭 스크레이프(/actuator/prometheus)는 봇 서명 없이 열리므로 기본은 별도 포트 + localhost 만
+        // (yml 에 값을 주면 그쪽이 우선)
+        // 응답 압축: 자산/거래내역 JSON(·CBOR)이 1KB 를 넘으면 gzip (Accept-Encoding 을 보낸 클라이언트만)
+        app.setDefaultProperties(Map.of(
+                "management.endpoints.web.exposure.include", "health,prometheus",
+                "management.server.port", "9091",
+                "management.server.address", "127.0.0.1",
+                "server.compression.enabled", "true",
+                "server.compression.mime-types", "application/json,application/cbor",
+                "server.compression.min-response-size", "1024"));
+        app.run(args);
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient) {
+        // 풀링된 HttpClient 위에서 동작 → 반복 호출 시 TLS 연결 재사용
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
 
 }
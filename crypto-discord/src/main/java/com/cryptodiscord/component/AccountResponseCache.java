@@ -0,0 +1,219 @@
+package com.cryptodiscord.component;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 개인 계정 API 응답 캐시 ((discord_id, endpoint, params) 단위)
+// - 같은 키의 동시 요청은 진행 중인 거래소 호출 1건을 공유 (single-flight)
+// - ttl 이내: 캐시 값 그대로 / ttl ~ ttl+stale: 이전 값을 바로 주고 뒤에서 갱신 (stale-while-revalidate)
+// - 응답에 잔고 시각 표시가 없으므로 ttl+stale 는 몇 초로 유지 (기본 최대 5초, 넘으면 새로 조회해 기다림)
+// - 최대 항목 수를 넘으면 가장 오래 사용하지 않은 항목부터 제거 (LRU)
+// - 남의 호출을 기다리는 시간은 wait-ms 까지 (기본값 = 거래소 deadline, 그 뒤에는 집계 쪽에서도 이미 시간 초과)
+@Component
+public class AccountResponseCache {
+    private static final Logger log = LoggerFactory.getLogger(AccountResponseCache.class);
+
+    public record Key(String discordId, String endpoint, String params) {}
+
+    // fetchedAt == 0 이면 아직 값 없음, inflight 는 entries 락으로 보호
+    private static final class Entry {
+        Object value;
+        long fetchedAt;
+        CompletableFuture<Object> inflight;
+    }
+
+    private final OutboundRequestScheduler scheduler;
+    private final long ttlMs;
+    private final long staleMs;
+    private final int maxEntries;
+    private final long waitMs;
+    private final LinkedHashMap<Key, Entry> entries;
+    // 캐시하지 않고 진행 중인 호출만 공유 (coalesce 용)
+    private final Map<Key, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+    private final ExecutorService refreshExecutor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "account-cache-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    public AccountResponseCache(OutboundRequestScheduler scheduler,
+                                @Value("${crypto.account-cache.ttl-ms:2000}") long ttlMs,
+                                @Value("${crypto.account-cache.stale-ms:3000}") long staleMs,
+                                @Value("${crypto.account-cache.max-entries:10000}") int maxEntries,
+                                @Value("${crypto.account-cache.wait-ms:5000}") long waitMs) {
+        this.scheduler = scheduler;
+        this.ttlMs = ttlMs;
+        this.staleMs = staleMs;
+        this.maxEntries = maxEntries;
+        this.waitMs = waitMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= AccountResponseCache.this.maxEntries) return false;
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // 캐시 조회, 없거나 너무 오래됐으면 loader 로 조회 (동시 요청은 1건만 실행)
+    @SuppressWarnings("unchecked")
+    public <T> T get(String discordId, String endpoint, String params, Callable<T> loader) throws Exception {
+        Key key = new Key(discordId, endpoint, params);
+        Entry entry;
+        CompletableFuture<Object> future;
+        boolean owner = false;
+        boolean stale = false;
+        boolean revalidate = false;
+        Object staleValue = null;
+
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(key, k -> new Entry());
+            long age = System.currentTimeMillis() - entry.fetchedAt;
+            if (entry.fetchedAt != 0 && age <= ttlMs) {
+                hits.incrementAndGet();
+                return (T) entry.value;
+            }
+            if (entry.fetchedAt != 0 && age <= ttlMs + staleMs) {
+                staleHits.incrementAndGet();
+                stale = true;
+                staleValue = entry.value;
+                if (entry.inflight == null) {
+                    entry.inflight = new CompletableFuture<>();
+                    revalidate = true;
+                }
+                future = entry.inflight;
+            } else if (entry.inflight != null) {
+                coalesced.incrementAndGet();
+                future = entry.inflight;
+            } else {
+                misses.incrementAndGet();
+                future = entry.inflight = new CompletableFuture<>();
+                owner = true;
+            }
+        }
+
+        if (stale) {
+            if (revalidate) {
+                Entry e = entry;
+                CompletableFuture<Object> f = future;
+                refreshExecutor.execute(() -> {
+                    try {
+                        // 응답은 이미 나갔으므로 거래소 호출은 백그라운드 우선순위로
+                        scheduler.runInBackground(() -> load(e, f, loader));
+                    } catch (Exception ex) {
+                        refreshFailures.incrementAndGet();
+                        log.warn("[ACCOUNT CACHE] {} 갱신 실패: {}", key, ex.getMessage());
+                    }
+                });
+            }
+            return (T) staleValue;
+        }
+        if (owner) return (T) load(entry, future, loader);
+        return (T) await(future);
+    }
+
+    // 캐시 없이 진행 중인 동일 작업만 공유 (동기화처럼 결과를 재사용하면 안 되는 작업용)
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String discordId, String endpoint, String params, Callable<T> task) throws Exception {
+        Key key = new Key(discordId, endpoint, params);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = pending.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return (T) await(existing);
+        }
+        try {
+            Object value = task.call();
+            mine.complete(value);
+            return (T) value;
+        } catch (Throwable e) {
+            // Error 도 기다리는 요청에 전달 (완료되지 않은 future 가 남지 않도록)
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key, mine);
+        }
+    }
+
+    // API 키 변경 등으로 사용자의 캐시를 버려야 할 때
+    public void invalidate(String discordId) {
+        synchronized (entries) {
+            entries.keySet().removeIf(k -> k.discordId().equals(discordId));
+        }
+    }
+
+    public Map<String, Object> stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long lookups = hits.get() + staleHits.get() + misses.get() + coalesced.get();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", size);
+        m.put("max_entries", maxEntries);
+        m.put("hits", hits.get());
+        m.put("stale_hits", staleHits.get());
+        m.put("misses", misses.get());
+        m.put("coalesced", coalesced.get());
+        m.put("evictions", evictions.get());
+        m.put("refresh_failures", refreshFailures.get());
+        m.put("hit_ratio", lookups == 0 ? 0.0 : (double) (lookups - misses.get()) / lookups);
+        return m;
+    }
+
+    private Object load(Entry entry, CompletableFuture<Object> future, Callable<?> loader) throws Exception {
+        try {
+            Object value = loader.call();
+            synchronized (entries) {
+                entry.value = value;
+                entry.fetchedAt = System.currentTimeMillis();
+                entry.inflight = null;
+            }
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // 실패는 캐시하지 않음 (기다리던 요청에는 같은 예외 전달, Error 여도 inflight 를 비워 다음 요청이 다시 조회)
+            synchronized (entries) {
+                entry.inflight = null;
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) throws Exception {
+        try {
+            return future.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.cryptodiscord.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.*;
+
+// 빗썸 웹소켓 v1 (ticker: trade_price, orderbook: 1호가)
+// - 심볼을 지정하지 않으면 ALL_KRW 스냅샷에 있는 KRW 마켓 전체를 구독
+// - REST 보정은 이미 주기 갱신 중인 ALL_KRW 스냅샷 사용 (추가 호출 없음)
+@Component
+public class BithumbMarketDataFeed implements MarketDataFeed {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI uri;
+    private final List<String> configuredSymbols;
+    private final PriceSnapshotCache priceSnapshotCache;
+
+    public BithumbMarketDataFeed(@Value("${crypto.marketdata.bithumb.url:wss://ws-api.bithumb.com/websocket/v1}") String url,
+                                 @Value("${crypto.marketdata.bithumb.symbols:}") List<String> configuredSymbols,
+                                 PriceSnapshotCache priceSnapshotCache) {
+        this.uri = URI.create(url);
+        this.configuredSymbols = configuredSymbols;
+        this.priceSnapshotCache = priceSnapshotCache;
+    }
+
+    @Override
+    public String exchange() {
+        return "bithumb";
+    }
+
+    @Override
+    public URI uri() {
+        return uri;
+    }
+
+    @Override
+    public Collection<String> symbols() {
+        if (!configuredSymbols.isEmpty()) return new TreeSet<>(configuredSymbols);
+        Set<String> symbols = new TreeSet<>();
+        for (String currency : priceSnapshotCache.current().krwPrices().keySet()) symbols.add("KRW-" + currency);
+        return symbols;
+    }
+
+    @Override
+    public List<String> subscribeMessages(Collection<String> symbols) {
+        if (symbols.isEmpty()) return List.of();
+        ArrayNode request = MAPPER.createArrayNode();
+        request.addObject().put("ticket", "crypto-discord");
+        for (String type : new String[]{"ticker", "orderbook"}) {
+            ArrayNode codes = request.addObject().put("type", type).putArray("codes");
+            symbols.forEach(codes::add);
+        }
+        return List.of(request.toString());
+    }
+
+    @Override
+    public void onMessage(String message, TopOfBookStore store) throws Exception {
+        JsonNode node = MAPPER.readTree(message);
+        String code = node.path("code").asText(null);
+        if (code == null) return;
+        long ts = node.path("timestamp").asLong();
+        switch (node.path("type").asText()) {
+            case "ticker" -> {
+                if (node.hasNonNull("trade_price")) store.onTrade(exchange(), code, node.get("trade_price").asDouble(), ts);
+            }
+            case "orderbook" -> {
+                JsonNode best = node.path("orderbook_units").path(0);
+                if (best.hasNonNull("bid_price") && best.hasNonNull("ask_price")) {
+                    store.onBook(exchange(), code, best.get("bid_price").asDouble(), best.get("ask_price").asDouble(), ts);
+                }
+            }
+            default -> { }
+        }
+    }
+
+    @Override
+    public void restFallback(Collection<String> symbols, TopOfBookStore store) {
+        PriceSnapshotCache.Snapshot snapshot = priceSnapshotCache.current();
+        for (String symbol : symbols) {
+            String currency = symbol.substring(symbol.indexOf('-') + 1);
+            if (snapshot.contains(currency)) store.onRest(exchange(), symbol, snapshot.price(currency), snapshot.fetchedAt());
+        }
+    }
+}
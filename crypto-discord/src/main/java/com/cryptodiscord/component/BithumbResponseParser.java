@@ -0,0 +1,223 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.dto.BithumbAccount;
+import com.cryptodiscord.dto.BithumbOrder;
+import com.cryptodiscord.dto.BithumbTicker;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// 빗썸 응답을 Map 을 거치지 않고 스트리밍으로 바로 record 로 변환 (사용하지 않는 필드는 skip)
+@Component
+public class BithumbResponseParser {
+    private static final Logger log = LoggerFactory.getLogger(BithumbResponseParser.class);
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // /v1/accounts → [ {...}, ... ]
+    public List<BithumbAccount> parseAccounts(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            List<BithumbAccount> result = new ArrayList<>();
+            if (p.nextToken() != JsonToken.START_ARRAY) {
+                log.warn("[BITHUMB] 자산 응답이 배열이 아님 → {}", p.currentToken());
+                return result;
+            }
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                result.add(readAccount(p));
+            }
+            return result;
+        }
+    }
+
+    // /v1/orders → [ {...}, ... ] 또는 { "status": "0000", "data": [ ... ] }
+    public List<BithumbOrder> parseOrders(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            JsonToken first = p.nextToken();
+            if (first == JsonToken.START_ARRAY) return readOrders(p);
+            if (first != JsonToken.START_OBJECT) return List.of();
+
+            String status = null;
+            List<BithumbOrder> data = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("status".equals(field)) {
+                    status = p.getValueAsString();
+                } else if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    data = readOrders(p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (!"0000".equals(status) || data == null) {
+                log.warn("[BITHUMB] 주문 응답 이상 → status={}, data={}", status, data == null ? "없음" : data.size());
+                return List.of();
+            }
+            return data;
+        }
+    }
+
+    // /public/ticker/ALL_KRW → { "status": "0000", "data": { "BTC": {...}, ..., "date": "..." } }
+    public List<BithumbTicker> parseAllTickers(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            List<BithumbTicker> result = new ArrayList<>();
+            String status = null;
+            if (p.nextToken() != JsonToken.START_OBJECT) return result;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("status".equals(field)) {
+                    status = p.getValueAsString();
+                } else if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String currency = p.currentName();
+                        // "date" 같은 메타 필드는 객체가 아니므로 건너뜀
+                        if (p.nextToken() != JsonToken.START_OBJECT) continue;
+                        double closing = readClosingPrice(p);
+                        if (!Double.isNaN(closing)) result.add(new BithumbTicker(currency.toUpperCase(), closing));
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (!"0000".equals(status)) {
+                log.warn("[BITHUMB] 시세 응답 status={}", status);
+                return List.of();
+            }
+            return result;
+        }
+    }
+
+    // /public/ticker/{pair} → { "status": "0000", "data": { "closing_price": ... } }
+    public BithumbTicker parseTicker(String currency, InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            String status = null;
+            double closing = Double.NaN;
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("status".equals(field)) {
+                    status = p.getValueAsString();
+                } else if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                    closing = readClosingPrice(p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            if (!"0000".equals(status) || Double.isNaN(closing)) return null;
+            return new BithumbTicker(currency.toUpperCase(), closing);
+        }
+    }
+
+    private BithumbAccount readAccount(JsonParser p) throws IOException {
+        String currency = null, unitCurrency = null;
+        BigDecimal balance = null, locked = null, avgBuyPrice = null;
+        boolean avgBuyPriceModified = false;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "currency" -> currency = p.getValueAsString();
+                case "balance" -> balance = decimal(p);
+                case "locked" -> locked = decimal(p);
+                case "avg_buy_price" -> avgBuyPrice = decimal(p);
+                case "avg_buy_price_modified" -> avgBuyPriceModified = p.getValueAsBoolean();
+                case "unit_currency" -> unitCurrency = p.getValueAsString();
+                default -> p.skipChildren();
+            }
+        }
+        return new BithumbAccount(currency, orZero(balance), orZero(locked), orZero(avgBuyPrice),
+                avgBuyPriceModified, unitCurrency);
+    }
+
+    // /v1/order?uuid= → { ... } (주문 1건, trades 등 나머지 필드는 건너뜀)
+    public BithumbOrder parseOrder(InputStream in) throws IOException {
+        try (JsonParser p = JSON.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return null;
+            BithumbOrder order = readOrder(p);
+            return order.uuid() != null ? order : null;
+        }
+    }
+
+    private List<BithumbOrder> readOrders(JsonParser p) throws IOException {
+        List<BithumbOrder> result = new ArrayList<>();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            result.add(readOrder(p));
+        }
+        return result;
+    }
+
+    // 현재 위치가 주문 객체의 START_OBJECT, 끝나면 END_OBJECT
+    private BithumbOrder readOrder(JsonParser p) throws IOException {
+        String uuid = null, side = null, ordType = null, state = null, market = null, createdAt = null;
+        BigDecimal price = null, volume = null, remainingVolume = null, executedVolume = null;
+        BigDecimal reservedFee = null, remainingFee = null, paidFee = null, locked = null;
+        int tradesCount = 0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "uuid" -> uuid = p.getValueAsString();
+                case "side" -> side = p.getValueAsString();
+                case "ord_type" -> ordType = p.getValueAsString();
+                case "price" -> price = decimal(p);
+                case "state" -> state = p.getValueAsString();
+                case "market" -> market = p.getValueAsString();
+                case "created_at" -> createdAt = p.getValueAsString();
+                case "volume" -> volume = decimal(p);
+                case "remaining_volume" -> remainingVolume = decimal(p);
+                case "executed_volume" -> executedVolume = decimal(p);
+                case "reserved_fee" -> reservedFee = decimal(p);
+                case "remaining_fee" -> remainingFee = decimal(p);
+                case "paid_fee" -> paidFee = decimal(p);
+                case "locked" -> locked = decimal(p);
+                case "trades_count" -> tradesCount = p.getValueAsInt();
+                default -> p.skipChildren();
+            }
+        }
+        return new BithumbOrder(uuid, side, ordType, price, state, market, createdAt, volume,
+                remainingVolume, executedVolume, reservedFee, remainingFee, paidFee, locked, tradesCount);
+    }
+
+    // 현재 위치가 티커 객체의 START_OBJECT, 끝나면 END_OBJECT
+    private double readClosingPrice(JsonParser p) throws IOException {
+        double closing = Double.NaN;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("closing_price".equals(field)) {
+                closing = p.getValueAsDouble(Double.NaN);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return closing;
+    }
+
+    // 빗썸은 숫자를 문자열로 내려줌 ("0.00100000") → 스케일을 보존해 BigDecimal 로
+    private static BigDecimal decimal(JsonParser p) throws IOException {
+        JsonToken t = p.currentToken();
+        if (t == JsonToken.VALUE_NUMBER_INT || t == JsonToken.VALUE_NUMBER_FLOAT) return p.getDecimalValue();
+        if (t != JsonToken.VALUE_STRING) return null;
+        String text = p.getText();
+        if (text.isEmpty()) return null;
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal v) {
+        return v != null ? v : BigDecimal.ZERO;
+    }
+}
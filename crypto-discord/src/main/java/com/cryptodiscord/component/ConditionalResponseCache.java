@@ -0,0 +1,124 @@
+package com.cryptodiscord.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+// 봇 조회 응답 재사용 + 조건부 응답 (ETag / If-None-Match → 304)
+// - key(엔드포인트 + 파라미터)마다 마지막 응답을 (입력 버전, ETag, 본문)으로 보관
+// - 입력 버전(시세/주문 기록 버전 등)이 같고 maxAgeMs 이내면 조회/계산 없이 보관한 본문 재사용
+// - ETag 는 JSON 직렬화 결과의 CRC32C, 표현(JSON/CBOR, gzip)과 무관하게 같은 내용이므로 약한 ETag(W/)
+//   (age_ms 처럼 매번 바뀌는 필드가 있으면 fingerprint 로 그 필드를 뺀 값을 넘김)
+@Component
+public class ConditionalResponseCache {
+
+    private record Entry(String version, long createdAt, String etag, Object body) {}
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong computed = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    public ConditionalResponseCache(ObjectMapper objectMapper,
+                                    @Value("${crypto.response-cache.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    public <T> ResponseEntity<T> respond(String key, String version, long maxAgeMs, String ifNoneMatch,
+                                         Callable<T> body) throws Exception {
+        return respond(key, version, maxAgeMs, ifNoneMatch, body, Function.identity());
+    }
+
+    public <T> ResponseEntity<T> respond(String key, String version, long maxAgeMs, String ifNoneMatch,
+                                         Callable<T> body, Function<? super T, ?> fingerprint) throws Exception {
+        long now = System.currentTimeMillis();
+        Entry e = entries.get(key);
+        if (e != null && e.version().equals(version) && now - e.createdAt() <= maxAgeMs) {
+            reused.incrementAndGet();
+        } else {
+            T value = body.call();
+            e = new Entry(version, now, etag(fingerprint.apply(value)), value);
+            if (entries.size() >= maxEntries) {
+                Iterator<String> it = entries.keySet().iterator();
+                if (it.hasNext()) {
+                    it.next();
+                    it.remove();
+                }
+            }
+            entries.put(key, e);
+            computed.incrementAndGet();
+        }
+
+        // 봇이 확인 후 쓰도록 (캐시에 두되 매번 재검증)
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (matches(ifNoneMatch, e.etag())) {
+            notModified.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(e.etag()).cacheControl(cacheControl).build();
+        }
+        @SuppressWarnings("unchecked")
+        T cached = (T) e.body();
+        return ResponseEntity.ok().eTag(e.etag()).cacheControl(cacheControl).body(cached);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("entries", entries.size());
+        m.put("reused", reused.get());
+        m.put("computed", computed.get());
+        m.put("not_modified", notModified.get());
+        return m;
+    }
+
+    // 직렬화 결과를 버퍼에 모으지 않고 체크섬만 계산
+    private String etag(Object value) throws IOException {
+        CRC32C crc = new CRC32C();
+        long[] length = {0};
+        objectMapper.writeValue(new OutputStream() {
+            @Override
+            public void write(int b) {
+                crc.update(b);
+                length[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                crc.update(b, off, len);
+                length[0] += len;
+            }
+        }, value);
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Long.toHexString(length[0]) + "\"";
+    }
+
+    // If-None-Match: "*" 또는 쉼표로 나열된 ETag 중 하나 (약한 비교)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || stripWeak(c).equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
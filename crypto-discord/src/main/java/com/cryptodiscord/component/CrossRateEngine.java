@@ -0,0 +1,187 @@
+package com.cryptodiscord.component;
+
+import io.gate.gateapi.models.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 통화 간 환산 엔진 (백그라운드 갱신 + 메모리 조회)
+// - 원천 시세(leg): 빗썸 <코인>/KRW, Gate.io <코인>/USDT
+// - 파생 시세: KRW/USDT (빗썸 USDT 마켓, 없으면 BTC 교차), BTC 김치 프리미엄, Gate.io 전용 코인의 KRW 가격
+// - 원천 시세를 받을 때마다 시각은 갱신하고, Gate.io 전용 코인 재계산은 KRW/USDT 값이 바뀐 경우에만
+// - 조회는 통화별 KRW 가격 맵에서 O(1) (요청 경로에서 거래소 호출 / 락 대기 없음)
+@Component
+public class CrossRateEngine {
+    private static final Logger log = LoggerFactory.getLogger(CrossRateEngine.class);
+    public static final String KRW_USDT = "KRW/USDT";
+    public static final String KRW_USDT_VIA_BTC = "KRW/USDT(BTC)";
+    public static final String BTC_PREMIUM_PCT = "BTC_PREMIUM_PCT";
+
+    // value: 환산 값, updatedAt: 원천 시세 수신 시각(ms, 기준 통화는 ALWAYS_FRESH), source: 계산 경로
+    public record Rate(double value, long updatedAt, String source) {
+        static final long ALWAYS_FRESH = Long.MAX_VALUE;
+
+        public long ageMillis() {
+            return updatedAt == ALWAYS_FRESH ? 0L : System.currentTimeMillis() - updatedAt;
+        }
+    }
+
+    private final PriceSnapshotCache priceSnapshotCache;
+    private final GateioClientRegistry gateioClients;
+    private final OutboundRequestScheduler scheduler;
+    private final ResilientCaller resilientCaller;
+
+    // 원천 시세 (this 로 동기화, 거래소 호출은 락 밖에서 하고 결과 반영만 락 안에서)
+    private final Map<String, Double> bithumbKrw = new HashMap<>();
+    private final Map<String, Double> gateioUsdt = new HashMap<>();
+    private long lastBithumbSnapshotAt;
+
+    // 조회용: 통화 → 1단위의 KRW 가격, 이름 → 교차 시세
+    private final Map<String, Rate> krwRates = new ConcurrentHashMap<>();
+    private final Map<String, Rate> crossRates = new ConcurrentHashMap<>();
+
+    public CrossRateEngine(PriceSnapshotCache priceSnapshotCache, GateioClientRegistry gateioClients,
+                           OutboundRequestScheduler scheduler, ResilientCaller resilientCaller) {
+        this.priceSnapshotCache = priceSnapshotCache;
+        this.gateioClients = gateioClients;
+        this.scheduler = scheduler;
+        this.resilientCaller = resilientCaller;
+        krwRates.put("KRW", new Rate(1.0, Rate.ALWAYS_FRESH, "base"));
+    }
+
+    // 통화 1단위의 KRW 가격 (모르는 통화는 null)
+    public Rate krw(String currency) {
+        return krwRates.get(currency.toUpperCase());
+    }
+
+    // amount(from) → to, 둘 중 하나라도 시세가 없으면 0.0
+    public double convert(double amount, String from, String to) {
+        Rate f = krw(from);
+        Rate t = krw(to);
+        if (f == null || t == null || t.value() == 0) return 0.0;
+        return amount * f.value() / t.value();
+    }
+
+    // 1 USDT 의 KRW 가격 (기동 직후 / 원천 시세 장애로 아직 없으면 null, 호출자가 대체 경로 사용)
+    public Rate usdtKrw() {
+        return crossRates.get(KRW_USDT);
+    }
+
+    // API 응답용: 교차 시세 전체 + 요청한 통화의 KRW 가격
+    public Map<String, Object> rates(Collection<String> currencies) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cross", toMap(crossRates));
+        Map<String, Rate> selected = new LinkedHashMap<>();
+        for (String c : currencies) {
+            Rate r = krw(c);
+            if (r != null) selected.put(c.toUpperCase(), r);
+        }
+        result.put("krw", toMap(selected));
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${crypto.rates.refresh-ms:5000}")
+    public void scheduledRefresh() throws Exception {
+        scheduler.runInBackground(this::refreshNow);
+    }
+
+    private void refreshNow() {
+        // 빗썸: 이미 주기 갱신되는 전체 시세 스냅샷을 그대로 사용 (추가 호출 없음)
+        try {
+            PriceSnapshotCache.Snapshot snapshot = priceSnapshotCache.current();
+            synchronized (this) {
+                if (snapshot.fetchedAt() != lastBithumbSnapshotAt) {
+                    lastBithumbSnapshotAt = snapshot.fetchedAt();
+                    snapshot.krwPrices().forEach((currency, price) ->
+                            onBithumbPrice(currency, price, snapshot.fetchedAt()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[RATES] 빗썸 시세 반영 실패: {}", e.getMessage());
+        }
+
+        // Gate.io: 전체 티커 1회 호출 (전체 제한 시간 + 차단기, 락 밖에서)
+        try {
+            List<Ticker> tickers = resilientCaller.call("gateio", OutboundRequestScheduler.Endpoint.PUBLIC, "tickers",
+                    false, () -> gateioClients.publicSpotApi().listTickers().execute());
+            if (tickers != null) applyGateioTickers(tickers, System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("[RATES] Gate.io 시세 반영 실패: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void applyGateioTickers(List<Ticker> tickers, long at) {
+        for (Ticker t : tickers) {
+            String pair = t.getCurrencyPair();
+            if (pair == null || !pair.endsWith("_USDT") || t.getLast() == null || t.getLast().isEmpty()) continue;
+            try {
+                onGateioPrice(pair.substring(0, pair.length() - "_USDT".length()), Double.parseDouble(t.getLast()), at);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+    }
+
+    // 빗썸 <currency>/KRW 수신 (값이 같아도 시각은 갱신해야 안정된 시세가 stale 로 보이지 않음)
+    synchronized void onBithumbPrice(String currency, double krwPrice, long at) {
+        if (krwPrice <= 0) return;
+        bithumbKrw.put(currency, krwPrice);
+        krwRates.put(currency, new Rate(krwPrice, at, "bithumb"));
+        if ("USDT".equals(currency) || "BTC".equals(currency)) recomputeUsdt(at);
+    }
+
+    // Gate.io <currency>/USDT 수신
+    synchronized void onGateioPrice(String currency, double usdtPrice, long at) {
+        if (usdtPrice <= 0) return;
+        gateioUsdt.put(currency, usdtPrice);
+        if ("BTC".equals(currency)) recomputeUsdt(at);
+        // 빗썸에 없는 코인만 USDT 경유로 KRW 가격 산출
+        if (!bithumbKrw.containsKey(currency)) {
+            Rate usdt = crossRates.get(KRW_USDT);
+            if (usdt != null) krwRates.put(currency, new Rate(usdtPrice * usdt.value(), at, "gateio×" + KRW_USDT));
+        }
+    }
+
+    private void recomputeUsdt(long at) {
+        Double btcKrw = bithumbKrw.get("BTC");
+        Double btcUsdt = gateioUsdt.get("BTC");
+        Double usdtKrwDirect = bithumbKrw.get("USDT");
+
+        Double viaBtc = btcKrw != null && btcUsdt != null ? btcKrw / btcUsdt : null;
+        if (viaBtc != null) crossRates.put(KRW_USDT_VIA_BTC, new Rate(viaBtc, at, "bithumb:BTC/gateio:BTC"));
+        if (viaBtc != null && usdtKrwDirect != null) {
+            // 빗썸 BTC 가 Gate.io BTC(USDT 환산)보다 몇 % 비싼지
+            crossRates.put(BTC_PREMIUM_PCT, new Rate((viaBtc / usdtKrwDirect - 1) * 100, at, "bithumb:USDT"));
+        }
+
+        Rate previous = crossRates.get(KRW_USDT);
+        Rate next = usdtKrwDirect != null ? new Rate(usdtKrwDirect, at, "bithumb:USDT")
+                : viaBtc != null ? new Rate(viaBtc, at, KRW_USDT_VIA_BTC) : null;
+        if (next == null) return;
+        crossRates.put(KRW_USDT, next);
+        if (!bithumbKrw.containsKey("USDT")) krwRates.put("USDT", next);
+
+        // KRW/USDT 가 바뀌면 이를 거치는 Gate.io 전용 코인만 다시 계산
+        if (previous == null || previous.value() != next.value()) {
+            for (Map.Entry<String, Double> e : gateioUsdt.entrySet()) {
+                if (bithumbKrw.containsKey(e.getKey())) continue;
+                krwRates.put(e.getKey(), new Rate(e.getValue() * next.value(), at, "gateio×" + KRW_USDT));
+            }
+        }
+    }
+
+    private static Map<String, Object> toMap(Map<String, Rate> rates) {
+        Map<String, Object> result = new TreeMap<>();
+        rates.forEach((name, r) -> {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("rate", r.value());
+            m.put("age_ms", r.ageMillis());
+            m.put("source", r.source());
+            result.put(name, m);
+        });
+        return result;
+    }
+}
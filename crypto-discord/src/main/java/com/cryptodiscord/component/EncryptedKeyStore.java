@@ -0,0 +1,292 @@
+package com.cryptodiscord.component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 사용자별 거래소 키 저장소 (암호화 파일, 재시작 없이 반영)
+// - 파일: "CDK1" + 항목 수 + (discord_id, exchange, iv||암호문) 반복, 항목마다 AES-256-GCM
+//   (discord_id/exchange 를 AAD 로 묶어 다른 사용자 항목으로 바꿔치기 불가)
+// - 메모리에는 암호문만 보관하고 조회 시점에 복호화, 평문은 cache-size 개까지만 유지
+// - 파일이 바뀌면(WatchService, 놓친 경우 poll-ms 주기 확인) 다시 읽고 바뀐 사용자만 캐시 무효화 + 리스너 호출
+// - 마스터 키(base64 32바이트)가 없으면 비활성 (기존 단일 사용자 설정만 사용)
+@Component
+public class EncryptedKeyStore {
+    private static final Logger log = LoggerFactory.getLogger(EncryptedKeyStore.class);
+    private static final int MAGIC = 0x43444B31; // "CDK1"
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    public record Slot(String discordId, String exchange) {}
+
+    private final Path file;
+    private final SecretKeySpec masterKey;
+    private final int cacheSize;
+    private final SecureRandom random = new SecureRandom();
+    // 암호문 (iv || ciphertext), 쓰기는 this 로 동기화
+    private final Map<Slot, byte[]> sealed = new ConcurrentHashMap<>();
+    // 복호화된 키 (조회 경로는 get 1회), 크기 제한은 근사치
+    private final Map<Slot, UserApiKeys.ApiKeys> opened = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private volatile String loadedStamp;
+    private volatile Thread watcher;
+
+    public EncryptedKeyStore(@Value("${crypto.keystore.file:data/keys.db}") String file,
+                             @Value("${crypto.keystore.master-key:#{null}}") String masterKey,
+                             @Value("${crypto.keystore.master-key_file:#{null}}") String masterKeyFile,
+                             @Value("${crypto.keystore.cache-size:1000}") int cacheSize) throws IOException {
+        this.file = Paths.get(file).toAbsolutePath();
+        String encoded = masterKeyFile != null ? Files.readString(Paths.get(masterKeyFile)).trim() : masterKey;
+        this.masterKey = encoded == null || encoded.isBlank() ? null
+                : new SecretKeySpec(Base64.getDecoder().decode(encoded.trim()), "AES");
+        this.cacheSize = cacheSize;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!isEnabled()) {
+            log.info("[KEYSTORE] 마스터 키가 없어 비활성화 (crypto.keystore.master-key)");
+            return;
+        }
+        reload();
+        startWatcher();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread t = watcher;
+        if (t != null) t.interrupt();
+    }
+
+    public boolean isEnabled() {
+        return masterKey != null;
+    }
+
+    // 키가 바뀐 discord_id 로 호출 (계정 캐시/클라이언트 정리용)
+    public void addListener(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    public UserApiKeys.ApiKeys get(String discordId, String exchange) {
+        Slot slot = new Slot(discordId, exchange);
+        UserApiKeys.ApiKeys keys = opened.get(slot);
+        if (keys != null) return keys;
+        byte[] blob = sealed.get(slot);
+        if (blob == null) return null;
+        keys = open(slot, blob);
+        if (opened.size() >= cacheSize) {
+            Iterator<Slot> it = opened.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        opened.put(slot, keys);
+        // 복호화 중에 키가 바뀌었으면 이전 값이 캐시에 남지 않도록
+        if (sealed.get(slot) != blob) opened.remove(slot, keys);
+        return keys;
+    }
+
+    public void put(String discordId, String exchange, UserApiKeys.ApiKeys keys) throws IOException {
+        requireEnabled();
+        Slot slot = new Slot(discordId, exchange);
+        synchronized (this) {
+            sealed.put(slot, seal(slot, keys));
+            opened.remove(slot);
+            write();
+        }
+        notifyChanged(discordId);
+    }
+
+    public boolean remove(String discordId, String exchange) throws IOException {
+        requireEnabled();
+        Slot slot = new Slot(discordId, exchange);
+        synchronized (this) {
+            if (sealed.remove(slot) == null) return false;
+            opened.remove(slot);
+            write();
+        }
+        notifyChanged(discordId);
+        return true;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("enabled", isEnabled());
+        m.put("entries", sealed.size());
+        m.put("decrypted", opened.size());
+        return m;
+    }
+
+    // 파일을 다시 읽어 바뀐 항목만 반영
+    public void reload() throws IOException {
+        if (!isEnabled()) return;
+        Set<String> changed = new HashSet<>();
+        synchronized (this) {
+            String stamp = stamp();
+            Map<Slot, byte[]> next = read();
+            for (Map.Entry<Slot, byte[]> e : next.entrySet()) {
+                if (!Arrays.equals(e.getValue(), sealed.get(e.getKey()))) changed.add(e.getKey().discordId());
+            }
+            for (Slot slot : sealed.keySet()) {
+                if (!next.containsKey(slot)) changed.add(slot.discordId());
+            }
+            sealed.keySet().retainAll(next.keySet());
+            sealed.putAll(next);
+            opened.keySet().removeIf(slot -> changed.contains(slot.discordId()));
+            loadedStamp = stamp;
+        }
+        if (!changed.isEmpty()) {
+            log.info("[KEYSTORE] {}명 키 변경 반영 (전체 {}건)", changed.size(), sealed.size());
+            changed.forEach(this::notifyChanged);
+        }
+    }
+
+    // 감시 이벤트를 놓치는 파일시스템(볼륨 마운트 등) 대비
+    @Scheduled(fixedDelayString = "${crypto.keystore.poll-ms:30000}")
+    public void poll() {
+        if (!isEnabled()) return;
+        try {
+            if (!Objects.equals(stamp(), loadedStamp)) reload();
+        } catch (Exception e) {
+            log.warn("[KEYSTORE] 다시 읽기 실패: {}", e.getMessage());
+        }
+    }
+
+    private void startWatcher() throws IOException {
+        Files.createDirectories(file.getParent());
+        WatchService ws = file.getFileSystem().newWatchService();
+        file.getParent().register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        Thread t = new Thread(() -> {
+            try (ws) {
+                while (!Thread.currentThread().isInterrupted()) {
+                    WatchKey key = ws.take();
+                    boolean touched = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (file.getFileName().equals(event.context())) touched = true;
+                    }
+                    key.reset();
+                    if (touched) poll();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                log.warn("[KEYSTORE] 파일 감시 종료: {}", e.getMessage());
+            }
+        }, "keystore-watch");
+        t.setDaemon(true);
+        t.start();
+        watcher = t;
+    }
+
+    private void notifyChanged(String discordId) {
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(discordId);
+            } catch (Exception e) {
+                log.warn("[KEYSTORE] 변경 알림 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void requireEnabled() {
+        if (!isEnabled()) throw new IllegalStateException("키 저장소가 설정되지 않았습니다. (crypto.keystore.master-key)");
+    }
+
+    // 파일이 없으면 null, 있으면 수정 시각 + 크기
+    private String stamp() throws IOException {
+        if (!Files.exists(file)) return null;
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        return attrs.lastModifiedTime().toMillis() + ":" + attrs.size();
+    }
+
+    private Map<Slot, byte[]> read() throws IOException {
+        Map<Slot, byte[]> result = new HashMap<>();
+        if (!Files.exists(file)) return result;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("키 저장소 형식이 아닙니다: " + file);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Slot slot = new Slot(in.readUTF(), in.readUTF());
+                byte[] blob = new byte[in.readUnsignedShort()];
+                in.readFully(blob);
+                result.put(slot, blob);
+            }
+        }
+        return result;
+    }
+
+    // 임시 파일에 쓰고 교체 (읽는 쪽은 항상 완전한 파일만 봄)
+    private void write() throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(sealed.size());
+            for (Map.Entry<Slot, byte[]> e : sealed.entrySet()) {
+                out.writeUTF(e.getKey().discordId());
+                out.writeUTF(e.getKey().exchange());
+                out.writeShort(e.getValue().length);
+                out.write(e.getValue());
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        loadedStamp = stamp();
+    }
+
+    private byte[] seal(Slot slot, UserApiKeys.ApiKeys keys) {
+        try {
+            ByteArrayOutputStream plain = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(plain);
+            out.writeUTF(keys.apiKey());
+            out.writeUTF(keys.secretKey());
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, masterKey, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(aad(slot));
+            byte[] encrypted = cipher.doFinal(plain.toByteArray());
+            byte[] blob = Arrays.copyOf(iv, IV_BYTES + encrypted.length);
+            System.arraycopy(encrypted, 0, blob, IV_BYTES, encrypted.length);
+            return blob;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("키 암호화 실패", e);
+        }
+    }
+
+    private UserApiKeys.ApiKeys open(Slot slot, byte[] blob) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, masterKey, new GCMParameterSpec(TAG_BITS, blob, 0, IV_BYTES));
+            cipher.updateAAD(aad(slot));
+            byte[] plain = cipher.doFinal(blob, IV_BYTES, blob.length - IV_BYTES);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(plain));
+            return new UserApiKeys.ApiKeys(in.readUTF(), in.readUTF());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("키 복호화 실패 (User: " + slot.discordId() + ")", e);
+        }
+    }
+
+    private static byte[] aad(Slot slot) {
+        return (slot.discordId() + "\n" + slot.exchange()).getBytes(StandardCharsets.UTF_8);
+    }
+}
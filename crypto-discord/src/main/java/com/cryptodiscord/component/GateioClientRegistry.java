@@ -0,0 +1,102 @@
+package com.cryptodiscord.component;
+
+import io.gate.gateapi.ApiClient;
+import io.gate.gateapi.api.SpotApi;
+import io.gate.gateapi.api.WalletApi;
+import okhttp3.OkHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 사용자별 Gate.io 클라이언트 보관소
+// Configuration.getDefaultApiClient() 를 요청마다 덮어쓰면 동시 요청 시 다른 사용자 키로 서명될 수 있으므로
+// 사용자(키)마다 별도 ApiClient 를 두고, 커넥션 풀(OkHttpClient)만 공유한다.
+@Component
+public class GateioClientRegistry {
+    private static final Logger log = LoggerFactory.getLogger(GateioClientRegistry.class);
+
+    public static final class Clients {
+        private final String apiKey;
+        private final SpotApi spotApi;
+        private final WalletApi walletApi;
+        private volatile long lastAccess;
+
+        private Clients(String apiKey, ApiClient apiClient) {
+            this.apiKey = apiKey;
+            this.spotApi = new SpotApi(apiClient);
+            this.walletApi = new WalletApi(apiClient);
+            this.lastAccess = System.currentTimeMillis();
+        }
+
+        public SpotApi spotApi() { return spotApi; }
+        public WalletApi walletApi() { return walletApi; }
+    }
+
+    private final UserApiKeys userApiKeys;
+    private final long idleMs;
+    private final String basePath;
+    // SDK 클라이언트(OkHttp/Gson 초기화)는 첫 Gate.io 호출 때 생성 → 기동 경로에서 제외
+    private volatile OkHttpClient sharedHttpClient;
+    private SpotApi publicSpotApi;
+    private final Map<String, Clients> clients = new ConcurrentHashMap<>();
+
+    public GateioClientRegistry(UserApiKeys userApiKeys,
+                                @Value("${gateio.client.idle-ms:600000}") long idleMs,
+                                @Value("${crypto.exchange.gateio.base-url:https://api.gateio.ws/api/v4}") String basePath) {
+        this.userApiKeys = userApiKeys;
+        this.idleMs = idleMs;
+        this.basePath = basePath;
+        // 시크릿만 바뀐 경우도 있으므로 키 변경 시 클라이언트 제거
+        userApiKeys.addListener(clients::remove);
+    }
+
+    public SpotApi publicSpotApi() {
+        sharedHttpClient();
+        return publicSpotApi;
+    }
+
+    // 인증 없는 공개 시세용 클라이언트, SDK 가 초기화한 OkHttpClient 를 모든 사용자 클라이언트가 공유
+    private OkHttpClient sharedHttpClient() {
+        OkHttpClient http = sharedHttpClient;
+        if (http != null) return http;
+        synchronized (this) {
+            if (sharedHttpClient == null) {
+                ApiClient publicClient = new ApiClient();
+                publicClient.setBasePath(basePath);
+                publicSpotApi = new SpotApi(publicClient);
+                sharedHttpClient = publicClient.getHttpClient();
+            }
+            return sharedHttpClient;
+        }
+    }
+
+    public Clients forUser(String discordId) {
+        UserApiKeys.ApiKeys keys = userApiKeys.getKeys(discordId, "gateio");
+        Clients c = clients.compute(discordId, (id, existing) -> {
+            // 키가 바뀌었으면 새로 생성
+            if (existing != null && existing.apiKey.equals(keys.apiKey())) return existing;
+            ApiClient apiClient = new ApiClient();
+            apiClient.setHttpClient(sharedHttpClient());
+            apiClient.setBasePath(basePath);
+            apiClient.setApiKeySecret(keys.apiKey(), keys.secretKey());
+            return new Clients(keys.apiKey(), apiClient);
+        });
+        c.lastAccess = System.currentTimeMillis();
+        return c;
+    }
+
+    // idleMs 동안 사용되지 않은 사용자 클라이언트 제거
+    @Scheduled(fixedDelayString = "${gateio.client.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        int before = clients.size();
+        clients.values().removeIf(c -> c.lastAccess < cutoff);
+        int evicted = before - clients.size();
+        if (evicted > 0) log.info("[GATE.IO] 유휴 클라이언트 {}개 정리", evicted);
+    }
+}
@@ -0,0 +1,98 @@
+package com.cryptodiscord.component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.gate.gateapi.models.Ticker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.*;
+
+// Gate.io 웹소켓 v4 (spot.book_ticker: 1호가 + 업데이트 ID, spot.tickers: 최근 체결가)
+// - REST 보정은 listTickers() 1회로 필요한 심볼을 한꺼번에
+@Component
+public class GateioMarketDataFeed implements MarketDataFeed {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI uri;
+    private final List<String> symbols;
+    private final GateioClientRegistry gateioClients;
+    private final OutboundRequestScheduler scheduler;
+
+    public GateioMarketDataFeed(@Value("${crypto.marketdata.gateio.url:wss://api.gateio.ws/ws/v4/}") String url,
+                                @Value("${crypto.marketdata.gateio.symbols:BTC_USDT,ETH_USDT}") List<String> symbols,
+                                GateioClientRegistry gateioClients, OutboundRequestScheduler scheduler) {
+        this.uri = URI.create(url);
+        this.symbols = symbols;
+        this.gateioClients = gateioClients;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public String exchange() {
+        return "gateio";
+    }
+
+    @Override
+    public URI uri() {
+        return uri;
+    }
+
+    @Override
+    public Collection<String> symbols() {
+        return new TreeSet<>(symbols);
+    }
+
+    @Override
+    public List<String> subscribeMessages(Collection<String> symbols) {
+        if (symbols.isEmpty()) return List.of();
+        List<String> messages = new ArrayList<>(2);
+        for (String channel : new String[]{"spot.book_ticker", "spot.tickers"}) {
+            ObjectNode request = MAPPER.createObjectNode()
+                    .put("time", System.currentTimeMillis() / 1000)
+                    .put("channel", channel)
+                    .put("event", "subscribe");
+            symbols.forEach(request.putArray("payload")::add);
+            messages.add(request.toString());
+        }
+        return messages;
+    }
+
+    @Override
+    public void onMessage(String message, TopOfBookStore store) throws Exception {
+        JsonNode node = MAPPER.readTree(message);
+        if (!"update".equals(node.path("event").asText())) return;
+        JsonNode r = node.path("result");
+        switch (node.path("channel").asText()) {
+            case "spot.book_ticker" -> {
+                if (r.hasNonNull("s") && r.hasNonNull("b") && r.hasNonNull("a")) {
+                    store.onBook(exchange(), r.get("s").asText(), r.get("b").asDouble(), r.get("a").asDouble(),
+                            r.path("u").asLong());
+                }
+            }
+            case "spot.tickers" -> {
+                if (r.hasNonNull("currency_pair") && r.hasNonNull("last")) {
+                    store.onTrade(exchange(), r.get("currency_pair").asText(), r.get("last").asDouble(),
+                            node.path("time_ms").asLong());
+                }
+            }
+            default -> { }
+        }
+    }
+
+    @Override
+    public void restFallback(Collection<String> symbols, TopOfBookStore store) throws Exception {
+        Set<String> wanted = new HashSet<>(symbols);
+        List<Ticker> tickers = scheduler.execute(exchange(), OutboundRequestScheduler.Endpoint.PUBLIC, "tickers",
+                () -> gateioClients.publicSpotApi().listTickers().execute());
+        if (tickers == null) return;
+        long now = System.currentTimeMillis();
+        for (Ticker t : tickers) {
+            if (wanted.contains(t.getCurrencyPair()) && t.getLast() != null && !t.getLast().isEmpty()) {
+                store.onRest(exchange(), t.getCurrencyPair(), Double.parseDouble(t.getLast()), now);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.cryptodiscord.component;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+
+// 거래소 공개 웹소켓 시세 피드 (연결/재연결은 WebSocketFeedConnection, 값은 TopOfBookStore 로)
+public interface MarketDataFeed {
+
+    String exchange();
+
+    URI uri();
+
+    // 구독할 심볼 (거래소 표기)
+    Collection<String> symbols();
+
+    // 연결(재연결)될 때마다 보내는 구독 메시지
+    List<String> subscribeMessages(Collection<String> symbols);
+
+    // 수신 메시지 1건 반영
+    void onMessage(String message, TopOfBookStore store) throws Exception;
+
+    // 끊겼거나 오래 갱신되지 않은 심볼을 REST 시세로 보정
+    void restFallback(Collection<String> symbols, TopOfBookStore store) throws Exception;
+}
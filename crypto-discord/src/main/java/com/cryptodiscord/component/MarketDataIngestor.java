@@ -0,0 +1,116 @@
+package com.cryptodiscord.component;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 웹소켓 시세 수집 (피드별 연결 관리 + 공백 감지)
+// - 기동 완료 후 피드마다 연결, 끊기면 자동 재연결/재구독
+// - 주기 점검: 연결이 끊겼거나 stale-ms 이상 갱신이 없는 심볼은 REST 시세로 보정 (공백 구간)
+// - 구독 대상이 바뀌면(신규 상장 등) 현재 연결에 다시 구독
+@Component
+public class MarketDataIngestor {
+    private static final Logger log = LoggerFactory.getLogger(MarketDataIngestor.class);
+
+    private final List<MarketDataFeed> feeds;
+    private final TopOfBookStore store;
+    private final OutboundRequestScheduler scheduler;
+    private final boolean enabled;
+    private final long staleMs;
+    private final long minBackoffMs;
+    private final long maxBackoffMs;
+    private final List<WebSocketFeedConnection> connections = new ArrayList<>();
+    private final Map<String, AtomicLong> fallbacks = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "marketdata-reconnect");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public MarketDataIngestor(List<MarketDataFeed> feeds, TopOfBookStore store, OutboundRequestScheduler scheduler,
+                              @Value("${crypto.marketdata.enabled:true}") boolean enabled,
+                              @Value("${crypto.marketdata.stale-ms:10000}") long staleMs,
+                              @Value("${crypto.marketdata.min-backoff-ms:1000}") long minBackoffMs,
+                              @Value("${crypto.marketdata.max-backoff-ms:30000}") long maxBackoffMs) {
+        this.feeds = feeds;
+        this.store = store;
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.staleMs = staleMs;
+        this.minBackoffMs = minBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || !connections.isEmpty()) return;
+        HttpClient client = HttpClient.newHttpClient();
+        for (MarketDataFeed feed : feeds) {
+            WebSocketFeedConnection connection =
+                    new WebSocketFeedConnection(feed, store, client, executor, minBackoffMs, maxBackoffMs);
+            connections.add(connection);
+            connection.start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        connections.forEach(WebSocketFeedConnection::close);
+        executor.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${crypto.marketdata.check-ms:5000}")
+    public void checkGaps() throws Exception {
+        List<WebSocketFeedConnection> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(connections);
+        }
+        scheduler.runInBackground(() -> {
+            for (WebSocketFeedConnection connection : snapshot) {
+                MarketDataFeed feed = connection.feed();
+                try {
+                    Collection<String> symbols = feed.symbols();
+                    if (connection.isConnected() && !symbols.equals(connection.subscribed())) connection.resubscribe();
+
+                    List<String> gaps = new ArrayList<>();
+                    for (String symbol : symbols) {
+                        TopOfBookStore.Quote q = store.get(feed.exchange(), symbol);
+                        if (!connection.isConnected() || q == null || q.ageMillis() > staleMs) gaps.add(symbol);
+                    }
+                    if (gaps.isEmpty()) continue;
+                    fallbacks.computeIfAbsent(feed.exchange(), k -> new AtomicLong()).addAndGet(gaps.size());
+                    log.debug("[MARKETDATA] {} 공백 {}종목 REST 보정", feed.exchange(), gaps.size());
+                    feed.restFallback(gaps, store);
+                } catch (Exception e) {
+                    log.warn("[MARKETDATA] {} REST 보정 실패: {}", feed.exchange(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        synchronized (this) {
+            for (WebSocketFeedConnection connection : connections) {
+                Map<String, Object> m = connection.stats();
+                AtomicLong n = fallbacks.get(connection.feed().exchange());
+                m.put("rest_fallbacks", n == null ? 0L : n.get());
+                result.put(connection.feed().exchange(), m);
+            }
+        }
+        result.put("quotes", store.size());
+        return result;
+    }
+}
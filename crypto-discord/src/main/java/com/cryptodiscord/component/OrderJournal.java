@@ -0,0 +1,311 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.dto.BithumbOrder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+// 로컬 주문 저널 (append-only 세그먼트 파일 + 메모리 인덱스)
+// - 파일: [int 길이][byte 타입][본문] 레코드의 연속. 기동 시 mmap 으로 순차 재생해 인덱스를 복구
+// - 같은 uuid 가 다시 기록되면(상태 변경) 마지막 기록이 유효
+// - 인덱스: 사용자별 uuid / market / state, 각 인덱스는 created_at 내림차순 정렬
+@Component
+public class OrderJournal {
+    private static final Logger log = LoggerFactory.getLogger(OrderJournal.class);
+    private static final byte TYPE_ORDER = 1;
+    private static final byte TYPE_BACKFILL_DONE = 2;
+
+    public record Entry(BithumbOrder order, long createdAtMillis) {}
+
+    // created_at 내림차순, 같은 시각은 uuid 순 (범위 검색용 경계값은 order 가 null 이라 같은 시각의 맨 앞)
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparingLong(Entry::createdAtMillis).reversed()
+            .thenComparing(e -> e.order() == null ? null : e.order().uuid(),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // 사용자 1명의 인덱스 (읽기/쓰기 모두 이 객체로 동기화)
+    private static final class UserOrders {
+        final Map<String, Entry> byUuid = new HashMap<>();
+        final Map<String, NavigableSet<Entry>> byMarket = new HashMap<>();
+        final Map<String, NavigableSet<Entry>> byState = new HashMap<>();
+        final NavigableSet<Entry> all = new TreeSet<>(NEWEST_FIRST);
+        final Set<String> backfilledStates = new HashSet<>();
+        // 기록이 바뀔 때마다 증가 (응답 재사용 판단용)
+        volatile long version;
+
+        void put(Entry e) {
+            Entry old = byUuid.put(e.order().uuid(), e);
+            if (old != null) {
+                all.remove(old);
+                index(byMarket, old.order().market()).remove(old);
+                index(byState, old.order().state()).remove(old);
+            }
+            all.add(e);
+            index(byMarket, e.order().market()).add(e);
+            index(byState, e.order().state()).add(e);
+            version++;
+        }
+
+        static NavigableSet<Entry> index(Map<String, NavigableSet<Entry>> map, String key) {
+            return map.computeIfAbsent(key == null ? "" : key, k -> new TreeSet<>(NEWEST_FIRST));
+        }
+    }
+
+    private final Path file;
+    private final Map<String, UserOrders> users = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, BithumbOrder>> listeners = new CopyOnWriteArrayList<>();
+    private FileChannel channel;
+
+    public OrderJournal(@Value("${crypto.journal.dir:data}") String dir) {
+        this.file = Paths.get(dir, "orders.journal");
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(file.getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long valid = replay();
+        if (valid < channel.size()) {
+            // 비정상 종료로 잘린 마지막 레코드 제거
+            log.warn("[JOURNAL] 손상된 꼬리 {}바이트 제거", channel.size() - valid);
+            channel.truncate(valid);
+        }
+        channel.position(valid);
+        log.info("[JOURNAL] {} 로드 완료: 사용자 {}명, {}바이트", file, users.size(), valid);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    // 주문 기록 (이미 같은 내용이 있으면 기록하지 않음), 새로 기록된 건수 반환
+    public int append(String discordId, List<BithumbOrder> orders) throws IOException {
+        UserOrders u = user(discordId);
+        int written = 0;
+        synchronized (u) {
+            for (BithumbOrder order : orders) {
+                if (order.uuid() == null) continue;
+                Entry existing = u.byUuid.get(order.uuid());
+                if (existing != null && existing.order().equals(order)) continue;
+                write(TYPE_ORDER, encodeOrder(discordId, order));
+                u.put(new Entry(order, epochMillis(order.createdAt())));
+                written++;
+                for (BiConsumer<String, BithumbOrder> listener : listeners) listener.accept(discordId, order);
+            }
+        }
+        return written;
+    }
+
+    public void markBackfilled(String discordId, String state) throws IOException {
+        UserOrders u = user(discordId);
+        synchronized (u) {
+            if (!u.backfilledStates.add(state)) return;
+            ByteBuffer buf = ByteBuffer.allocate(256);
+            putString(buf, discordId);
+            putString(buf, state);
+            buf.flip();
+            write(TYPE_BACKFILL_DONE, buf);
+        }
+    }
+
+    public boolean isBackfilled(String discordId, String state) {
+        UserOrders u = users.get(discordId);
+        if (u == null) return false;
+        synchronized (u) {
+            return u.backfilledStates.contains(state);
+        }
+    }
+
+    public boolean contains(String discordId, BithumbOrder order) {
+        UserOrders u = users.get(discordId);
+        if (u == null) return false;
+        synchronized (u) {
+            Entry e = u.byUuid.get(order.uuid());
+            return e != null && e.order().equals(order);
+        }
+    }
+
+    // 새로 기록(신규/상태 변경)된 주문 통지, 사용자 락 안에서 호출되므로 리스너는 가볍게 유지
+    public void addListener(BiConsumer<String, BithumbOrder> listener) {
+        listeners.add(listener);
+    }
+
+    // 사용자의 전체 주문, created_at 오름차순 (과거 → 최신)
+    public List<BithumbOrder> all(String discordId) {
+        UserOrders u = users.get(discordId);
+        if (u == null) return List.of();
+        synchronized (u) {
+            List<BithumbOrder> result = new ArrayList<>(u.all.size());
+            u.all.descendingIterator().forEachRemaining(e -> result.add(e.order()));
+            return result;
+        }
+    }
+
+    // 사용자 주문 기록 버전 (같으면 query 결과도 같음)
+    public long version(String discordId) {
+        UserOrders u = users.get(discordId);
+        return u == null ? 0 : u.version;
+    }
+
+    public Set<String> users() {
+        return users.keySet();
+    }
+
+    // market/state 가 null 이면 전체, from/to 는 created_at(ms) 범위 [from, to], page 는 1부터
+    public List<BithumbOrder> query(String discordId, String market, String state,
+                                    Long fromMillis, Long toMillis, int page, int limit) {
+        UserOrders u = users.get(discordId);
+        if (u == null) return List.of();
+        synchronized (u) {
+            // 더 작은 인덱스를 골라 순회하고 나머지 조건은 필터로 확인
+            NavigableSet<Entry> base = u.all;
+            if (market != null) base = u.byMarket.getOrDefault(market, Collections.emptyNavigableSet());
+            if (state != null) {
+                NavigableSet<Entry> byState = u.byState.getOrDefault(state, Collections.emptyNavigableSet());
+                if (market == null || byState.size() < base.size()) base = byState;
+            }
+            // 내림차순이므로 to(최신) → from(과거) 방향
+            NavigableSet<Entry> range = toMillis != null ? base.tailSet(new Entry(null, toMillis), true) : base;
+            if (fromMillis != null && fromMillis > Long.MIN_VALUE) {
+                range = range.headSet(new Entry(null, fromMillis - 1), false);
+            }
+
+            int skip = Math.max(0, page - 1) * limit;
+            List<BithumbOrder> result = new ArrayList<>(Math.min(limit, 100));
+            for (Entry e : range) {
+                if (market != null && !market.equals(e.order().market())) continue;
+                if (state != null && !state.equals(e.order().state())) continue;
+                if (skip > 0) { skip--; continue; }
+                result.add(e.order());
+                if (result.size() >= limit) break;
+            }
+            return result;
+        }
+    }
+
+    private UserOrders user(String discordId) {
+        return users.computeIfAbsent(discordId, id -> new UserOrders());
+    }
+
+    // ---- 파일 포맷 ----
+
+    private synchronized void write(byte type, ByteBuffer body) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(5);
+        header.putInt(body.remaining() + 1).put(type).flip();
+        ByteBuffer[] buffers = {header, body};
+        while (body.hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    private long replay() throws IOException {
+        long size = channel.size();
+        if (size == 0) return 0;
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        long valid = 0;
+        while (map.remaining() >= 4) {
+            int len = map.getInt();
+            if (len <= 0 || len > map.remaining()) break;
+            ByteBuffer record = map.slice(map.position(), len);
+            map.position(map.position() + len);
+            try {
+                byte type = record.get();
+                if (type == TYPE_ORDER) {
+                    String discordId = getString(record);
+                    BithumbOrder order = decodeOrder(record);
+                    user(discordId).put(new Entry(order, epochMillis(order.createdAt())));
+                } else if (type == TYPE_BACKFILL_DONE) {
+                    user(getString(record)).backfilledStates.add(getString(record));
+                }
+            } catch (RuntimeException e) {
+                break;
+            }
+            valid = map.position();
+        }
+        return valid;
+    }
+
+    private static ByteBuffer encodeOrder(String discordId, BithumbOrder o) {
+        ByteBuffer buf = ByteBuffer.allocate(1024);
+        putString(buf, discordId);
+        putString(buf, o.uuid());
+        putString(buf, o.side());
+        putString(buf, o.ordType());
+        putDecimal(buf, o.price());
+        putString(buf, o.state());
+        putString(buf, o.market());
+        putString(buf, o.createdAt());
+        putDecimal(buf, o.volume());
+        putDecimal(buf, o.remainingVolume());
+        putDecimal(buf, o.executedVolume());
+        putDecimal(buf, o.reservedFee());
+        putDecimal(buf, o.remainingFee());
+        putDecimal(buf, o.paidFee());
+        putDecimal(buf, o.locked());
+        buf.putInt(o.tradesCount());
+        return buf.flip();
+    }
+
+    private static BithumbOrder decodeOrder(ByteBuffer b) {
+        return new BithumbOrder(getString(b), getString(b), getString(b), getDecimal(b), getString(b),
+                getString(b), getString(b), getDecimal(b), getDecimal(b), getDecimal(b), getDecimal(b),
+                getDecimal(b), getDecimal(b), getDecimal(b), b.getInt());
+    }
+
+    // 문자열: [short 길이(-1 = null)][UTF-8], 숫자는 toPlainString 으로 스케일 보존
+    private static void putString(ByteBuffer buf, String s) {
+        if (s == null) {
+            buf.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        buf.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        short len = buf.getShort();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putDecimal(ByteBuffer buf, BigDecimal v) {
+        putString(buf, v == null ? null : v.toPlainString());
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buf) {
+        String s = getString(buf);
+        return s == null ? null : new BigDecimal(s);
+    }
+
+    private static long epochMillis(String createdAt) {
+        if (createdAt == null) return 0L;
+        try {
+            return OffsetDateTime.parse(createdAt).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.cryptodiscord.component;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 거래소 호출 스케줄러: 거래소 × 엔드포인트 종류(public/private)별 토큰 버킷으로 초당 호출 수 제한
+// - 토큰이 없으면 바로 실패하지 않고 제한 시간까지 대기열에서 기다림
+// - 대기열은 사용자 요청(INTERACTIVE)이 백그라운드 갱신(BACKGROUND)보다 먼저
+// - 모든 거래소 호출이 여기를 지나므로 호출 시간(exchange.requests)과 토큰 대기 시간(exchange.ratelimit.wait)도 여기서 기록
+@Component
+public class OutboundRequestScheduler {
+
+    public enum Endpoint { PUBLIC, PRIVATE }
+
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    // 대기 시간 안에 토큰을 얻지 못한 경우
+    public static class RateLimitTimeoutException extends RuntimeException {
+        public RateLimitTimeoutException(String lane, long waitedMs) {
+            super(lane + " 호출 한도 대기 시간 초과 (" + waitedMs + "ms)");
+        }
+    }
+
+    private static final ThreadLocal<Priority> PRIORITY = ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+
+    private final Environment env;
+    private final MeterRegistry meterRegistry;
+    private final long interactiveMaxWaitMs;
+    private final long backgroundMaxWaitMs;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public OutboundRequestScheduler(Environment env, MeterRegistry meterRegistry,
+                                    @Value("${crypto.ratelimit.max-wait-ms:3000}") long interactiveMaxWaitMs,
+                                    @Value("${crypto.ratelimit.background-max-wait-ms:30000}") long backgroundMaxWaitMs) {
+        this.env = env;
+        this.meterRegistry = meterRegistry;
+        this.interactiveMaxWaitMs = interactiveMaxWaitMs;
+        this.backgroundMaxWaitMs = backgroundMaxWaitMs;
+    }
+
+    // 토큰을 얻은 뒤 call 실행
+    public <T> T execute(String exchange, Endpoint endpoint, Callable<T> call) throws Exception {
+        return execute(exchange, endpoint, "other", call);
+    }
+
+    // operation: 메트릭 태그용 호출 이름 (orders, accounts, ticker ...)
+    public <T> T execute(String exchange, Endpoint endpoint, String operation, Callable<T> call) throws Exception {
+        lane(exchange, endpoint).acquire(PRIORITY.get());
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            timer(exchange, operation, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 이 안에서 발생하는 거래소 호출은 BACKGROUND 우선순위로 처리 (스케줄러/동기화 작업용)
+    public void runInBackground(ThrowingRunnable task) throws Exception {
+        Priority previous = PRIORITY.get();
+        PRIORITY.set(Priority.BACKGROUND);
+        try {
+            task.run();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+
+    // 다른 스레드풀로 넘기는 작업이 현재 스레드의 우선순위를 그대로 쓰도록 감쌈 (거래소 동시 조회 등)
+    public <T> Callable<T> inheritPriority(Callable<T> task) {
+        Priority priority = PRIORITY.get();
+        return () -> callAs(priority, task);
+    }
+
+    // 다른 스레드에서 호출할 때 원래 요청의 우선순위를 이어받음 (헤지 요청 등)
+    Priority currentPriority() {
+        return PRIORITY.get();
+    }
+
+    <T> T callAs(Priority priority, Callable<T> task) throws Exception {
+        Priority previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return task.call();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+
+    // 모니터링용: 레인별 대기열 길이 / 처리 건수 / 대기 시간
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        lanes.forEach((name, lane) -> result.put(name, lane.stats()));
+        return result;
+    }
+
+    private Lane lane(String exchange, Endpoint endpoint) {
+        String name = exchange + "." + endpoint.name().toLowerCase();
+        return lanes.computeIfAbsent(name, n -> {
+            // crypto.ratelimit.<거래소>.<public|private>.capacity / period-ms (기본값은 거래소 공개 한도)
+            long[] defaults = defaultLimit(exchange, endpoint);
+            long capacity = env.getProperty("crypto.ratelimit." + n + ".capacity", Long.class, defaults[0]);
+            long periodMs = env.getProperty("crypto.ratelimit." + n + ".period-ms", Long.class, defaults[1]);
+            return new Lane(n, capacity, periodMs);
+        });
+    }
+
+    private Timer timer(String exchange, String operation, String outcome) {
+        return Timer.builder("exchange.requests")
+                .description("거래소 API 호출 시간 (토큰 대기 제외)")
+                .tag("exchange", exchange)
+                .tag("endpoint", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // {capacity, periodMs}
+    private static long[] defaultLimit(String exchange, Endpoint endpoint) {
+        return switch (exchange) {
+            // 빗썸: Public 초당 150회, Private 초당 140회
+            case "bithumb" -> endpoint == Endpoint.PUBLIC ? new long[]{150, 1000} : new long[]{140, 1000};
+            // Gate.io: Public 10초당 200회(엔드포인트별), Private(spot/wallet) 초당 10회
+            case "gateio" -> endpoint == Endpoint.PUBLIC ? new long[]{200, 10000} : new long[]{10, 1000};
+            default -> new long[]{10, 1000};
+        };
+    }
+
+    private final class Lane {
+        private final String name;
+        private final Bucket bucket;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final PriorityQueue<Waiter> queue = new PriorityQueue<>();
+        private long seq;
+
+        private final AtomicLong acquired = new AtomicLong();
+        private final AtomicLong timeouts = new AtomicLong();
+        private final AtomicLong totalWaitNs = new AtomicLong();
+        private final AtomicLong maxWaitNs = new AtomicLong();
+        private final Timer waitTimer;
+        private final Counter timeoutCounter;
+
+        Lane(String name, long capacity, long periodMs) {
+            this.name = name;
+            this.waitTimer = Timer.builder("exchange.ratelimit.wait")
+                    .description("호출 한도 토큰 대기 시간")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            this.timeoutCounter = Counter.builder("exchange.ratelimit.timeouts")
+                    .description("호출 한도 대기 시간 초과")
+                    .tag("lane", name)
+                    .register(meterRegistry);
+            this.bucket = Bucket.builder()
+                    .addLimit(Bandwidth.builder().capacity(capacity)
+                            .refillGreedy(capacity, Duration.ofMillis(periodMs)).build())
+                    .build();
+        }
+
+        void acquire(Priority priority) throws InterruptedException {
+            long start = System.nanoTime();
+            long maxWaitMs = priority == Priority.INTERACTIVE ? interactiveMaxWaitMs : backgroundMaxWaitMs;
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+
+            lock.lock();
+            Waiter me = new Waiter(priority, seq++);
+            queue.add(me);
+            // 새 대기자가 맨 앞이 될 수 있으므로 기존 대기자도 다시 확인
+            changed.signalAll();
+            try {
+                while (true) {
+                    if (queue.peek() == me) {
+                        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+                        if (probe.isConsumed()) {
+                            queue.poll();
+                            changed.signalAll();
+                            record(System.nanoTime() - start);
+                            return;
+                        }
+                        long remaining = deadline - System.nanoTime();
+                        if (probe.getNanosToWaitForRefill() > remaining) break;
+                        changed.awaitNanos(probe.getNanosToWaitForRefill());
+                    } else {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) break;
+                        changed.awaitNanos(remaining);
+                    }
+                }
+                // 시간 초과: 대기열에서 빠지고 다음 대기자를 깨움
+                queue.remove(me);
+                changed.signalAll();
+                timeouts.incrementAndGet();
+                timeoutCounter.increment();
+                throw new RateLimitTimeoutException(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (InterruptedException e) {
+                queue.remove(me);
+                changed.signalAll();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void record(long waitedNs) {
+            acquired.incrementAndGet();
+            totalWaitNs.addAndGet(waitedNs);
+            maxWaitNs.accumulateAndGet(waitedNs, Math::max);
+            waitTimer.record(waitedNs, TimeUnit.NANOSECONDS);
+        }
+
+        Map<String, Object> stats() {
+            int depth;
+            lock.lock();
+            try {
+                depth = queue.size();
+            } finally {
+                lock.unlock();
+            }
+            long count = acquired.get();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("queue_depth", depth);
+            m.put("available_tokens", bucket.getAvailableTokens());
+            m.put("acquired", count);
+            m.put("timeouts", timeouts.get());
+            m.put("avg_wait_ms", count == 0 ? 0.0 : totalWaitNs.get() / 1e6 / count);
+            m.put("max_wait_ms", maxWaitNs.get() / 1e6);
+            return m;
+        }
+    }
+
+    // 우선순위 → 도착 순서
+    private record Waiter(Priority priority, long seq) implements Comparable<Waiter> {
+        @Override
+        public int compareTo(Waiter o) {
+            int c = priority.compareTo(o.priority);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.cryptodiscord.component;
+
+// 한 사용자 × 한 마켓의 손익 장부 (체결 1건마다 O(1) 갱신, FIFO 매도는 소진한 로트 수만큼)
+// - 이동평균법: 보유 수량 / 평균단가 / 실현손익
+// - 선입선출(FIFO): 남은 매수 로트를 원시 배열 [head, tail) 에 보관, 남은 원가 합을 함께 유지
+// - 가격은 모두 호가 통화(KRW-BTC 면 KRW) 기준, 수수료는 손익과 별도로 누적
+// - 동기화는 호출하는 쪽에서 (사용자 단위 락)
+public final class PnlBook {
+    private static final double DUST = 1e-12;
+
+    private double position;
+    private double avgCost;
+    private double realizedAvg;
+
+    private double[] lotQty = new double[8];
+    private double[] lotPrice = new double[8];
+    private int head;
+    private int tail;
+    private double fifoCost;
+    private double realizedFifo;
+
+    private double fees;
+    private double unmatchedQty;
+    private long fills;
+
+    public void buy(double qty, double price, double fee) {
+        if (qty <= 0) return;
+        avgCost = (position * avgCost + qty * price) / (position + qty);
+        position += qty;
+
+        if (tail == lotQty.length) growLots();
+        lotQty[tail] = qty;
+        lotPrice[tail] = price;
+        tail++;
+        fifoCost += qty * price;
+
+        fees += fee;
+        fills++;
+    }
+
+    public void sell(double qty, double price, double fee) {
+        if (qty <= 0) return;
+        // 매수 기록 없는 수량(입금분 등)은 원가를 알 수 없어 손익에서 제외
+        double matched = Math.min(qty, position);
+        unmatchedQty += qty - matched;
+
+        realizedAvg += matched * (price - avgCost);
+        position -= matched;
+
+        double remaining = matched;
+        while (remaining > DUST && head < tail) {
+            double take = Math.min(remaining, lotQty[head]);
+            realizedFifo += take * (price - lotPrice[head]);
+            fifoCost -= take * lotPrice[head];
+            lotQty[head] -= take;
+            remaining -= take;
+            if (lotQty[head] <= DUST) head++;
+        }
+
+        if (position <= DUST) {
+            position = 0;
+            avgCost = 0;
+            head = tail = 0;
+            fifoCost = 0;
+        }
+        fees += fee;
+        fills++;
+    }
+
+    public double position() {
+        return position;
+    }
+
+    public double avgCost() {
+        return avgCost;
+    }
+
+    // 남은 FIFO 로트의 평균 원가
+    public double fifoAvgCost() {
+        return position > 0 ? fifoCost / position : 0;
+    }
+
+    public double realized(boolean fifo) {
+        return fifo ? realizedFifo : realizedAvg;
+    }
+
+    // 평가손익: 시세 1회 조회로 O(1)
+    public double unrealized(double markPrice, boolean fifo) {
+        return position * markPrice - (fifo ? fifoCost : position * avgCost);
+    }
+
+    public double fees() {
+        return fees;
+    }
+
+    public double unmatchedQty() {
+        return unmatchedQty;
+    }
+
+    public long fills() {
+        return fills;
+    }
+
+    public int openLots() {
+        return tail - head;
+    }
+
+    // 앞쪽이 비었으면 당겨 쓰고, 아니면 2배로 확장
+    private void growLots() {
+        int live = tail - head;
+        if (head > 0 && live < lotQty.length / 2) {
+            System.arraycopy(lotQty, head, lotQty, 0, live);
+            System.arraycopy(lotPrice, head, lotPrice, 0, live);
+        } else {
+            double[] q = new double[lotQty.length * 2];
+            double[] p = new double[lotPrice.length * 2];
+            System.arraycopy(lotQty, head, q, 0, live);
+            System.arraycopy(lotPrice, head, p, 0, live);
+            lotQty = q;
+            lotPrice = p;
+        }
+        head = 0;
+        tail = live;
+    }
+}
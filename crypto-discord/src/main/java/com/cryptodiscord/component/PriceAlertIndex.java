@@ -0,0 +1,93 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.dto.PriceAlert;
+
+import java.util.*;
+
+// 심볼별 임계값 정렬 인덱스
+// - above: 가격 >= 임계값이면 발동, below: 가격 <= 임계값이면 발동
+// - 시세 1건마다 넘어선 구간(headMap/tailMap)만 꺼내므로 O(log n + 발동 건수)
+// - 발동한 알림은 인덱스에서 제거 (percent 는 반대 방향 임계값도 함께 제거)
+public class PriceAlertIndex {
+
+    private static final class SymbolIndex {
+        final TreeMap<Double, List<PriceAlert>> above = new TreeMap<>();
+        final TreeMap<Double, List<PriceAlert>> below = new TreeMap<>();
+
+        boolean isEmpty() {
+            return above.isEmpty() && below.isEmpty();
+        }
+    }
+
+    private final Map<String, SymbolIndex> bySymbol = new HashMap<>();
+    private final Map<Long, PriceAlert> byId = new HashMap<>();
+    private final Map<String, Map<Long, PriceAlert>> byUser = new HashMap<>();
+
+    public synchronized void add(PriceAlert alert) {
+        byId.put(alert.id(), alert);
+        byUser.computeIfAbsent(alert.discord_id(), k -> new TreeMap<>()).put(alert.id(), alert);
+        SymbolIndex ix = bySymbol.computeIfAbsent(alert.symbol(), s -> new SymbolIndex());
+        if (alert.upper() != null) ix.above.computeIfAbsent(alert.upper(), k -> new ArrayList<>(1)).add(alert);
+        if (alert.lower() != null) ix.below.computeIfAbsent(alert.lower(), k -> new ArrayList<>(1)).add(alert);
+    }
+
+    public synchronized PriceAlert remove(long id) {
+        PriceAlert alert = byId.remove(id);
+        if (alert == null) return null;
+        Map<Long, PriceAlert> mine = byUser.get(alert.discord_id());
+        if (mine != null) {
+            mine.remove(id);
+            if (mine.isEmpty()) byUser.remove(alert.discord_id());
+        }
+        SymbolIndex ix = bySymbol.get(alert.symbol());
+        if (ix != null) {
+            if (alert.upper() != null) removeFrom(ix.above, alert.upper(), alert);
+            if (alert.lower() != null) removeFrom(ix.below, alert.lower(), alert);
+            if (ix.isEmpty()) bySymbol.remove(alert.symbol());
+        }
+        return alert;
+    }
+
+    // price 에 의해 넘어선 알림을 꺼내서 반환 (인덱스에서 제거됨)
+    public synchronized List<PriceAlert> crossed(String symbol, double price) {
+        SymbolIndex ix = bySymbol.get(symbol);
+        if (ix == null) return List.of();
+        List<PriceAlert> fired = new ArrayList<>();
+        NavigableMap<Double, List<PriceAlert>> up = ix.above.headMap(price, true);
+        NavigableMap<Double, List<PriceAlert>> down = ix.below.tailMap(price, true);
+        if (up.isEmpty() && down.isEmpty()) return List.of();
+        up.values().forEach(fired::addAll);
+        down.values().forEach(fired::addAll);
+        for (PriceAlert alert : fired) remove(alert.id());
+        return fired;
+    }
+
+    public synchronized Set<String> symbols() {
+        return new HashSet<>(bySymbol.keySet());
+    }
+
+    public synchronized List<PriceAlert> forUser(String discordId) {
+        Map<Long, PriceAlert> mine = byUser.get(discordId);
+        return mine == null ? List.of() : new ArrayList<>(mine.values());
+    }
+
+    public synchronized List<PriceAlert> all() {
+        return new ArrayList<>(byId.values());
+    }
+
+    public synchronized int countForUser(String discordId) {
+        Map<Long, PriceAlert> mine = byUser.get(discordId);
+        return mine == null ? 0 : mine.size();
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private static void removeFrom(TreeMap<Double, List<PriceAlert>> map, Double key, PriceAlert alert) {
+        List<PriceAlert> list = map.get(key);
+        if (list == null) return;
+        list.removeIf(a -> a.id() == alert.id());
+        if (list.isEmpty()) map.remove(key);
+    }
+}
@@ -0,0 +1,173 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.dto.BithumbTicker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// 빗썸 전체 KRW 마켓 시세 스냅샷 (/public/ticker/ALL_KRW 1회 호출로 전 종목 가격 보관)
+@Component
+public class PriceSnapshotCache {
+    private static final Logger log = LoggerFactory.getLogger(PriceSnapshotCache.class);
+
+    // currency(BTC, ETH ...) → KRW 종가, fetchedAt: 스냅샷 수신 시각(ms)
+    public record Snapshot(Map<String, Double> krwPrices, long fetchedAt) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), 0L);
+
+        public double price(String currency) {
+            if ("KRW".equalsIgnoreCase(currency)) return 1;
+            Double p = krwPrices.get(currency.toUpperCase());
+            return p != null ? p : 0.0;
+        }
+
+        public boolean contains(String currency) {
+            return krwPrices.containsKey(currency.toUpperCase());
+        }
+
+        public long ageMillis() {
+            return fetchedAt == 0L ? -1L : System.currentTimeMillis() - fetchedAt;
+        }
+    }
+
+    private final RestTemplate restTemplate;
+    private final BithumbResponseParser parser;
+    private final OutboundRequestScheduler scheduler;
+    private final ResilientCaller resilientCaller;
+    private final long ttlMs;
+    private final String allKrwUrl;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+    // 거래소 호출은 한 번에 1건 (주기 갱신 / 만료 시 재검증 / 최초 로드 공통)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+    private final ExecutorService revalidator = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ticker-revalidate");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public PriceSnapshotCache(RestTemplate restTemplate, BithumbResponseParser parser,
+                              OutboundRequestScheduler scheduler, ResilientCaller resilientCaller,
+                              @Value("${crypto.ticker.ttl-ms:5000}") long ttlMs,
+                              @Value("${crypto.exchange.bithumb.base-url:https://api.bithumb.com}") String bithumbBaseUrl) {
+        this.restTemplate = restTemplate;
+        this.parser = parser;
+        this.scheduler = scheduler;
+        this.resilientCaller = resilientCaller;
+        this.ttlMs = ttlMs;
+        this.allKrwUrl = bithumbBaseUrl + "/public/ticker/ALL_KRW";
+    }
+
+    // TTL 이내면 메모리 스냅샷 그대로
+    // 만료됐으면 기존 스냅샷을 바로 돌려주고 갱신은 뒤에서 1건만 (빗썸이 느려도 요청이 줄 서지 않음)
+    // 스냅샷이 아직 하나도 없을 때(기동 직후)만 갱신을 기다림
+    public Snapshot current() {
+        Snapshot s = snapshot;
+        if (System.currentTimeMillis() - s.fetchedAt() <= ttlMs) return s;
+        if (s != Snapshot.EMPTY) {
+            revalidate();
+            return s;
+        }
+        refreshLock.lock();
+        try {
+            if (snapshot == Snapshot.EMPTY) refresh();
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revalidator.shutdownNow();
+    }
+
+    // 새 스냅샷 수신 통지 (갱신 스레드에서 호출되므로 리스너는 가볍게 유지)
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    // 백그라운드 주기 갱신 (요청 경로에서 만료를 거의 만나지 않도록)
+    @Scheduled(fixedDelayString = "${crypto.ticker.refresh-ms:3000}")
+    public void scheduledRefresh() throws Exception {
+        scheduler.runInBackground(() -> {
+            refreshLock.lock();
+            try {
+                refresh();
+            } finally {
+                refreshLock.unlock();
+            }
+        });
+    }
+
+    // 진행 중인 갱신이 있으면(주기 갱신 포함) 새로 부르지 않음
+    private void revalidate() {
+        if (!revalidating.compareAndSet(false, true)) return;
+        try {
+            revalidator.execute(() -> {
+                try {
+                    if (!refreshLock.tryLock()) return;
+                    try {
+                        if (System.currentTimeMillis() - snapshot.fetchedAt() > ttlMs) {
+                            scheduler.runInBackground(this::refresh);
+                        }
+                    } finally {
+                        refreshLock.unlock();
+                    }
+                } catch (Exception e) {
+                    log.warn("[TICKER] 재검증 실패: {}", e.getMessage());
+                } finally {
+                    revalidating.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            // 종료 중 (executor 거부)
+            revalidating.set(false);
+        }
+    }
+
+    private void refresh() {
+        try {
+            List<BithumbTicker> tickers = resilientCaller.call("bithumb", OutboundRequestScheduler.Endpoint.PUBLIC, "ticker_all_krw", true,
+                    () -> restTemplate.execute(allKrwUrl, HttpMethod.GET, null,
+                            response -> parser.parseAllTickers(response.getBody())));
+            if (tickers == null || tickers.isEmpty()) {
+                log.warn("[TICKER] ALL_KRW 응답에 시세가 없습니다.");
+                return;
+            }
+            Map<String, Double> prices = new HashMap<>(tickers.size() * 2);
+            for (BithumbTicker t : tickers) {
+                prices.put(t.currency(), t.closingPrice());
+            }
+            Snapshot next = new Snapshot(Collections.unmodifiableMap(prices), System.currentTimeMillis());
+            snapshot = next;
+            log.debug("[TICKER] 스냅샷 갱신: {}종목", prices.size());
+            for (Consumer<Snapshot> listener : listeners) {
+                try {
+                    listener.accept(next);
+                } catch (RuntimeException e) {
+                    log.warn("[TICKER] 스냅샷 리스너 오류: {}", e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            // 갱신 실패 시 이전 스냅샷 유지 (ageMillis 로 오래된 가격임을 알 수 있음)
+            log.warn("[TICKER] ALL_KRW 갱신 실패: {}", e.getMessage());
+        }
+    }
+}
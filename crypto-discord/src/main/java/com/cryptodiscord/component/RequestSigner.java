@@ -0,0 +1,196 @@
+package com.cryptodiscord.component;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+
+// 요청 서명/검증 유틸
+// - 키마다 JWT Algorithm 을 1번만 생성해 재사용 (서명 시 Mac.getInstance 없이 풀에서 꺼낸 Mac 사용)
+// - 키 캐시는 소유자(discordId) 또는 비밀키 지문(SHA-256)으로 찾고, 개수 상한을 넘으면 오래 안 쓴 키부터 버림
+// - 같은 소유자의 비밀키가 바뀌면 이전 키는 바로 교체, 키 삭제/변경 통지 시 forget 으로 제거
+// - MessageDigest 는 스레드마다 1개씩 재사용 (인스턴스 자체는 thread-safe 하지 않음)
+// - hex 인코딩은 BigInteger / String.format 없이 테이블로 처리
+@Component
+public class RequestSigner {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    static final int MAX_KEYS = 1024;
+    // 키마다 보관할 Mac 수 (동시 서명이 더 많으면 그때만 새로 만들고 돌려줄 때 버림)
+    private static final int MACS_PER_KEY = 4;
+
+    // 접근 순서 LRU, 조회/교체가 짧아서 전체 동기화로 충분
+    private final Map<String, SigningKey> keys = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SigningKey> eldest) {
+            return size() > MAX_KEYS;
+        }
+    };
+    private final ThreadLocal<MessageDigest> sha512 = digest("SHA-512");
+    private final ThreadLocal<MessageDigest> sha256 = digest("SHA-256");
+
+    // 빗썸 JWT 서명용 (HS256), 소유자 없이 쓰면 비밀키 지문으로 캐시
+    public Algorithm jwtAlgorithm(String secret) {
+        return key(fingerprint(secret), secret).jwt;
+    }
+
+    // 사용자 키 서명용: 소유자마다 최신 비밀키 1개만 보관
+    public Algorithm jwtAlgorithm(String owner, String secret) {
+        return key(owner, secret).jwt;
+    }
+
+    // 키 변경/삭제 통지 (UserApiKeys 리스너)
+    public void forget(String owner) {
+        synchronized (keys) {
+            keys.remove(owner);
+        }
+    }
+
+    int cachedKeys() {
+        synchronized (keys) {
+            return keys.size();
+        }
+    }
+
+    // 빗썸 query_hash (SHA-512, 128자리 hex)
+    public String sha512Hex(String data) {
+        MessageDigest md = sha512.get();
+        md.reset();
+        return toHex(md.digest(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public String hmacSha256Hex(String secret, String data) {
+        return toHex(hmacSha256(secret, data));
+    }
+
+    // 봇 서명 검증: 제출된 hex 를 바이트로 되돌려 상수 시간 비교 (대소문자 무관)
+    public boolean verifyHmacSha256Hex(String secret, String data, String submittedHex) {
+        byte[] submitted = fromHex(submittedHex);
+        if (submitted == null) return false;
+        return MessageDigest.isEqual(hmacSha256(secret, data), submitted);
+    }
+
+    private byte[] hmacSha256(String secret, String data) {
+        return key(fingerprint(secret), secret).sign(null, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 캐시 키는 평문 비밀키가 아니라 소유자 또는 지문, 비밀키가 달라졌으면 새 키로 교체
+    private SigningKey key(String owner, String secret) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        synchronized (keys) {
+            SigningKey key = keys.get(owner);
+            if (key != null && MessageDigest.isEqual(key.secret, secretBytes)) return key;
+            key = new SigningKey(secretBytes);
+            keys.put(owner, key);
+            return key;
+        }
+    }
+
+    private String fingerprint(String secret) {
+        MessageDigest md = sha256.get();
+        md.reset();
+        return "sha256:" + toHex(md.digest(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ThreadLocal<MessageDigest> digest(String algorithm) {
+        return ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // 비밀키 1개의 서명 상태: Mac 풀 + JWT Algorithm (캐시에서 빠지면 함께 GC)
+    private static final class SigningKey {
+        private final byte[] secret;
+        private final ArrayBlockingQueue<Mac> macs = new ArrayBlockingQueue<>(MACS_PER_KEY);
+        private final Algorithm jwt = new CachedHmac256(this);
+
+        private SigningKey(byte[] secret) {
+            this.secret = secret;
+        }
+
+        // head 가 있으면 JWT 서명 입력(head + '.' + body)
+        private byte[] sign(byte[] head, byte[] body) {
+            Mac mac = macs.poll();
+            if (mac == null) mac = newMac(secret);
+            if (head != null) {
+                mac.update(head);
+                mac.update((byte) '.');
+            }
+            byte[] out = mac.doFinal(body);
+            // 도중에 실패한 Mac 은 상태가 남을 수 있으므로 성공한 것만 반납
+            macs.offer(mac);
+            return out;
+        }
+
+        private static Mac newMac(byte[] secret) {
+            try {
+                Mac mac = Mac.getInstance(HMAC_SHA256);
+                mac.init(new SecretKeySpec(secret, HMAC_SHA256));
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // java-jwt 의 HMAC256 은 sign 할 때마다 Mac.getInstance + init 을 하므로 풀에 둔 Mac 으로 대체
+    private static final class CachedHmac256 extends Algorithm {
+        private final SigningKey key;
+
+        private CachedHmac256(SigningKey key) {
+            super("HS256", HMAC_SHA256);
+            this.key = key;
+        }
+
+        @Override
+        public void verify(DecodedJWT jwt) {
+            Algorithm.HMAC256(key.secret).verify(jwt);
+        }
+
+        @Override
+        public byte[] sign(byte[] headerBytes, byte[] payloadBytes) {
+            return key.sign(headerBytes, payloadBytes);
+        }
+
+        @Override
+        public byte[] sign(byte[] contentBytes) {
+            return key.sign(null, contentBytes);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        char[] out = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xFF;
+            out[i * 2] = HEX[v >>> 4];
+            out[i * 2 + 1] = HEX[v & 0x0F];
+        }
+        return new String(out);
+    }
+
+    private static byte[] fromHex(String hex) {
+        int len = hex.length();
+        if ((len & 1) != 0) return null;
+        byte[] out = new byte[len / 2];
+        for (int i = 0; i < len; i += 2) {
+            int hi = Character.digit(hex.charAt(i), 16);
+            int lo = Character.digit(hex.charAt(i + 1), 16);
+            if (hi < 0 || lo < 0) return null;
+            out[i / 2] = (byte) ((hi << 4) | lo);
+        }
+        return out;
+    }
+}
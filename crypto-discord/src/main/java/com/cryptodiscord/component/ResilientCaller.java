@@ -0,0 +1,258 @@
+package com.cryptodiscord.component;
+
+import io.gate.gateapi.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 거래소 조회 호출 보호 (OutboundRequestScheduler 위에 한 겹)
+// - 전체 제한 시간(timeout-ms): 응답 없는 소켓 하나가 요청 전체를 붙잡지 않도록
+// - 헤지: 첫 요청이 최근 p95(exchange.requests 타이머)를 넘기면 같은 요청을 1번 더 보내고 먼저 온 응답 사용
+//   (조회성 호출에만, 거래소 장애로 바로 실패한 경우도 1번 더 시도)
+// - 회로 차단: (거래소, 엔드포인트)별 연속 장애가 failure-threshold 회면 open-ms 동안 호출 없이 바로 실패,
+//   이후 1건만 시험 호출해 성공하면 복구
+// - 장애로 세는 것: 연결/타임아웃/5xx/429 (키 오류 같은 사용자별 4xx 는 다른 사용자를 막지 않도록 제외)
+@Component
+public class ResilientCaller {
+    private static final Logger log = LoggerFactory.getLogger(ResilientCaller.class);
+
+    // 회로가 열려 있어 호출하지 않은 경우
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String name) {
+            super(name + " 일시 차단 중 (연속 장애)");
+        }
+    }
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final OutboundRequestScheduler scheduler;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+    private final long hedgeDefaultMs;
+    private final long hedgeMinMs;
+    private final int failureThreshold;
+    private final long openMs;
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+    // 블로킹 I/O 라 인터럽트로 바로 끝나지 않는 시도가 있으므로 고정 풀 대신 캐시 풀 (호출 수는 레인 한도가 제한)
+    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger seq = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "exchange-call-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    public ResilientCaller(OutboundRequestScheduler scheduler, MeterRegistry meterRegistry,
+                           @Value("${crypto.resilience.timeout-ms:4000}") long timeoutMs,
+                           @Value("${crypto.resilience.hedge-default-ms:800}") long hedgeDefaultMs,
+                           @Value("${crypto.resilience.hedge-min-ms:50}") long hedgeMinMs,
+                           @Value("${crypto.resilience.failure-threshold:5}") int failureThreshold,
+                           @Value("${crypto.resilience.open-ms:15000}") long openMs) {
+        this.scheduler = scheduler;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+        this.hedgeDefaultMs = hedgeDefaultMs;
+        this.hedgeMinMs = hedgeMinMs;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // hedge: 같은 요청을 두 번 보내도 되는 조회성 호출만 true
+    public <T> T call(String exchange, OutboundRequestScheduler.Endpoint endpoint, String operation, boolean hedge,
+                      Callable<T> call) throws Exception {
+        Breaker breaker = breakers.computeIfAbsent(exchange + "." + operation, n -> new Breaker(n, exchange, operation));
+        breaker.acquire();
+
+        OutboundRequestScheduler.Priority priority = scheduler.currentPriority();
+        Callable<T> attempt = () -> scheduler.callAs(priority, () -> scheduler.execute(exchange, endpoint, operation, call));
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        long hedgeAt = hedge ? start + breaker.hedgeDelayNanos() : Long.MAX_VALUE;
+        attempts.add(completion.submit(attempt));
+        int outstanding = 1;
+        Throwable failure = null;
+        try {
+            while (outstanding > 0) {
+                boolean canHedge = attempts.size() == 1 && hedge;
+                long waitNs = (canHedge ? Math.min(deadline, hedgeAt) : deadline) - System.nanoTime();
+                Future<T> done = completion.poll(Math.max(0L, waitNs), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (canHedge && System.nanoTime() < deadline) {
+                        attempts.add(completion.submit(attempt));
+                        outstanding++;
+                        breaker.hedged();
+                        continue;
+                    }
+                    break;
+                }
+                outstanding--;
+                try {
+                    T value = done.get();
+                    breaker.onSuccess(done != attempts.get(0));
+                    return value;
+                } catch (ExecutionException e) {
+                    failure = e.getCause() != null ? e.getCause() : e;
+                    // 거래소 장애로 바로 실패했으면 헤지 시각을 기다리지 않고 1번 더
+                    if (canHedge && isExchangeFault(failure) && System.nanoTime() < deadline) {
+                        attempts.add(completion.submit(attempt));
+                        outstanding++;
+                        breaker.hedged();
+                    }
+                }
+            }
+            if (outstanding > 0) {
+                failure = new TimeoutException(breaker.name + " 응답 시간 초과 (" + timeoutMs + "ms)");
+            }
+            if (isExchangeFault(failure)) breaker.onFailure(failure);
+            else breaker.onNeutral();
+            if (failure instanceof Exception ex) throw ex;
+            throw new ExecutionException(failure);
+        } finally {
+            for (Future<T> f : attempts) f.cancel(true);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new TreeMap<>();
+        breakers.forEach((name, b) -> result.put(name, b.stats()));
+        return result;
+    }
+
+    static boolean isExchangeFault(Throwable e) {
+        if (e instanceof OutboundRequestScheduler.RateLimitTimeoutException) return false;
+        if (e instanceof HttpStatusCodeException h) {
+            return h.getStatusCode().is5xxServerError() || h.getStatusCode().value() == 429;
+        }
+        if (e instanceof ApiException a) return a.getCode() == 0 || a.getCode() == 429 || a.getCode() >= 500;
+        return e instanceof IOException || e instanceof ResourceAccessException || e instanceof TimeoutException;
+    }
+
+    private final class Breaker {
+        final String name;
+        final String exchange;
+        final String operation;
+        // 아래 상태는 this 로 동기화
+        State state = State.CLOSED;
+        int consecutiveFailures;
+        long openedAt;
+        boolean trialInFlight;
+        long shortCircuits;
+        long hedges;
+        long hedgeWins;
+        // p95 는 타이머 스냅샷 계산 비용이 있어 1초마다만 갱신
+        volatile long hedgeDelayNs = -1;
+        volatile long hedgeDelayAt;
+
+        Breaker(String name, String exchange, String operation) {
+            this.name = name;
+            this.exchange = exchange;
+            this.operation = operation;
+        }
+
+        synchronized void acquire() {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() - openedAt < openMs) {
+                    shortCircuits++;
+                    meterRegistry.counter("exchange.circuit.short_circuits", "exchange", exchange, "endpoint", operation)
+                            .increment();
+                    throw new CircuitOpenException(name);
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN) {
+                // 시험 호출은 1건만, 나머지는 결과가 나올 때까지 바로 실패
+                if (trialInFlight) {
+                    shortCircuits++;
+                    throw new CircuitOpenException(name);
+                }
+                trialInFlight = true;
+            }
+        }
+
+        synchronized void onSuccess(boolean hedgeWon) {
+            if (state != State.CLOSED) log.info("[RESILIENCE] {} 회로 복구", name);
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+            if (hedgeWon) hedgeWins++;
+        }
+
+        synchronized void onFailure(Throwable e) {
+            trialInFlight = false;
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+                log.warn("[RESILIENCE] {} 회로 차단 {}ms (연속 장애 {}회: {})", name, openMs, consecutiveFailures,
+                        e.getMessage());
+            }
+        }
+
+        synchronized void onNeutral() {
+            // 사용자 오류 등은 장애로 세지 않음 (시험 호출이었다면 다음 호출에 다시 기회)
+            trialInFlight = false;
+        }
+
+        synchronized void hedged() {
+            hedges++;
+            meterRegistry.counter("exchange.hedges", "exchange", exchange, "endpoint", operation).increment();
+        }
+
+        long hedgeDelayNanos() {
+            long now = System.currentTimeMillis();
+            long cached = hedgeDelayNs;
+            if (cached >= 0 && now - hedgeDelayAt < 1000) return cached;
+            long delay = TimeUnit.MILLISECONDS.toNanos(hedgeDefaultMs);
+            Timer timer = meterRegistry.find("exchange.requests")
+                    .tags("exchange", exchange, "endpoint", operation, "outcome", "success").timer();
+            if (timer != null && timer.count() >= 20) {
+                for (ValueAtPercentile p : timer.takeSnapshot().percentileValues()) {
+                    if (p.percentile() == 0.95 && p.value() > 0) delay = (long) p.value(TimeUnit.NANOSECONDS);
+                }
+            }
+            delay = Math.max(delay, TimeUnit.MILLISECONDS.toNanos(hedgeMinMs));
+            hedgeDelayNs = delay;
+            hedgeDelayAt = now;
+            return delay;
+        }
+
+        synchronized Map<String, Object> stats() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("state", state.name().toLowerCase());
+            m.put("consecutive_failures", consecutiveFailures);
+            m.put("short_circuits", shortCircuits);
+            m.put("hedges", hedges);
+            m.put("hedge_wins", hedgeWins);
+            m.put("hedge_delay_ms", hedgeDelayNs < 0 ? null : hedgeDelayNs / 1e6);
+            return m;
+        }
+    }
+}
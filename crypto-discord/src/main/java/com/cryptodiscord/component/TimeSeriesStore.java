@@ -0,0 +1,403 @@
+package com.cryptodiscord.component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// 로컬 시계열 저장소 (포트폴리오 가치 / 시세 이력)
+// - 시리즈 1개 = 해상도(1m/1h/1d)별 파일 1개, 파일은 mmap 한 열(column) 배열
+//   [헤더 32B][ts long × N][count long × N][sum double × N][min double × N][max double × N][last double × N]
+// - 해상도별 고정 크기 링 (N = 보존 기간 / 간격, 슬롯 = 버킷 번호 mod N): 오래된 버킷은 덮어써지므로 보존 정책 = 파일 크기
+// - 기록 1건이 세 해상도의 버킷을 함께 갱신 (롤업 작업을 따로 돌리지 않음)
+// - 조회는 구간의 슬롯을 순서대로 읽어 기본형 배열로 반환 (점마다 객체를 만들지 않음)
+@Component
+public class TimeSeriesStore {
+    private static final Logger log = LoggerFactory.getLogger(TimeSeriesStore.class);
+    private static final int MAGIC = 0x43445453; // "CDTS"
+    private static final int FORMAT = 1;
+    private static final int HEADER = 32;
+    private static final int COL_TS = 0, COL_COUNT = 1, COL_SUM = 2, COL_MIN = 3, COL_MAX = 4, COL_LAST = 5;
+    private static final int COLUMNS = 6;
+    private static final long EMPTY = Long.MIN_VALUE;
+    // 파일 이름으로 그대로 쓰므로 허용 문자를 제한 (':' 는 파일 이름에서 '~')
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_.:-]{1,120}");
+
+    public enum Resolution {
+        MINUTE("1m", 60_000L), HOUR("1h", 3_600_000L), DAY("1d", 86_400_000L);
+
+        public final String label;
+        public final long stepMs;
+
+        Resolution(String label, long stepMs) {
+            this.label = label;
+            this.stepMs = stepMs;
+        }
+
+        public static Resolution of(String label) {
+            for (Resolution r : values()) {
+                if (r.label.equalsIgnoreCase(label)) return r;
+            }
+            throw new IllegalArgumentException("지원하지 않는 해상도입니다. (1m, 1h, 1d)");
+        }
+    }
+
+    // 조회 결과: t = 버킷 시작 시각(ms), 나머지는 버킷 안의 집계값 (모두 같은 길이)
+    public record Range(Resolution resolution, long[] t, double[] avg, double[] min, double[] max, double[] last) {
+        public int size() {
+            return t.length;
+        }
+    }
+
+    private final Path dir;
+    private final Map<Resolution, Integer> capacities = new EnumMap<>(Resolution.class);
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public TimeSeriesStore(@Value("${crypto.history.dir:data/history}") String dir,
+                           @Value("${crypto.history.retention.minute-days:7}") int minuteDays,
+                           @Value("${crypto.history.retention.hour-days:180}") int hourDays,
+                           @Value("${crypto.history.retention.day-days:1825}") int dayDays) {
+        this.dir = Paths.get(dir);
+        capacities.put(Resolution.MINUTE, capacity(minuteDays, Resolution.MINUTE));
+        capacities.put(Resolution.HOUR, capacity(hourDays, Resolution.HOUR));
+        capacities.put(Resolution.DAY, capacity(dayDays, Resolution.DAY));
+    }
+
+    private static int capacity(int days, Resolution r) {
+        return (int) Math.max(1, days * 86_400_000L / r.stepMs);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        for (Resolution r : Resolution.values()) Files.createDirectories(dir.resolve(r.label));
+        // 파일은 처음 읽거나 쓸 때 연다
+        log.info("[HISTORY] {} 시리즈 {}개", dir, keys("").size());
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Series s : series.values()) s.close();
+        series.clear();
+    }
+
+    // value 를 at 이 속한 1m/1h/1d 버킷에 반영
+    public void record(String key, long at, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return;
+        Series s = series(key);
+        synchronized (s) {
+            for (Ring ring : s.rings) ring.add(at, value);
+        }
+    }
+
+    // [from, to] 구간 (보존 기간을 넘는 부분은 잘림)
+    public Range query(String key, Resolution resolution, long from, long to) {
+        if (!exists(key)) return new Range(resolution, new long[0], new double[0], new double[0], new double[0], new double[0]);
+        Series s = series(key);
+        synchronized (s) {
+            return s.rings[resolution.ordinal()].scan(from, to, System.currentTimeMillis());
+        }
+    }
+
+    // prefix 로 시작하는 시리즈 이름 (디스크 기준)
+    public Set<String> keys(String prefix) {
+        Set<String> result = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir.resolve(Resolution.DAY.label), "*.ts")) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                String key = name.substring(0, name.length() - 3).replace('~', ':');
+                if (key.startsWith(prefix)) result.add(key);
+            }
+        } catch (IOException e) {
+            log.warn("[HISTORY] 시리즈 목록 조회 실패: {}", e.getMessage());
+        }
+        return result;
+    }
+
+    public long retentionMillis(Resolution resolution) {
+        return capacities.get(resolution) * resolution.stepMs;
+    }
+
+    public Map<String, Object> stats() {
+        long bytes = 0;
+        for (Series s : series.values()) {
+            for (Ring ring : s.rings) bytes += ring.bytes();
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("series_open", series.size());
+        m.put("mapped_bytes", bytes);
+        Map<String, Object> retention = new LinkedHashMap<>();
+        capacities.forEach((r, n) -> retention.put(r.label, Map.of("buckets", n, "days", n * r.stepMs / 86_400_000.0)));
+        m.put("retention", retention);
+        return m;
+    }
+
+    // 가장 긴 보존 기간(1d) 동안 기록이 없는 시리즈는 파일째 삭제
+    // - 열려 있지 않은 시리즈는 1d 파일의 헤더만 읽음 (정리하려고 모든 링을 mmap 하지 않음)
+    // - 판단과 삭제는 series.compute 안에서 (그 사이에 같은 시리즈가 다시 열리지 않도록)
+    @Scheduled(fixedDelayString = "${crypto.history.cleanup-ms:3600000}", initialDelayString = "${crypto.history.cleanup-ms:3600000}")
+    public void cleanup() {
+        long cutoff = System.currentTimeMillis() - retentionMillis(Resolution.DAY);
+        for (String key : keys("")) {
+            if (!KEY.matcher(key).matches()) continue;
+            boolean[] expired = {false};
+            series.compute(key, (k, s) -> {
+                if (s != null) {
+                    synchronized (s) {
+                        if (s.rings[Resolution.DAY.ordinal()].lastBucket() >= cutoff) return s;
+                        s.close();
+                    }
+                } else {
+                    try {
+                        if (Ring.readLastBucket(file(k, Resolution.DAY), Resolution.DAY) >= cutoff) return null;
+                    } catch (IOException e) {
+                        log.warn("[HISTORY] {} 헤더 읽기 실패: {}", k, e.getMessage());
+                        return null;
+                    }
+                }
+                expired[0] = true;
+                for (Resolution r : Resolution.values()) {
+                    try {
+                        Files.deleteIfExists(file(k, r));
+                    } catch (IOException e) {
+                        log.warn("[HISTORY] {} 삭제 실패: {}", k, e.getMessage());
+                    }
+                }
+                return null;
+            });
+            if (expired[0]) log.info("[HISTORY] 보존 기간이 지난 시리즈 삭제: {}", key);
+        }
+    }
+
+    private boolean exists(String key) {
+        if (!KEY.matcher(key).matches()) throw new IllegalArgumentException("잘못된 시리즈 이름입니다: " + key);
+        return series.containsKey(key) || Files.exists(file(key, Resolution.DAY));
+    }
+
+    private Series series(String key) {
+        if (!KEY.matcher(key).matches()) throw new IllegalArgumentException("잘못된 시리즈 이름입니다: " + key);
+        return series.computeIfAbsent(key, k -> {
+            try {
+                return new Series(k);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Path file(String key, Resolution r) {
+        return dir.resolve(r.label).resolve(key.replace(':', '~') + ".ts");
+    }
+
+    private final class Series {
+        final Ring[] rings = new Ring[Resolution.values().length];
+
+        Series(String key) throws IOException {
+            for (Resolution r : Resolution.values()) {
+                rings[r.ordinal()] = Ring.open(file(key, r), r, capacities.get(r));
+            }
+        }
+
+        void close() {
+            for (Ring ring : rings) {
+                if (ring != null) ring.close();
+            }
+        }
+    }
+
+    // 해상도 1개의 링 파일 (읽기/쓰기는 Series 로 동기화)
+    static final class Ring {
+        final Resolution resolution;
+        final int capacity;
+        final FileChannel channel;
+        final MappedByteBuffer buf;
+
+        private Ring(Resolution resolution, int capacity, FileChannel channel, MappedByteBuffer buf) {
+            this.resolution = resolution;
+            this.capacity = capacity;
+            this.channel = channel;
+            this.buf = buf;
+        }
+
+        static Ring open(Path file, Resolution resolution, int capacity) throws IOException {
+            if (Files.exists(file)) {
+                Ring existing = map(file, resolution, -1);
+                if (existing != null && existing.capacity == capacity) return existing;
+                // 보존 기간 설정이 바뀌었으면 새 크기의 링으로 옮김 (새 보존 기간 안의 버킷만 남음)
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.deleteIfExists(tmp);
+                Ring resized = map(tmp, resolution, capacity);
+                if (existing != null) {
+                    resized.copyFrom(existing);
+                    existing.close();
+                }
+                resized.close();
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return map(file, resolution, capacity);
+        }
+
+        // 헤더의 마지막 버킷만 읽기 (mmap 하지 않음, 형식이 다르면 EMPTY: 열 때 새로 만들어질 파일)
+        static long readLastBucket(Path file, Resolution resolution) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (header.hasRemaining() && ch.read(header) >= 0) {
+                    // 헤더를 다 채우거나 파일 끝까지
+                }
+            }
+            if (header.position() < HEADER || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT
+                    || header.getLong(8) != resolution.stepMs) {
+                return EMPTY;
+            }
+            return header.getLong(24);
+        }
+
+        // capacity < 0: 기존 파일을 헤더대로 열기 (형식이 다르면 null)
+        private static Ring map(Path file, Resolution resolution, int capacity) throws IOException {
+            FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                if (capacity < 0) {
+                    MappedByteBuffer header = ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(ch.size(), HEADER));
+                    if (ch.size() < HEADER || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT
+                            || header.getLong(8) != resolution.stepMs) {
+                        ch.close();
+                        return null;
+                    }
+                    capacity = header.getInt(16);
+                    if (ch.size() < size(capacity)) {
+                        ch.close();
+                        return null;
+                    }
+                    return new Ring(resolution, capacity, ch, ch.map(FileChannel.MapMode.READ_WRITE, 0, size(capacity)));
+                }
+                boolean fresh = ch.size() < size(capacity);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size(capacity));
+                if (fresh) {
+                    buf.putInt(0, MAGIC).putInt(4, FORMAT).putLong(8, resolution.stepMs).putInt(16, capacity)
+                            .putLong(24, EMPTY);
+                    for (int i = 0; i < capacity; i++) buf.putLong(offset(COL_TS, capacity, i), EMPTY);
+                }
+                return new Ring(resolution, capacity, ch, buf);
+            } catch (IOException | RuntimeException e) {
+                ch.close();
+                throw e;
+            }
+        }
+
+        private static long size(int capacity) {
+            return HEADER + (long) COLUMNS * capacity * Long.BYTES;
+        }
+
+        private static int offset(int column, int capacity, int slot) {
+            return HEADER + (column * capacity + slot) * Long.BYTES;
+        }
+
+        private int at(int column, int slot) {
+            return offset(column, capacity, slot);
+        }
+
+        long lastBucket() {
+            return buf.getLong(24);
+        }
+
+        long bytes() {
+            return size(capacity);
+        }
+
+        void add(long time, double value) {
+            long step = resolution.stepMs;
+            long index = Math.floorDiv(time, step);
+            long bucket = index * step;
+            int slot = (int) Math.floorMod(index, (long) capacity);
+            long ts = buf.getLong(at(COL_TS, slot));
+            if (ts != bucket) {
+                // 링을 한 바퀴 넘게 지난 과거 값은 버림
+                if (ts != EMPTY && ts > bucket) return;
+                buf.putLong(at(COL_TS, slot), bucket);
+                buf.putLong(at(COL_COUNT, slot), 0);
+                buf.putDouble(at(COL_SUM, slot), 0);
+                buf.putDouble(at(COL_MIN, slot), value);
+                buf.putDouble(at(COL_MAX, slot), value);
+            }
+            buf.putLong(at(COL_COUNT, slot), buf.getLong(at(COL_COUNT, slot)) + 1);
+            buf.putDouble(at(COL_SUM, slot), buf.getDouble(at(COL_SUM, slot)) + value);
+            buf.putDouble(at(COL_MIN, slot), Math.min(buf.getDouble(at(COL_MIN, slot)), value));
+            buf.putDouble(at(COL_MAX, slot), Math.max(buf.getDouble(at(COL_MAX, slot)), value));
+            buf.putDouble(at(COL_LAST, slot), value);
+            if (bucket > lastBucket()) buf.putLong(24, bucket);
+        }
+
+        Range scan(long from, long to, long now) {
+            long step = resolution.stepMs;
+            long oldest = (Math.floorDiv(now, step) - capacity + 1) * step;
+            long start = Math.max(Math.floorDiv(from, step) * step, oldest);
+            long end = Math.floorDiv(Math.min(to, now), step) * step;
+            int n = end < start ? 0 : (int) ((end - start) / step + 1);
+
+            long[] t = new long[n];
+            double[] avg = new double[n], min = new double[n], max = new double[n], last = new double[n];
+            int k = 0;
+            int slot = (int) Math.floorMod(Math.floorDiv(start, step), (long) capacity);
+            for (long bucket = start; bucket <= end; bucket += step) {
+                if (buf.getLong(at(COL_TS, slot)) == bucket) {
+                    t[k] = bucket;
+                    avg[k] = buf.getDouble(at(COL_SUM, slot)) / buf.getLong(at(COL_COUNT, slot));
+                    min[k] = buf.getDouble(at(COL_MIN, slot));
+                    max[k] = buf.getDouble(at(COL_MAX, slot));
+                    last[k] = buf.getDouble(at(COL_LAST, slot));
+                    k++;
+                }
+                if (++slot == capacity) slot = 0;
+            }
+            if (k < n) {
+                t = Arrays.copyOf(t, k);
+                avg = Arrays.copyOf(avg, k);
+                min = Arrays.copyOf(min, k);
+                max = Arrays.copyOf(max, k);
+                last = Arrays.copyOf(last, k);
+            }
+            return new Range(resolution, t, avg, min, max, last);
+        }
+
+        // 기존 링의 버킷을 오래된 것부터 옮김 (새 링이 더 작으면 최신 버킷이 남음)
+        void copyFrom(Ring old) {
+            long step = resolution.stepMs;
+            long last = old.lastBucket();
+            if (last == EMPTY) return;
+            for (long bucket = last - (old.capacity - 1L) * step; bucket <= last; bucket += step) {
+                int from = (int) Math.floorMod(Math.floorDiv(bucket, step), (long) old.capacity);
+                if (old.buf.getLong(old.at(COL_TS, from)) != bucket) continue;
+                int to = (int) Math.floorMod(Math.floorDiv(bucket, step), (long) capacity);
+                // double 열도 비트 그대로 복사
+                for (int c = COL_TS; c < COLUMNS; c++) buf.putLong(at(c, to), old.buf.getLong(old.at(c, from)));
+                buf.putLong(24, bucket);
+            }
+        }
+
+        void close() {
+            try {
+                buf.force();
+                channel.close();
+            } catch (IOException e) {
+                log.warn("[HISTORY] 파일 닫기 실패: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cryptodiscord.component;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+// 거래소 × 심볼별 최우선 호가/체결가 저장소 (락 없음)
+// - 심볼마다 AtomicReference<Quote>, 갱신은 불변 Quote 를 CAS 로 교체
+// - 웹소켓 갱신은 체결/호가 각각의 seq(거래소 타임스탬프/업데이트 ID)가 뒤로 가면 버림
+// - REST 보정 값은 그보다 최근에 받은 웹소켓 값을 덮어쓰지 않음
+// - 심볼: 거래소 표기 그대로 (빗썸 KRW-BTC, Gate.io BTC_USDT)
+@Component
+public class TopOfBookStore {
+
+    // 값이 없는 필드는 NaN, source: ws | rest
+    public record Quote(double bid, double ask, long bookSeq, double last, long tradeSeq, long receivedAt, String source) {
+        static final Quote EMPTY = new Quote(Double.NaN, Double.NaN, Long.MIN_VALUE, Double.NaN, Long.MIN_VALUE, 0L, "ws");
+
+        public long ageMillis() {
+            return System.currentTimeMillis() - receivedAt;
+        }
+
+        // 체결가가 없으면 호가 중간값
+        public double price() {
+            if (!Double.isNaN(last)) return last;
+            if (!Double.isNaN(bid) && !Double.isNaN(ask)) return (bid + ask) / 2;
+            return Double.NaN;
+        }
+    }
+
+    private final Map<String, AtomicReference<Quote>> quotes = new ConcurrentHashMap<>();
+    // 어느 심볼이든 값이 바뀌면 증가 (응답 재사용 판단용)
+    private final AtomicLong version = new AtomicLong();
+
+    public Quote get(String exchange, String symbol) {
+        AtomicReference<Quote> ref = quotes.get(key(exchange, symbol));
+        return ref == null ? null : ref.get();
+    }
+
+    // maxAgeMs 이내에 받은 가격만 (없으면 NaN)
+    public double freshPrice(String exchange, String symbol, long maxAgeMs) {
+        Quote q = get(exchange, symbol);
+        return q != null && q.ageMillis() <= maxAgeMs ? q.price() : Double.NaN;
+    }
+
+    public boolean onTrade(String exchange, String symbol, double last, long seq) {
+        long now = System.currentTimeMillis();
+        return update(exchange, symbol, q -> seq >= q.tradeSeq(),
+                q -> new Quote(q.bid(), q.ask(), q.bookSeq(), last, seq, now, "ws"));
+    }
+
+    public boolean onBook(String exchange, String symbol, double bid, double ask, long seq) {
+        long now = System.currentTimeMillis();
+        return update(exchange, symbol, q -> seq >= q.bookSeq(),
+                q -> new Quote(bid, ask, seq, q.last(), q.tradeSeq(), now, "ws"));
+    }
+
+    // REST 로 받은 가격 (fetchedAt 이후에 받은 값이 이미 있으면 무시)
+    public boolean onRest(String exchange, String symbol, double last, long fetchedAt) {
+        AtomicReference<Quote> ref = ref(exchange, symbol);
+        while (true) {
+            Quote current = ref.get();
+            if (current.receivedAt() >= fetchedAt) return false;
+            Quote next = new Quote(current.bid(), current.ask(), current.bookSeq(), last, current.tradeSeq(),
+                    fetchedAt, "rest");
+            if (ref.compareAndSet(current, next)) {
+                version.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public int size() {
+        return quotes.size();
+    }
+
+    private boolean update(String exchange, String symbol, Predicate<Quote> inOrder, UnaryOperator<Quote> merge) {
+        AtomicReference<Quote> ref = ref(exchange, symbol);
+        while (true) {
+            Quote current = ref.get();
+            if (!inOrder.test(current)) return false;
+            if (ref.compareAndSet(current, merge.apply(current))) {
+                version.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    private AtomicReference<Quote> ref(String exchange, String symbol) {
+        return quotes.computeIfAbsent(key(exchange, symbol), k -> new AtomicReference<>(Quote.EMPTY));
+    }
+
+    private static String key(String exchange, String symbol) {
+        return exchange + ":" + symbol;
+    }
+}
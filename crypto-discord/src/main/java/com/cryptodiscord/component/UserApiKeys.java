@@ -1,21 +1,28 @@
 package com.cryptodiscord.component;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Component
 public class UserApiKeys {
     // [수정] Passphrase가 필요 없으므로 레코드 간소화
     public record ApiKeys(String apiKey, String secretKey) {}
+    public static final Set<String> EXCHANGES = Set.of("bithumb", "gateio");
     private final Map<String, Map<String, ApiKeys>> userKeysDb = new ConcurrentHashMap<>();
     private String botSecretKey;
 
+    // 사용자가 직접 등록한 키 (암호화 파일), 설정 파일의 키보다 우선
+    @Autowired(required = false)
+    private EncryptedKeyStore keyStore;
+
     // --- (prod) 파일 경로
     @Value("${api.keys.bithumb.key_file:#{null}}") private String BITHUMB_KEY_PATH;
     @Value("${api.keys.bithumb.secret_file:#{null}}") private String BITHUMB_SECRET_PATH;
@@ -30,8 +37,8 @@ public class UserApiKeys {
     @Value("${api.keys.gateio.secret:#{null}}") private String GATEIO_SECRET;
     @Value("${api.bot-access-key:#{null}}") private String BOT_SECRET_KEY_VAL;
 
-    // 디스코드 id
-    @Value("${api.keys.discord.user-key:#{null}") private String DISCORD_USER_KEY;
+    // 디스코드 id (설정 파일의 키를 쓰는 사용자, 없으면 설정 파일 키는 등록하지 않음)
+    @Value("${api.keys.discord.user-key:#{null}}") private String DISCORD_USER_KEY;
 
     @PostConstruct
     public void init() throws IOException {
@@ -55,6 +62,7 @@ public class UserApiKeys {
             this.botSecretKey = BOT_SECRET_KEY_VAL;
         }
 
+        if (DISCORD_USER_KEY == null || DISCORD_USER_KEY.isBlank()) return;
         Map<String, ApiKeys> testUserKeys = new ConcurrentHashMap<>();
         testUserKeys.put("bithumb", new ApiKeys(bithumbKey, bithumbSecret)); // [수정]
         testUserKeys.put("gateio", new ApiKeys(gateioKey, gateioSecret));   // [수정]
@@ -72,13 +80,64 @@ public class UserApiKeys {
     }
 
     public ApiKeys getKeys(String discordId, String exchange) {
-        ApiKeys keys = userKeysDb.getOrDefault(discordId, Map.of()).get(exchange);
+        ApiKeys keys = keyStore != null ? keyStore.get(discordId, exchange) : null;
+        if (keys == null) keys = userKeysDb.getOrDefault(discordId, Map.of()).get(exchange);
         if (keys == null || keys.apiKey() == null) {
             throw new RuntimeException(exchange + " API 키가 서버에 설정되지 않았습니다. (User: " + discordId + ")");
         }
         return keys;
     }
 
+    public void register(String discordId, String exchange, String apiKey, String secretKey) throws IOException {
+        if (!EXCHANGES.contains(exchange)) throw new IllegalArgumentException("지원하지 않는 거래소입니다.");
+        if (apiKey == null || apiKey.isBlank() || secretKey == null || secretKey.isBlank()) {
+            throw new IllegalArgumentException("API 키와 시크릿을 모두 입력해야 합니다.");
+        }
+        requireKeyStore().put(discordId, exchange, new ApiKeys(apiKey.trim(), secretKey.trim()));
+    }
+
+    public boolean unregister(String discordId, String exchange) throws IOException {
+        return requireKeyStore().remove(discordId, exchange);
+    }
+
+    // 거래소별 등록 여부 (키는 앞 4자리만)
+    public Map<String, Object> describe(String discordId) {
+        Map<String, Object> result = new TreeMap<>();
+        for (String exchange : EXCHANGES) {
+            ApiKeys keys;
+            try {
+                keys = getKeys(discordId, exchange);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            String key = keys.apiKey();
+            result.put(exchange, (key.length() > 4 ? key.substring(0, 4) : key) + "****");
+        }
+        return result;
+    }
+
+    // 해당 거래소 키가 있는지 (설정 파일 키 포함)
+    public boolean hasKeys(String discordId, String exchange) {
+        try {
+            getKeys(discordId, exchange);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // 키가 바뀐 discord_id 로 호출
+    public void addListener(Consumer<String> listener) {
+        if (keyStore != null) keyStore.addListener(listener);
+    }
+
+    private EncryptedKeyStore requireKeyStore() {
+        if (keyStore == null || !keyStore.isEnabled()) {
+            throw new IllegalStateException("키 저장소가 설정되지 않았습니다. (crypto.keystore.master-key)");
+        }
+        return keyStore;
+    }
+
     public String getBotSecretKey() {
         if (this.botSecretKey == null) {
             throw new RuntimeException("봇 서명 키(BOT_ACCESS_KEY)가 로드되지 않았습니다.");
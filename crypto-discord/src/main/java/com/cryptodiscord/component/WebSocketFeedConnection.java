@@ -0,0 +1,219 @@
+package com.cryptodiscord.component;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 피드 1개의 웹소켓 연결 (JDK HttpClient WebSocket)
+// - 연결될 때마다 구독 메시지를 다시 보냄 (재연결 후 자동 재구독)
+// - 전송은 연결마다 한 줄로 이어 붙임 (JDK WebSocket 은 끝나지 않은 sendText 가 있으면 IllegalStateException)
+// - 끊기면 지수 백오프(min ~ max)로 재연결
+// - 조각난 텍스트/바이너리 프레임은 합쳐서 1건으로 처리
+public class WebSocketFeedConnection implements WebSocket.Listener {
+    private static final Logger log = LoggerFactory.getLogger(WebSocketFeedConnection.class);
+
+    private final MarketDataFeed feed;
+    private final TopOfBookStore store;
+    private final HttpClient client;
+    private final ScheduledExecutorService executor;
+    private final long minBackoffMs;
+    private final long maxBackoffMs;
+
+    private volatile WebSocket socket;
+    private volatile boolean connected;
+    private volatile boolean closed;
+    private volatile long lastMessageAt;
+    // 거래소가 받은 것이 확인된(전송이 모두 끝난) 구독 심볼
+    private volatile Collection<String> subscribed = List.of();
+    // 현재 연결의 마지막 전송 (다음 전송은 이 뒤에 이어 붙임), sendLock 으로 보호
+    private final Object sendLock = new Object();
+    private CompletableFuture<?> sendTail = CompletableFuture.completedFuture(null);
+    private final AtomicBoolean reconnectPending = new AtomicBoolean();
+    private long backoffMs;
+
+    private final AtomicLong connects = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong parseErrors = new AtomicLong();
+
+    // 리스너 콜백은 한 번에 하나씩 호출되므로 별도 동기화 없이 사용
+    private final StringBuilder text = new StringBuilder();
+    private final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+
+    public WebSocketFeedConnection(MarketDataFeed feed, TopOfBookStore store, HttpClient client,
+                                   ScheduledExecutorService executor, long minBackoffMs, long maxBackoffMs) {
+        this.feed = feed;
+        this.store = store;
+        this.client = client;
+        this.executor = executor;
+        this.minBackoffMs = minBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.backoffMs = minBackoffMs;
+    }
+
+    public void start() {
+        connect();
+    }
+
+    public void close() {
+        closed = true;
+        WebSocket ws = socket;
+        if (ws != null) ws.abort();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public MarketDataFeed feed() {
+        return feed;
+    }
+
+    public Collection<String> subscribed() {
+        return subscribed;
+    }
+
+    // 구독 심볼이 바뀐 경우 현재 연결에 다시 구독
+    public void resubscribe() {
+        WebSocket ws = socket;
+        if (connected && ws != null) subscribe(ws);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("connected", connected);
+        m.put("symbols", subscribed.size());
+        m.put("connects", connects.get());
+        m.put("messages", messages.get());
+        m.put("parse_errors", parseErrors.get());
+        m.put("last_message_age_ms", lastMessageAt == 0 ? -1 : System.currentTimeMillis() - lastMessageAt);
+        return m;
+    }
+
+    private void connect() {
+        if (closed) return;
+        client.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .buildAsync(feed.uri(), this)
+                .whenComplete((ws, error) -> {
+                    if (error != null) {
+                        log.warn("[MARKETDATA] {} 연결 실패: {}", feed.exchange(), error.getMessage());
+                        scheduleReconnect();
+                    }
+                });
+    }
+
+    private void scheduleReconnect() {
+        connected = false;
+        if (closed || !reconnectPending.compareAndSet(false, true)) return;
+        long delay;
+        synchronized (this) {
+            delay = backoffMs;
+            backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+        }
+        executor.schedule(() -> {
+            reconnectPending.set(false);
+            connect();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // onOpen 의 구독과 resubscribe 가 겹쳐도 이전 전송이 끝난 뒤에 보냄
+    private void subscribe(WebSocket ws) {
+        Collection<String> symbols = feed.symbols();
+        CompletableFuture<?> chain;
+        synchronized (sendLock) {
+            // 앞선 구독이 실패했어도 이번 구독은 보냄
+            chain = sendTail.handle((r, error) -> null);
+            for (String message : feed.subscribeMessages(symbols)) {
+                chain = chain.thenCompose(ignored -> ws.sendText(message, true));
+            }
+            sendTail = chain;
+        }
+        chain.whenComplete((w, error) -> {
+            if (error != null) {
+                log.warn("[MARKETDATA] {} 구독 실패: {}", feed.exchange(), error.getMessage());
+            } else if (socket == ws) {
+                subscribed = symbols;
+            }
+        });
+    }
+
+    @Override
+    public void onOpen(WebSocket ws) {
+        socket = ws;
+        connected = true;
+        connects.incrementAndGet();
+        synchronized (this) {
+            backoffMs = minBackoffMs;
+        }
+        text.setLength(0);
+        binary.reset();
+        synchronized (sendLock) {
+            // 이전 연결에 남은 전송은 새 연결과 무관
+            sendTail = CompletableFuture.completedFuture(null);
+        }
+        log.info("[MARKETDATA] {} 연결됨 ({})", feed.exchange(), feed.uri());
+        subscribe(ws);
+        ws.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+        text.append(data);
+        if (last) {
+            handle(text.toString());
+            text.setLength(0);
+        }
+        ws.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket ws, ByteBuffer data, boolean last) {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        binary.write(bytes, 0, bytes.length);
+        if (last) {
+            handle(binary.toString(StandardCharsets.UTF_8));
+            binary.reset();
+        }
+        ws.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+        log.warn("[MARKETDATA] {} 연결 종료 ({} {})", feed.exchange(), statusCode, reason);
+        scheduleReconnect();
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket ws, Throwable error) {
+        log.warn("[MARKETDATA] {} 연결 오류: {}", feed.exchange(), error.getMessage());
+        scheduleReconnect();
+    }
+
+    private void handle(String message) {
+        lastMessageAt = System.currentTimeMillis();
+        messages.incrementAndGet();
+        try {
+            feed.onMessage(message, store);
+        } catch (Exception e) {
+            parseErrors.incrementAndGet();
+            log.debug("[MARKETDATA] {} 메시지 처리 실패: {}", feed.exchange(), e.getMessage());
+        }
+    }
+}
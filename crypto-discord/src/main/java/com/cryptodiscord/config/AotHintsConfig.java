@@ -0,0 +1,36 @@
+package com.cryptodiscord.config;
+
+import com.cryptodiscord.dto.*;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+// AOT 빌드(-Paot) 용 리플렉션 힌트
+// - JVM 에서 AOT 클래스로 돌릴 때는 영향 없고, 네이티브 이미지(nativeCompile)에서 필요
+// - Gate.io SDK 는 Gson 으로 모델 필드를 리플렉션해 (역)직렬화
+// - Map<String, Object> 응답 안에 담기는 DTO 는 컨트롤러 반환 타입만으로는 AOT 가 찾지 못함
+@Configuration
+@ImportRuntimeHints(AotHintsConfig.Hints.class)
+public class AotHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+        private static final String[] GATEIO_MODELS = {
+                "SpotAccount", "Ticker", "Trade", "TotalBalance", "AccountBalance"};
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String model : GATEIO_MODELS) {
+                hints.reflection().registerType(TypeReference.of("io.gate.gateapi.models." + model),
+                        MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    BithumbAccount.class, BithumbOrder.class, BithumbTicker.class, CoinAsset.class,
+                    CoinValuation.class, PriceAlert.class, UnifiedTrade.class);
+        }
+    }
+}
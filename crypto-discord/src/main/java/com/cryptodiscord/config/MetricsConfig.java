@@ -0,0 +1,30 @@
+package com.cryptodiscord.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 지연 시간 분포 설정
+// - 컨트롤러 엔드포인트(http.server.requests)와 거래소 호출(exchange.*) 타이머에
+//   Prometheus 히스토그램 버킷 + p50/p95/p99 (모니터 API 용)
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public MeterFilter latencyDistribution() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER) return config;
+                String name = id.getName();
+                if (!name.equals("http.server.requests") && !name.startsWith("exchange.")) return config;
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.cryptodiscord.ctrl;
+
+import com.cryptodiscord.dto.PriceAlert;
+import com.cryptodiscord.service.PriceAlertService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/alerts")
+public class AlertController {
+    private final PriceAlertService priceAlertService;
+    public AlertController(PriceAlertService priceAlertService) {
+        this.priceAlertService = priceAlertService;
+    }
+
+    // type: above(value 이상) / below(value 이하) / percent(현재가 대비 ±value%)
+    @PostMapping
+    public PriceAlert register(@RequestParam String discord_id, @RequestParam String symbol,
+                               @RequestParam String type, @RequestParam double value) {
+        return priceAlertService.register(discord_id, symbol, type, value);
+    }
+
+    @GetMapping
+    public List<PriceAlert> list(@RequestParam String discord_id) {
+        return priceAlertService.list(discord_id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Map<String, Object> delete(@RequestParam String discord_id, @PathVariable long id) {
+        return Map.of("deleted", priceAlertService.delete(discord_id, id));
+    }
+
+    // 봇이 구독하는 발동 알림 스트림 (event: alert, id: event_id)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return priceAlertService.subscribe(lastEventId);
+    }
+}
@@ -1,61 +1,170 @@
 package com.cryptodiscord.ctrl;
 
+import com.cryptodiscord.dto.BithumbOrder;
+import com.cryptodiscord.dto.CoinAsset;
 import com.cryptodiscord.dto.UnifiedTrade;
+import com.cryptodiscord.component.ConditionalResponseCache;
+import com.cryptodiscord.component.CrossRateEngine;
+import com.cryptodiscord.component.OrderJournal;
 import com.cryptodiscord.service.CryptoService;
+import com.cryptodiscord.service.OrderSyncService;
+import com.cryptodiscord.service.PnlService;
+import com.cryptodiscord.service.PortfolioAggregator;
+import com.cryptodiscord.service.PortfolioStreamService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 @RestController
 @RequestMapping("/api")
 public class CryptoController {
     private final CryptoService cryptoService;
-    public CryptoController(CryptoService cryptoService) { this.cryptoService = cryptoService; }
+    private final PortfolioAggregator portfolioAggregator;
+    private final OrderSyncService orderSyncService;
+    private final OrderJournal orderJournal;
+    private final CrossRateEngine crossRateEngine;
+    private final PnlService pnlService;
+    private final PortfolioStreamService portfolioStreamService;
+    private final ConditionalResponseCache responseCache;
+    private final long assetsMaxAgeMs;
+    public CryptoController(CryptoService cryptoService, PortfolioAggregator portfolioAggregator,
+                            OrderSyncService orderSyncService, OrderJournal orderJournal,
+                            CrossRateEngine crossRateEngine, PnlService pnlService,
+                            PortfolioStreamService portfolioStreamService, ConditionalResponseCache responseCache,
+                            @Value("${crypto.response-cache.assets-max-age-ms:1000}") long assetsMaxAgeMs) {
+        this.cryptoService = cryptoService;
+        this.portfolioAggregator = portfolioAggregator;
+        this.orderSyncService = orderSyncService;
+        this.orderJournal = orderJournal;
+        this.crossRateEngine = crossRateEngine;
+        this.pnlService = pnlService;
+        this.portfolioStreamService = portfolioStreamService;
+        this.responseCache = responseCache;
+        this.assetsMaxAgeMs = assetsMaxAgeMs;
+    }
     @GetMapping("/my-assets")
-    public Map<String, Object> getMyAssets(@RequestParam String discord_id) throws Exception {
-        Map<String, Object> result = new HashMap<>();
+    public ResponseEntity<Map<String, Object>> getMyAssets(
+            @RequestParam String discord_id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
+        // 설정된 모든 거래소를 동시에 조회 (coins: 합산 목록, exchanges: 거래소별 ok/timeout/error)
+        // 시세 버전이 같으면 assets-max-age-ms 동안 직전 결과 재사용 (잔고는 계좌 캐시 TTL 만큼 늦을 수 있음)
+        CrossRateEngine.Rate usdtKrw = crossRateEngine.usdtKrw();
+        String version = cryptoService.priceVersion() + "." + (usdtKrw != null ? usdtKrw.updatedAt() : 0);
+        return responseCache.respond("my-assets:" + discord_id, version, assetsMaxAgeMs, ifNoneMatch,
+                () -> portfolioAggregator.aggregate(discord_id), CryptoController::portfolioFingerprint);
+    }
 
-        // 빗썸 자산 메시지
-        List<Map<String, Object>> bithumbCoins = cryptoService.getBithumbAssets(discord_id);
-        result.put("coins", bithumbCoins);
+    @GetMapping(value = "/my-assets/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMyAssets(@RequestParam String discord_id) {
+        // event: snapshot (coins 전체) → delta (changed: 바뀐 코인, removed: "거래소:통화" 키, total_krw)
+        return portfolioStreamService.subscribe(discord_id);
+    }
 
-        return result;
+    @GetMapping("/rates")
+    public Map<String, Object> getRates(@RequestParam(required = false, defaultValue = "") List<String> currencies) {
+        // 교차 시세(KRW/USDT 등)와 요청한 통화의 KRW 가격, 각각 age_ms(수신 후 경과 시간) 포함
+        return crossRateEngine.rates(currencies);
     }
 
     @GetMapping("/assets/exchange")
-    public Map<String, Object> getExchangeAssets(@RequestParam String discord_id, @RequestParam String exchange) throws Exception {
+    public ResponseEntity<Map<String, Object>> getExchangeAssets(
+            @RequestParam String discord_id, @RequestParam String exchange,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws Exception {
         if ("bithumb".equalsIgnoreCase(exchange)) {
-            return Map.of("coins", cryptoService.getBithumbAssets(discord_id));
+            return responseCache.respond("assets:bithumb:" + discord_id, cryptoService.priceVersion(), assetsMaxAgeMs,
+                    ifNoneMatch, () -> Map.<String, Object>of("coins", cryptoService.getBithumbAssets(discord_id)),
+                    body -> assetsFingerprint(body.get("coins")));
         } else if ("gateio".equalsIgnoreCase(exchange)) {
-//            return Map.of("coins", cryptoService.getGateioAssets(discord_id));
-            throw new IllegalArgumentException("지원하지 않는 거래소입니다.");
+            // 잔고 + 전체 티커 (KRW/USDT 환율이 바뀌어도 다시 평가)
+            CrossRateEngine.Rate usdtKrw = crossRateEngine.usdtKrw();
+            String version = cryptoService.priceVersion() + "." + (usdtKrw != null ? usdtKrw.updatedAt() : 0);
+            return responseCache.respond("assets:gateio:" + discord_id, version, assetsMaxAgeMs, ifNoneMatch,
+                    () -> Map.<String, Object>of("coins", cryptoService.getGateioAssets(discord_id)),
+                    body -> assetsFingerprint(body.get("coins")));
         } else {
             throw new IllegalArgumentException("지원하지 않는 거래소입니다.");
         }
     }
 
     @GetMapping("/trades")
-    public List<UnifiedTrade> getExchangeTrades(
+    public ResponseEntity<List<UnifiedTrade>> getExchangeTrades(
             @RequestParam String discord_id,
             @RequestParam String exchange,
             @RequestParam(required = false, defaultValue = "KRW-BTC") String market,
-            @RequestParam(required = false, defaultValue = "wait") String state
+            @RequestParam(required = false, defaultValue = "wait") String state,
+            @RequestParam(required = false, defaultValue = "1") int page,
+            @RequestParam(required = false, defaultValue = "10") int limit,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) throws Exception {
         if ("bithumb".equalsIgnoreCase(exchange)) {
 
-            // 1. raw orders
-            Map<String, Object> raw = cryptoService.getBithumbOrders(discord_id, market, state);
+            // 1. 로컬 저널에서 조회 (최초 1회만 거래소 전체 이력 동기화, from/to: created_at epoch ms)
+            orderSyncService.ensureSynced(discord_id);
+            int safePage = Math.max(1, page);
+            int safeLimit = Math.min(Math.max(1, limit), 100);
 
-            // 2. convert to UnifiedTrade
-            return cryptoService.mapBithumbOrdersToUnifiedTrades(raw);
+            // 2. convert to UnifiedTrade (저널 버전이 같으면 같은 조건의 직전 결과 재사용)
+            String key = "trades:bithumb:" + discord_id + ":" + market + ":" + state + ":" + safePage + ":"
+                    + safeLimit + ":" + from + ":" + to;
+            return responseCache.respond(key, Long.toString(orderJournal.version(discord_id)), Long.MAX_VALUE,
+                    ifNoneMatch, () -> {
+                        List<BithumbOrder> orders = orderJournal.query(discord_id, market, state, from, to,
+                                safePage, safeLimit);
+                        return cryptoService.mapBithumbOrdersToUnifiedTrades(orders);
+                    });
 
         } else if ("gateio".equalsIgnoreCase(exchange)) {
 
-            return null;
+            return ResponseEntity.ok(null);
 
         }
 
         throw new IllegalArgumentException("지원하지 않는 거래소입니다.");
     }
+
+    @GetMapping("/pnl")
+    public Map<String, Object> getPnl(
+            @RequestParam String discord_id,
+            @RequestParam(required = false, defaultValue = "bithumb") String exchange,
+            @RequestParam(required = false, defaultValue = "average") String method
+    ) throws Exception {
+        // 주문 이력이 있는 거래소는 현재 빗썸뿐 (전체 = 빗썸)
+        if ("bithumb".equalsIgnoreCase(exchange) || "all".equalsIgnoreCase(exchange)) {
+            return pnlService.getPnl(discord_id, method);
+        }
+        throw new IllegalArgumentException("지원하지 않는 거래소입니다.");
+    }
+
+    // ETag 계산용: 매번 바뀌는 경과 시간(elapsed_ms, *_age_ms)은 빼고 봇이 보여주는 값만
+    private static Object portfolioFingerprint(Map<String, Object> body) {
+        Map<String, Object> fp = new LinkedHashMap<>();
+        fp.put("coins", assetsFingerprint(body.get("coins")));
+        Map<String, Object> statuses = new LinkedHashMap<>();
+        if (body.get("exchanges") instanceof Map<?, ?> exchanges) {
+            exchanges.forEach((name, status) -> statuses.put(String.valueOf(name),
+                    status instanceof Map<?, ?> m ? m.get("status") : status));
+        }
+        fp.put("exchanges", statuses);
+        fp.put("usdt_krw", body.get("usdt_krw"));
+        return fp;
+    }
+
+    private static Object assetsFingerprint(Object coins) {
+        if (!(coins instanceof List<?> list)) return coins;
+        return list.stream()
+                .map(c -> c instanceof CoinAsset a
+                        ? Arrays.asList(a.exchange(), a.currency(), a.balance(), a.locked(), a.avg_buy_price(),
+                        a.unit_currency(), a.current_price(), a.price_stale())
+                        : c)
+                .toList();
+    }
 }
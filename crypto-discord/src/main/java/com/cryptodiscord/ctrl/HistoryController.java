@@ -0,0 +1,59 @@
+package com.cryptodiscord.ctrl;
+
+import com.cryptodiscord.component.TimeSeriesStore.Resolution;
+import com.cryptodiscord.service.HistoryService;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/history")
+public class HistoryController {
+    private final HistoryService historyService;
+    public HistoryController(HistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    // 포트폴리오 가치(KRW) 추이, 예: range=30d&resolution=1h (from/to: epoch ms, 주면 range 대신 사용)
+    @GetMapping("/portfolio")
+    public Map<String, Object> portfolio(@RequestParam String discord_id,
+                                         @RequestParam(required = false, defaultValue = "7d") String range,
+                                         @RequestParam(required = false) String resolution,
+                                         @RequestParam(required = false) Long from,
+                                         @RequestParam(required = false) Long to) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - parseRange(range);
+        return historyService.portfolio(discord_id, start, end, resolution(resolution, end - start));
+    }
+
+    // 통화별 KRW 시세 추이
+    @GetMapping("/prices")
+    public Map<String, Object> prices(@RequestParam String currency,
+                                      @RequestParam(required = false, defaultValue = "1d") String range,
+                                      @RequestParam(required = false) String resolution,
+                                      @RequestParam(required = false) Long from,
+                                      @RequestParam(required = false) Long to) {
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - parseRange(range);
+        return historyService.price(currency, start, end, resolution(resolution, end - start));
+    }
+
+    private Resolution resolution(String label, long rangeMs) {
+        return label == null || label.isBlank() ? historyService.defaultResolution(rangeMs) : Resolution.of(label);
+    }
+
+    // 30d / 12h / 90m
+    private static long parseRange(String range) {
+        try {
+            long n = Long.parseLong(range.substring(0, range.length() - 1));
+            return switch (Character.toLowerCase(range.charAt(range.length() - 1))) {
+                case 'm' -> n * 60_000L;
+                case 'h' -> n * 3_600_000L;
+                case 'd' -> n * 86_400_000L;
+                default -> throw new IllegalArgumentException();
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("기간 형식이 잘못되었습니다. (예: 90m, 12h, 30d)");
+        }
+    }
+}
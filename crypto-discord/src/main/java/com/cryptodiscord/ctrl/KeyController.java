@@ -0,0 +1,35 @@
+package com.cryptodiscord.ctrl;
+
+import com.cryptodiscord.component.UserApiKeys;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/keys")
+public class KeyController {
+    private final UserApiKeys userApiKeys;
+    public KeyController(UserApiKeys userApiKeys) {
+        this.userApiKeys = userApiKeys;
+    }
+
+    // 사용자 본인의 거래소 키 등록/교체 (암호화 저장, 재시작 없이 바로 사용)
+    @PostMapping("/{exchange}")
+    public Map<String, Object> register(@RequestParam String discord_id, @PathVariable String exchange,
+                                        @RequestParam String api_key, @RequestParam String secret_key) throws IOException {
+        userApiKeys.register(discord_id, exchange.toLowerCase(), api_key, secret_key);
+        return userApiKeys.describe(discord_id);
+    }
+
+    // 등록된 거래소와 키 앞자리
+    @GetMapping
+    public Map<String, Object> list(@RequestParam String discord_id) {
+        return userApiKeys.describe(discord_id);
+    }
+
+    @DeleteMapping("/{exchange}")
+    public Map<String, Object> delete(@RequestParam String discord_id, @PathVariable String exchange) throws IOException {
+        return Map.of("deleted", userApiKeys.unregister(discord_id, exchange.toLowerCase()));
+    }
+}
@@ -0,0 +1,169 @@
+package com.cryptodiscord.ctrl;
+
+import com.cryptodiscord.component.AccountResponseCache;
+import com.cryptodiscord.component.ConditionalResponseCache;
+import com.cryptodiscord.component.MarketDataIngestor;
+import com.cryptodiscord.component.OutboundRequestScheduler;
+import com.cryptodiscord.component.ResilientCaller;
+import com.cryptodiscord.component.TimeSeriesStore;
+import com.cryptodiscord.service.PortfolioStreamService;
+import com.cryptodiscord.service.PriceAlertService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/monitor")
+public class MonitorController {
+    private final PoolingHttpClientConnectionManager httpConnectionManager;
+    private final OutboundRequestScheduler outboundRequestScheduler;
+    private final AccountResponseCache accountResponseCache;
+    private final PriceAlertService priceAlertService;
+    private final PortfolioStreamService portfolioStreamService;
+    private final MarketDataIngestor marketDataIngestor;
+    private final MeterRegistry meterRegistry;
+    private final ResilientCaller resilientCaller;
+    private final ConditionalResponseCache conditionalResponseCache;
+    private final TimeSeriesStore timeSeriesStore;
+    public MonitorController(PoolingHttpClientConnectionManager httpConnectionManager,
+                             OutboundRequestScheduler outboundRequestScheduler,
+                             AccountResponseCache accountResponseCache,
+                             PriceAlertService priceAlertService,
+                             PortfolioStreamService portfolioStreamService,
+                             MarketDataIngestor marketDataIngestor,
+                             MeterRegistry meterRegistry,
+                             ResilientCaller resilientCaller,
+                             ConditionalResponseCache conditionalResponseCache,
+                             TimeSeriesStore timeSeriesStore) {
+        this.httpConnectionManager = httpConnectionManager;
+        this.outboundRequestScheduler = outboundRequestScheduler;
+        this.accountResponseCache = accountResponseCache;
+        this.priceAlertService = priceAlertService;
+        this.portfolioStreamService = portfolioStreamService;
+        this.marketDataIngestor = marketDataIngestor;
+        this.meterRegistry = meterRegistry;
+        this.resilientCaller = resilientCaller;
+        this.conditionalResponseCache = conditionalResponseCache;
+        this.timeSeriesStore = timeSeriesStore;
+    }
+
+    // 외부 HTTP 커넥션 풀 상태 (전체 + 호스트별)
+    @GetMapping("/http-pool")
+    public Map<String, Object> getHttpPoolStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", toMap(httpConnectionManager.getTotalStats()));
+
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (HttpRoute route : httpConnectionManager.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), toMap(httpConnectionManager.getStats(route)));
+        }
+        result.put("routes", routes);
+        return result;
+    }
+
+    // 거래소 호출 한도 대기열 (레인별 queue_depth, 대기 시간, 시간 초과 건수)
+    @GetMapping("/rate-limits")
+    public Map<String, Object> getRateLimitStats() {
+        return outboundRequestScheduler.stats();
+    }
+
+    // 개인 계정 응답 캐시 (hits / stale_hits / misses / coalesced / evictions)
+    @GetMapping("/account-cache")
+    public Map<String, Object> getAccountCacheStats() {
+        return accountResponseCache.stats();
+    }
+
+    // 가격 알림 (등록 건수 / 심볼 수 / SSE 구독자 수)
+    @GetMapping("/alerts")
+    public Map<String, Object> getAlertStats() {
+        return priceAlertService.stats();
+    }
+
+    // 포트폴리오 스트림 (계정 수 / 구독자 수)
+    @GetMapping("/portfolio-streams")
+    public Map<String, Object> getPortfolioStreamStats() {
+        return portfolioStreamService.stats();
+    }
+
+    // 웹소켓 시세 피드 (연결 상태 / 재연결 횟수 / REST 보정 건수)
+    @GetMapping("/market-data")
+    public Map<String, Object> getMarketDataStats() {
+        return marketDataIngestor.stats();
+    }
+
+    // 거래소 엔드포인트별 회로 상태 / 헤지 요청 수
+    @GetMapping("/circuit-breakers")
+    public Map<String, Object> getCircuitBreakerStats() {
+        return resilientCaller.stats();
+    }
+
+    // 봇 조회 응답 재사용 / 304 응답 수
+    @GetMapping("/response-cache")
+    public Map<String, Object> getResponseCacheStats() {
+        return conditionalResponseCache.stats();
+    }
+
+    // 이력 저장소 (열린 시리즈 수 / mmap 크기 / 해상도별 보존 기간)
+    @GetMapping("/history")
+    public Map<String, Object> getHistoryStats() {
+        return timeSeriesStore.stats();
+    }
+
+    // 지연 시간 요약 (거래소 호출 / 컨트롤러 엔드포인트별 p50·p95·p99, 인증 거부 건수)
+    // 전체 히스토그램은 /actuator/prometheus
+    @GetMapping("/latency")
+    public Map<String, Object> getLatencyStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("exchange", summarize("exchange.requests", "exchange", "endpoint", "outcome"));
+        result.put("endpoints", summarize("http.server.requests", "method", "uri", "status"));
+        Map<String, Object> rejections = new TreeMap<>();
+        for (Counter c : meterRegistry.find("auth.rejections").counters()) {
+            rejections.put(c.getId().getTag("reason"), (long) c.count());
+        }
+        result.put("auth_rejections", rejections);
+        return result;
+    }
+
+    private Map<String, Object> summarize(String name, String... keyTags) {
+        Map<String, Object> result = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(name).timers()) {
+            StringBuilder key = new StringBuilder();
+            for (String tag : keyTags) {
+                if (key.length() > 0) key.append(' ');
+                key.append(timer.getId().getTag(tag));
+            }
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("count", snapshot.count());
+            m.put("mean_ms", snapshot.mean(TimeUnit.MILLISECONDS));
+            m.put("max_ms", snapshot.max(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile p : snapshot.percentileValues()) {
+                m.put("p" + Math.round(p.percentile() * 100) + "_ms", p.value(TimeUnit.MILLISECONDS));
+            }
+            result.put(key.toString(), m);
+        }
+        return result;
+    }
+
+    private Map<String, Object> toMap(PoolStats stats) {
+        return Map.of(
+                "leased", stats.getLeased(),
+                "available", stats.getAvailable(),
+                "pending", stats.getPending(),
+                "max", stats.getMax()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.cryptodiscord.dto;
+
+import java.math.BigDecimal;
+
+// 빗썸 /v1/accounts 응답 1건
+public record BithumbAccount(
+        String currency,
+        BigDecimal balance,
+        BigDecimal locked,
+        BigDecimal avgBuyPrice,
+        boolean avgBuyPriceModified,
+        String unitCurrency
+) {}
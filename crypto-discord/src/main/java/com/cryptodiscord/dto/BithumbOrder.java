@@ -0,0 +1,22 @@
+package com.cryptodiscord.dto;
+
+import java.math.BigDecimal;
+
+// 빗썸 /v1/orders 응답 1건 (시장가 주문은 price 등이 null 일 수 있음)
+public record BithumbOrder(
+        String uuid,
+        String side,
+        String ordType,
+        BigDecimal price,
+        String state,
+        String market,
+        String createdAt,
+        BigDecimal volume,
+        BigDecimal remainingVolume,
+        BigDecimal executedVolume,
+        BigDecimal reservedFee,
+        BigDecimal remainingFee,
+        BigDecimal paidFee,
+        BigDecimal locked,
+        int tradesCount
+) {}
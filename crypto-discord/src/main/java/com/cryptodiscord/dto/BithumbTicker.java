@@ -0,0 +1,7 @@
+package com.cryptodiscord.dto;
+
+// 빗썸 /public/ticker 응답에서 사용하는 값만 보관 (currency: BTC, ETH ...)
+public record BithumbTicker(
+        String currency,
+        double closingPrice
+) {}
@@ -0,0 +1,17 @@
+package com.cryptodiscord.dto;
+
+import java.math.BigDecimal;
+
+// /api/my-assets, /api/assets/exchange 의 코인 1건 (봇이 읽는 필드명 그대로 snake_case)
+public record CoinAsset(
+        String exchange,
+        String currency,
+        BigDecimal balance,
+        BigDecimal locked,
+        BigDecimal avg_buy_price,
+        String unit_currency,
+        double current_price,
+        long price_age_ms,
+        // 시세가 오래됐거나(거래소 장애 등) 찾지 못해 current_price 를 그대로 믿으면 안 되는 경우
+        boolean price_stale
+) {}
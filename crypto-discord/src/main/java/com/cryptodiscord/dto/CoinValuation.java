@@ -0,0 +1,24 @@
+package com.cryptodiscord.dto;
+
+import java.math.BigDecimal;
+
+// /api/my-assets/stream 의 코인 1건 (valuation = (balance + locked) × current_price, KRW)
+public record CoinValuation(
+        String exchange,
+        String currency,
+        BigDecimal balance,
+        BigDecimal locked,
+        BigDecimal avg_buy_price,
+        double current_price,
+        double valuation
+) {
+    public static CoinValuation of(CoinAsset coin, double currentPrice) {
+        double units = coin.balance().add(coin.locked()).doubleValue();
+        return new CoinValuation(coin.exchange(), coin.currency(), coin.balance(), coin.locked(),
+                coin.avg_buy_price(), currentPrice, units * currentPrice);
+    }
+
+    public String key() {
+        return exchange + ":" + currency;
+    }
+}
@@ -0,0 +1,16 @@
+package com.cryptodiscord.dto;
+
+// 가격 알림 1건 (KRW 기준)
+// - type: above(이상) / below(이하) / percent(등록 시점 가격 대비 ±value%)
+// - upper/lower: 실제 비교하는 임계값 (해당 방향이 없으면 null), 한 번 발동하면 삭제
+public record PriceAlert(
+        long id,
+        String discord_id,
+        String symbol,
+        String type,
+        double value,
+        double base_price,
+        Double upper,
+        Double lower,
+        long created_at
+) {}
@@ -1,5 +1,12 @@
 package com.cryptodiscord.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+// 봇에는 문자열 필드(8개)만 내려가고, 계산용 숫자 필드는 JSON 에서 제외
 public record UnifiedTrade(
         String exchange,
         String symbol,
@@ -8,5 +15,54 @@ public record UnifiedTrade(
         String amount,
         String timestamp,
         String ord_type,
-        String paid_fee
-) {}
+        String paid_fee,
+        @JsonIgnore BigDecimal priceValue,
+        @JsonIgnore BigDecimal amountValue,
+        @JsonIgnore BigDecimal paidFeeValue,
+        @JsonIgnore long timestampMillis
+) {
+    public static final String NO_VALUE = "정보 없음";
+
+    public UnifiedTrade {
+        // 문자열만 주어진 경우(역직렬화 등) 숫자 필드를 채움
+        if (priceValue == null) priceValue = decimal(price);
+        if (amountValue == null) amountValue = decimal(amount);
+        if (paidFeeValue == null) paidFeeValue = decimal(paid_fee);
+        if (timestampMillis == 0L) timestampMillis = epochMillis(timestamp);
+    }
+
+    public UnifiedTrade(String exchange, String symbol, String side, String price, String amount,
+                        String timestamp, String ord_type, String paid_fee) {
+        this(exchange, symbol, side, price, amount, timestamp, ord_type, paid_fee, null, null, null, 0L);
+    }
+
+    // 숫자 값에서 생성 (문자열 뷰는 값이 없으면 "정보 없음")
+    public static UnifiedTrade of(String exchange, String symbol, String side, BigDecimal price, BigDecimal amount,
+                                  String timestamp, String ordType, BigDecimal paidFee) {
+        return new UnifiedTrade(exchange, symbol, side, text(price), text(amount),
+                timestamp != null ? timestamp : NO_VALUE, ordType != null ? ordType : NO_VALUE, text(paidFee),
+                price, amount, paidFee, epochMillis(timestamp));
+    }
+
+    private static String text(BigDecimal v) {
+        return v == null ? NO_VALUE : v.toPlainString();
+    }
+
+    private static BigDecimal decimal(String v) {
+        if (v == null || v.isEmpty() || NO_VALUE.equals(v)) return null;
+        try {
+            return new BigDecimal(v);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long epochMillis(String v) {
+        if (v == null || v.isEmpty() || NO_VALUE.equals(v)) return 0L;
+        try {
+            return OffsetDateTime.parse(v).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0L;
+        }
+    }
+}
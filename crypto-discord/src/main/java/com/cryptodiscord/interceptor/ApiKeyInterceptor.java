@@ -1,30 +1,35 @@
 package com.cryptodiscord.interceptor;
 
+import com.cryptodiscord.component.RequestSigner;
 import com.cryptodiscord.component.UserApiKeys;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.apache.commons.codec.binary.Hex;
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 
 @Component
 public class ApiKeyInterceptor implements HandlerInterceptor {
     @Autowired
     private UserApiKeys userApiKeys;
+    @Autowired
+    private RequestSigner requestSigner;
+    @Autowired
+    private MeterRegistry meterRegistry;
     private static final String NONCE_HEADER = "X-Bot-Nonce";
     private static final String SIGNATURE_HEADER = "X-Bot-Signature";
     private static final long VALID_WINDOW_MS = 10000;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // SSE 등 비동기 응답의 재디스패치는 최초 요청에서 이미 인증됨 (nonce 는 그 사이 만료될 수 있음)
+        if (request.getDispatcherType() == DispatcherType.ASYNC) return true;
         String submittedNonce = request.getHeader(NONCE_HEADER);
         String submittedSignature = request.getHeader(SIGNATURE_HEADER);
         if (submittedNonce == null || submittedSignature == null) {
+            reject("missing");
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Nonce or Signature is missing");
             return false;
         }
@@ -32,34 +37,34 @@ public class ApiKeyInterceptor implements HandlerInterceptor {
         try {
             nonce = Long.parseLong(submittedNonce);
         } catch (NumberFormatException e) {
+            reject("bad_nonce");
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid Nonce format");
             return false;
         }
         long serverTime = System.currentTimeMillis();
         if (Math.abs(serverTime - nonce) > VALID_WINDOW_MS) {
+            reject("expired");
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Nonce is out of time window");
             return false;
         }
         try {
             String botSecretKey = userApiKeys.getBotSecretKey();
-            String expectedSignature = createHmacSha256(botSecretKey, submittedNonce);
-            if (MessageDigest.isEqual(expectedSignature.getBytes(), submittedSignature.toLowerCase().getBytes())) {
+            if (requestSigner.verifyHmacSha256Hex(botSecretKey, submittedNonce, submittedSignature)) {
                 return true;
             } else {
+                reject("bad_signature");
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid Signature");
                 return false;
             }
         } catch (Exception e) {
+            reject("error");
             response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Signature validation error");
             return false;
         }
     }
 
-    private String createHmacSha256(String secret, String data) throws Exception {
-        Mac hmacSha256 = Mac.getInstance("HmacSHA256");
-        SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-        hmacSha256.init(secretKeySpec);
-        byte[] hash = hmacSha256.doFinal(data.getBytes(StandardCharsets.UTF_8));
-        return Hex.encodeHexString(hash);
+    // 인증 거부 건수 (reason 별)
+    private void reject(String reason) {
+        meterRegistry.counter("auth.rejections", "reason", reason).increment();
     }
 }
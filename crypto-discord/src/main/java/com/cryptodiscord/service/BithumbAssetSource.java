@@ -0,0 +1,42 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.UserApiKeys;
+import com.cryptodiscord.dto.CoinAsset;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class BithumbAssetSource implements ExchangeAssetSource {
+    private final CryptoService cryptoService;
+    private final UserApiKeys userApiKeys;
+    private final long deadlineMs;
+
+    public BithumbAssetSource(CryptoService cryptoService, UserApiKeys userApiKeys,
+                              @Value("${crypto.exchange.bithumb.deadline-ms:5000}") long deadlineMs) {
+        this.cryptoService = cryptoService;
+        this.userApiKeys = userApiKeys;
+        this.deadlineMs = deadlineMs;
+    }
+
+    @Override
+    public String exchange() {
+        return "bithumb";
+    }
+
+    @Override
+    public long deadlineMillis() {
+        return deadlineMs;
+    }
+
+    @Override
+    public boolean configured(String discordId) {
+        return userApiKeys.hasKeys(discordId, "bithumb");
+    }
+
+    @Override
+    public List<CoinAsset> fetchAssets(String discordId) throws Exception {
+        return cryptoService.getBithumbAssets(discordId);
+    }
+}
@@ -1,28 +1,36 @@
 package com.cryptodiscord.service;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.cryptodiscord.component.AccountResponseCache;
+import com.cryptodiscord.component.BithumbResponseParser;
+import com.cryptodiscord.component.CrossRateEngine;
+import com.cryptodiscord.component.GateioClientRegistry;
+import com.cryptodiscord.component.OutboundRequestScheduler.Endpoint;
+import com.cryptodiscord.component.PriceSnapshotCache;
+import com.cryptodiscord.component.RequestSigner;
+import com.cryptodiscord.component.ResilientCaller;
+import com.cryptodiscord.component.TopOfBookStore;
 import com.cryptodiscord.component.UserApiKeys;
+import com.cryptodiscord.dto.BithumbAccount;
+import com.cryptodiscord.dto.BithumbOrder;
+import com.cryptodiscord.dto.CoinAsset;
 import com.cryptodiscord.dto.UnifiedTrade;
-import io.gate.gateapi.ApiClient;
-import io.gate.gateapi.Configuration;
-import io.gate.gateapi.api.SpotApi;
-import io.gate.gateapi.api.WalletApi;
-import io.gate.gateapi.models.TotalBalance;
+import io.gate.gateapi.models.SpotAccount;
+import io.gate.gateapi.models.Ticker;
 import io.gate.gateapi.models.Trade;
-import org.apache.http.NameValuePair;
-import org.apache.http.client.utils.URLEncodedUtils;
-import org.apache.http.message.BasicNameValuePair;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.message.BasicNameValuePair;
+import org.apache.hc.core5.net.WWWFormCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.math.BigInteger;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.util.*;
 
 @Service
@@ -31,144 +39,146 @@ public class CryptoService {
 
     private final RestTemplate restTemplate;
     private final UserApiKeys userApiKeys;
-
-    public CryptoService(RestTemplate restTemplate, UserApiKeys userApiKeys) {
+    private final PriceSnapshotCache priceSnapshotCache;
+    private final GateioClientRegistry gateioClients;
+    private final RequestSigner requestSigner;
+    private final BithumbResponseParser bithumbParser;
+    private final ResilientCaller resilientCaller;
+    private final AccountResponseCache accountCache;
+    private final TopOfBookStore topOfBook;
+    private final CrossRateEngine crossRateEngine;
+    private final long priceStaleMs;
+    private final String bithumbBaseUrl;
+
+    // 평가에 쓴 시세와 경과 시간, stale: priceStaleMs 보다 오래됐거나 시세를 찾지 못함
+    private record PricePoint(double price, long ageMs, boolean stale) {}
+
+    public CryptoService(RestTemplate restTemplate, UserApiKeys userApiKeys, PriceSnapshotCache priceSnapshotCache,
+                         GateioClientRegistry gateioClients, RequestSigner requestSigner,
+                         BithumbResponseParser bithumbParser, ResilientCaller resilientCaller,
+                         AccountResponseCache accountCache, TopOfBookStore topOfBook,
+                         CrossRateEngine crossRateEngine,
+                         @Value("${crypto.price.stale-ms:15000}") long priceStaleMs,
+                         @Value("${crypto.exchange.bithumb.base-url:https://api.bithumb.com}") String bithumbBaseUrl) {
         this.restTemplate = restTemplate;
         this.userApiKeys = userApiKeys;
+        this.priceSnapshotCache = priceSnapshotCache;
+        this.gateioClients = gateioClients;
+        this.requestSigner = requestSigner;
+        this.bithumbParser = bithumbParser;
+        this.resilientCaller = resilientCaller;
+        this.accountCache = accountCache;
+        this.topOfBook = topOfBook;
+        this.crossRateEngine = crossRateEngine;
+        this.priceStaleMs = priceStaleMs;
+        this.bithumbBaseUrl = bithumbBaseUrl;
+        // 사용자가 키를 바꾸면 이전 계정 응답과 서명 키는 버림
+        userApiKeys.addListener(accountCache::invalidate);
+        userApiKeys.addListener(requestSigner::forget);
     }
 
     // 빗썸 주문 내역 조회 api 호출
-    public Map<String, Object> getBithumbOrders(String discordId, String market, String state) throws Exception {
+    public List<BithumbOrder> getBithumbOrders(String discordId, String market, String state) throws Exception {
+        return getBithumbOrders(discordId, market, state, 1, 10);
+    }
+
+    // 페이지 단위 조회 (market 이 null 이면 전체 마켓, limit 최대 100)
+    public List<BithumbOrder> getBithumbOrders(String discordId, String market, String state, int page, int limit) throws Exception {
 
         UserApiKeys.ApiKeys keys = userApiKeys.getKeys(discordId, "bithumb");
         String accessKey = keys.apiKey();
         String secretKey = keys.secretKey();
 
-        String url = "https://api.bithumb.com/v1/orders";
+        String url = bithumbBaseUrl + "/v1/orders";
 
         List<NameValuePair> params = new ArrayList<>();
-        params.add(new BasicNameValuePair("market", market));
+        if (market != null) params.add(new BasicNameValuePair("market", market));
         params.add(new BasicNameValuePair("state", state));
-        params.add(new BasicNameValuePair("page", "1"));
-        params.add(new BasicNameValuePair("limit", "10"));
+        params.add(new BasicNameValuePair("page", Integer.toString(page)));
+        params.add(new BasicNameValuePair("limit", Integer.toString(limit)));
         params.add(new BasicNameValuePair("order_by", "desc"));
 
-        String query = URLEncodedUtils.format(params, StandardCharsets.UTF_8);
+        String query = WWWFormCodec.format(params, StandardCharsets.UTF_8);
 
-        MessageDigest md = MessageDigest.getInstance("SHA-512");
-        md.update(query.getBytes(StandardCharsets.UTF_8));
-        String queryHash = String.format("%0128x", new BigInteger(1, md.digest()));
+        String queryHash = requestSigner.sha512Hex(query);
 
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
-        String jwtToken = JWT.create()
-                .withClaim("access_key", accessKey)
-                .withClaim("nonce", UUID.randomUUID().toString())
-                .withClaim("timestamp", System.currentTimeMillis())
-                .withClaim("query_hash", queryHash)
-                .withClaim("query_hash_alg", "SHA512")
-                .sign(algorithm);
+        // ★ 배열 / {status, data} 두 형태 모두 스트리밍 파서가 처리
+        List<BithumbOrder> orders = resilientCaller.call("bithumb", Endpoint.PRIVATE, "orders", true, () -> {
+            // 대기열에서 기다린 뒤 서명해야 nonce/timestamp 가 만료되지 않음
+            String jwtToken = JWT.create()
+                    .withClaim("access_key", accessKey)
+                    .withClaim("nonce", UUID.randomUUID().toString())
+                    .withClaim("timestamp", System.currentTimeMillis())
+                    .withClaim("query_hash", queryHash)
+                    .withClaim("query_hash_alg", "SHA512")
+                    .sign(requestSigner.jwtAlgorithm(discordId, secretKey));
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + jwtToken);
+            return restTemplate.execute(url + "?" + query, HttpMethod.GET,
+                    request -> request.getHeaders().set("Authorization", "Bearer " + jwtToken),
+                    response -> bithumbParser.parseOrders(response.getBody()));
+        });
 
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
+        log.debug("[BITHUMB][RAW RESPONSE] 주문 {}건", orders == null ? 0 : orders.size());
+        return orders != null ? orders : List.of();
+    }
 
-        // ★ ResponseType을 Object로 받음
-        ResponseEntity<Object> response =
-                restTemplate.exchange(url + "?" + query, HttpMethod.GET, entity, Object.class);
+    // 주문 1건 조회 (uuid), 거래소에 없는 주문이면 null
+    public BithumbOrder getBithumbOrder(String discordId, String uuid) throws Exception {
+        UserApiKeys.ApiKeys keys = userApiKeys.getKeys(discordId, "bithumb");
+        String accessKey = keys.apiKey();
+        String secretKey = keys.secretKey();
 
-        Object body = response.getBody();
-        log.info("[BITHUMB][RAW RESPONSE] {}", body);
+        String query = WWWFormCodec.format(List.of(new BasicNameValuePair("uuid", uuid)), StandardCharsets.UTF_8);
+        String queryHash = requestSigner.sha512Hex(query);
+        String url = bithumbBaseUrl + "/v1/order?" + query;
 
-        // ★ 배열로 오는 경우 → 빈 data 처리
-        if (body instanceof List) {
-            return Map.of(
-                    "status", "0000",
-                    "data", body
-            );
+        try {
+            return resilientCaller.call("bithumb", Endpoint.PRIVATE, "order", false, () -> {
+                String jwtToken = JWT.create()
+                        .withClaim("access_key", accessKey)
+                        .withClaim("nonce", UUID.randomUUID().toString())
+                        .withClaim("timestamp", System.currentTimeMillis())
+                        .withClaim("query_hash", queryHash)
+                        .withClaim("query_hash_alg", "SHA512")
+                        .sign(requestSigner.jwtAlgorithm(discordId, secretKey));
+
+                return restTemplate.execute(url, HttpMethod.GET,
+                        request -> request.getHeaders().set("Authorization", "Bearer " + jwtToken),
+                        response -> bithumbParser.parseOrder(response.getBody()));
+            });
+        } catch (HttpClientErrorException.NotFound e) {
+            return null;
         }
-
-        // ★ 정상 Map 반환
-        return (Map<String, Object>) body;
-    }
-
-    private String safe(Object v) {
-        return v == null ? "정보 없음" : v.toString();
     }
 
     // 빗썸 주문 내역 조회
-    public List<UnifiedTrade> mapBithumbOrdersToUnifiedTrades(Map<String, Object> raw) {
+    public List<UnifiedTrade> mapBithumbOrdersToUnifiedTrades(List<BithumbOrder> orders) {
 
-        if (!"0000".equals(raw.get("status"))) {
-            log.warn("[BITHUMB] 상태 코드 0000 아님 → {}", raw);
-            return List.of();
-        }
+        List<UnifiedTrade> result = new ArrayList<>(orders.size());
 
-        List<Map<String,Object>> list = (List<Map<String,Object>>) raw.get("data");
-        if (list == null) {
-            log.warn("[BITHUMB] data 없음 → {}", raw);
-            return List.of();
-        }
+        for (BithumbOrder tx : orders) {
+
+            // 주문별 상세는 debug 에서만 (주문마다 INFO 17줄은 요청 경로 비용)
+            log.debug("[BITHUMB ORDER] {}", tx);
 
-        List<UnifiedTrade> result = new ArrayList<>();
-
-        for (Map<String,Object> tx : list) {
-
-            String uuid = safe(tx.get("uuid"));
-            String side = safe(tx.get("side"));
-            String ordType = safe(tx.get("ord_type"));
-            String state = safe(tx.get("state"));
-            String market = safe(tx.get("market"));
-            String createdAt = safe(tx.get("created_at"));
-
-            String price = safe(tx.get("price"));
-            String volume = safe(tx.get("volume"));
-            String remainingVolume = safe(tx.get("remaining_volume"));
-            String executedVolume = safe(tx.get("executed_volume"));
-
-            String reservedFee = safe(tx.get("reserved_fee"));
-            String remainingFee = safe(tx.get("remaining_fee"));
-            String paidFee = safe(tx.get("paid_fee"));
-            String locked = safe(tx.get("locked"));
-
-            String tradesCount = safe(tx.get("trades_count"));
-
-            // 🔥 주문 1건 전체 필드 로그 출력
-            log.info("[BITHUMB ORDER]");
-            log.info(" uuid              : {}", uuid);
-            log.info(" side              : {}", side);
-            log.info(" ord_type          : {}", ordType);
-            log.info(" price             : {}", price);
-            log.info(" volume            : {}", volume);
-            log.info(" remaining_volume  : {}", remainingVolume);
-            log.info(" executed_volume   : {}", executedVolume);
-            log.info(" market            : {}", market);
-            log.info(" state             : {}", state);
-            log.info(" created_at        : {}", createdAt);
-            log.info(" reserved_fee      : {}", reservedFee);
-            log.info(" remaining_fee     : {}", remainingFee);
-            log.info(" paid_fee          : {}", paidFee);
-            log.info(" locked            : {}", locked);
-            log.info(" trades_count      : {}", tradesCount);
-            log.info("--------------------------------------------------");
-
-            UnifiedTrade trade = new UnifiedTrade(
+            UnifiedTrade trade = UnifiedTrade.of(
                     "Bithumb",
-                    market,
-                    side,
-                    price,
-                    volume,
-                    createdAt,
-                    ordType,
-                    paidFee
+                    tx.market() != null ? tx.market() : UnifiedTrade.NO_VALUE,
+                    tx.side() != null ? tx.side() : UnifiedTrade.NO_VALUE,
+                    tx.price(),
+                    tx.volume(),
+                    tx.createdAt(),
+                    tx.ordType(),
+                    tx.paidFee()
             );
 
             result.add(trade);
         }
 
-        // 📌 변환된 UnifiedTrade 전체 로그 출력
-        log.info("[BITHUMB][PARSED TRADES] 총 {}건", result.size());
-        result.forEach(t -> log.info(" → {}", t));
+        if (log.isDebugEnabled()) {
+            log.debug("[BITHUMB][PARSED TRADES] 총 {}건", result.size());
+            result.forEach(t -> log.debug(" → {}", t));
+        }
 
         return result;
     }
@@ -176,63 +186,63 @@ public class CryptoService {
 
     // --- 4. 거래소별 API 헬퍼 ---
 
-    // 안전하게 Double 변환
-    private double parseDoubleSafe(Object obj) {
-        if (obj == null) return 0.0;
-        try {
-            return Double.parseDouble(obj.toString());
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
-    }
-
     // 빗썸 전체 자산 조회
-    public List<Map<String, Object>> getBithumbAssets(String discordId) {
+    public List<CoinAsset> getBithumbAssets(String discordId) throws Exception {
         UserApiKeys.ApiKeys keys = userApiKeys.getKeys(discordId, "bithumb");
-        HttpHeaders headers = createBithumbJwtHeaders(keys);
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
-                "https://api.bithumb.com/v1/accounts",
-                HttpMethod.GET,
-                entity,
-                new ParameterizedTypeReference<List<Map<String, Object>>>() {}
-        );
-
-        List<Map<String, Object>> coins = response.getBody();
-        if (coins != null) {
-            log.info("[BITHUMB] 전체 자산 목록:");
-            for (Map<String, Object> coin : coins) {
-                String currency = (String) coin.get("currency");
-                String unit_currency = (String) coin.get("unit_currency");
-                double balance = parseDoubleSafe(coin.get("balance"));
-                double locked = parseDoubleSafe(coin.get("locked"));
-                double avgBuyPrice = parseDoubleSafe(coin.get("avg_buy_price"));
-
-                // 현재 가격 가져오기
-                double currentPrice = "KRW".equalsIgnoreCase(currency) ? 1 : getBithumbCurrentPrice(currency + "_KRW");
-                coin.put("current_price", currentPrice);
-
-                // avg_buy_price가 0이면 current_price로 대체
-                if (avgBuyPrice == 0) coin.put("avg_buy_price", currentPrice);
-
-                log.info("코인: {}, balance: {}, locked: {}, avg_buy_price: {}, current_price: {} unit_currency: {}",
-                        currency, balance, locked, coin.get("avg_buy_price"), currentPrice, unit_currency);
-            }
-        } else {
+
+        // 잔고는 짧게 캐시하고 동시 요청은 호출 1건을 공유 (평가는 매번 최신 시세로)
+        List<BithumbAccount> accounts = accountCache.get(discordId, "bithumb.accounts", "", () -> {
+            List<BithumbAccount> fetched = resilientCaller.call("bithumb", Endpoint.PRIVATE, "accounts", true, () -> {
+                // 대기열에서 기다린 뒤 서명해야 nonce/timestamp 가 만료되지 않음
+                HttpHeaders headers = createBithumbJwtHeaders(discordId, keys);
+                return restTemplate.execute(
+                        bithumbBaseUrl + "/v1/accounts",
+                        HttpMethod.GET,
+                        request -> request.getHeaders().putAll(headers),
+                        response -> bithumbParser.parseAccounts(response.getBody())
+                );
+            });
+            return fetched == null ? List.<BithumbAccount>of() : List.copyOf(fetched);
+        });
+
+        if (accounts == null || accounts.isEmpty()) {
             log.warn("[BITHUMB] 자산 조회 결과가 없습니다.");
+            return Collections.emptyList();
+        }
+
+        // 코인별 시세 호출 대신 전체 시세 스냅샷 1개로 평가
+        PriceSnapshotCache.Snapshot snapshot = priceSnapshotCache.current();
+        log.debug("[BITHUMB] 전체 자산 목록: (시세 경과 {}ms)", snapshot.ageMillis());
+
+        List<CoinAsset> coins = new ArrayList<>(accounts.size());
+        for (BithumbAccount account : accounts) {
+            String currency = account.currency();
+            PricePoint price = resolveBithumbPrice(currency, snapshot);
+            double currentPrice = price.price();
+
+            // avg_buy_price가 0이면 current_price로 대체
+            BigDecimal avgBuyPrice = account.avgBuyPrice().signum() == 0
+                    ? BigDecimal.valueOf(currentPrice)
+                    : account.avgBuyPrice();
+
+            coins.add(new CoinAsset("bithumb", currency, account.balance(), account.locked(), avgBuyPrice,
+                    account.unitCurrency(), currentPrice, price.ageMs(), price.stale()));
+
+            if (log.isDebugEnabled()) {
+                log.debug("코인: {}, balance: {}, locked: {}, avg_buy_price: {}, current_price: {} unit_currency: {}",
+                        currency, account.balance(), account.locked(), avgBuyPrice, currentPrice, account.unitCurrency());
+            }
         }
-        return coins != null ? coins : Collections.emptyList();
+        return coins;
     }
 
     // JWT 헤더 생성
-    private HttpHeaders createBithumbJwtHeaders(UserApiKeys.ApiKeys keys) {
-        Algorithm algorithm = Algorithm.HMAC256(keys.secretKey());
+    private HttpHeaders createBithumbJwtHeaders(String discordId, UserApiKeys.ApiKeys keys) {
         String jwtToken = JWT.create()
                 .withClaim("access_key", keys.apiKey())
                 .withClaim("nonce", UUID.randomUUID().toString())
                 .withClaim("timestamp", System.currentTimeMillis())
-                .sign(algorithm);
+                .sign(requestSigner.jwtAlgorithm(discordId, keys.secretKey()));
 
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", "Bearer " + jwtToken);
@@ -240,26 +250,88 @@ public class CryptoService {
         return headers;
     }
 
-    private ApiClient createGateioApiClient(String discordId) {
-        UserApiKeys.ApiKeys keys = userApiKeys.getKeys(discordId, "gateio");
-        ApiClient apiClient = Configuration.getDefaultApiClient();
-        apiClient.setApiKeySecret(keys.apiKey(), keys.secretKey());
-        return apiClient;
+    // Gate.io 현물 자산 조회: 잔고 1회 + 전체 티커 1회 (코인 수와 무관하게 왕복 2번)
+    // <코인>_USDT 최근 체결가 × KRW/USDT(CrossRateEngine) 로 KRW 평가
+    public List<CoinAsset> getGateioAssets(String discordId) throws Exception {
+        // 키가 없으면 요청 한도를 쓰기 전에 실패 (빗썸과 같이 키 확인이 먼저)
+        userApiKeys.getKeys(discordId, "gateio");
+        List<SpotAccount> accounts = accountCache.get(discordId, "gateio.spot_accounts", "", () -> {
+            List<SpotAccount> fetched = resilientCaller.call("gateio", Endpoint.PRIVATE, "spot_accounts", true,
+                    () -> gateioClients.forUser(discordId).spotApi().listSpotAccounts().execute());
+            return fetched == null ? List.<SpotAccount>of() : List.copyOf(fetched);
+        });
+
+        if (accounts == null || accounts.isEmpty()) {
+            log.warn("[GATE.IO] 자산 조회 결과가 없습니다.");
+            return Collections.emptyList();
+        }
+
+        // 티커 호출이 실패해도 0원으로 평가하지 않고 백그라운드로 갱신 중인 환산 시세를 stale 표시와 함께 사용
+        Map<String, Double> usdtPrices = null;
+        try {
+            List<Ticker> tickers = resilientCaller.call("gateio", Endpoint.PUBLIC, "tickers", true,
+                    () -> gateioClients.publicSpotApi().listTickers().execute());
+            if (tickers != null) usdtPrices = usdtLastPrices(tickers);
+        } catch (Exception e) {
+            log.warn("[GATE.IO] 티커 조회 실패, 마지막 환산 시세 사용: {}", e.getMessage());
+        }
+        CrossRateEngine.Rate usdtKrw = crossRateEngine.usdtKrw();
+
+        List<CoinAsset> coins = new ArrayList<>(accounts.size());
+        for (SpotAccount account : accounts) {
+            String currency = account.getCurrency() == null ? "" : account.getCurrency().toUpperCase();
+            BigDecimal available = decimalOrZero(account.getAvailable());
+            BigDecimal locked = decimalOrZero(account.getLocked());
+            if (currency.isEmpty() || (available.signum() == 0 && locked.signum() == 0)) continue;
+
+            PricePoint price = resolveGateioPrice(currency, usdtPrices, usdtKrw);
+            // Gate.io 는 평단을 주지 않으므로 현재가로 표시 (빗썸 평단 0 처리와 동일)
+            coins.add(new CoinAsset("gateio", currency, available, locked, BigDecimal.valueOf(price.price()),
+                    "KRW", price.price(), price.ageMs(), price.stale()));
+        }
+        log.debug("[GATE.IO] 자산 {}건 (티커 {})", coins.size(), usdtPrices != null ? "ok" : "fallback");
+        return coins;
     }
 
-    private SpotApi createGateioSpotApi(String discordId) {
-        return new SpotApi(createGateioApiClient(discordId));
+    private static Map<String, Double> usdtLastPrices(List<Ticker> tickers) {
+        Map<String, Double> prices = new HashMap<>();
+        for (Ticker t : tickers) {
+            String pair = t.getCurrencyPair();
+            if (pair == null || !pair.endsWith("_USDT") || t.getLast() == null || t.getLast().isEmpty()) continue;
+            try {
+                prices.put(pair.substring(0, pair.length() - "_USDT".length()), Double.parseDouble(t.getLast()));
+            } catch (NumberFormatException ignored) {
+                // 상장 직후 등 체결가가 숫자가 아닌 페어는 건너뜀
+            }
+        }
+        return prices;
     }
 
-    private double getGateioTotalUsdt(String discordId) throws Exception {
-        WalletApi walletApi = new WalletApi(createGateioApiClient(discordId));
-        TotalBalance totalBalance = walletApi.getTotalBalance().execute();
-        if (totalBalance != null && totalBalance.getTotal() != null && totalBalance.getTotal().getAmount() != null) {
-            double result = Double.parseDouble(totalBalance.getTotal().getAmount());
-            log.info("[GATE.IO] 전체 USDT: {}", result);
-            return result;
+    private PricePoint resolveGateioPrice(String currency, Map<String, Double> usdtPrices, CrossRateEngine.Rate usdtKrw) {
+        if ("KRW".equals(currency)) return new PricePoint(1, 0, false);
+        if (usdtPrices != null && usdtKrw != null) {
+            Double usdt = "USDT".equals(currency) ? Double.valueOf(1.0) : usdtPrices.get(currency);
+            long age = usdtKrw.ageMillis();
+            if (usdt != null) return new PricePoint(usdt * usdtKrw.value(), age, age > priceStaleMs);
+            // USDT 마켓이 없는 코인은 다른 경로(빗썸 KRW 등)의 환산 시세가 있으면 사용
+        }
+        CrossRateEngine.Rate rate = crossRateEngine.krw(currency);
+        if (rate != null) {
+            boolean degraded = usdtPrices == null || usdtKrw == null;
+            return new PricePoint(rate.value(), rate.ageMillis(), degraded || rate.ageMillis() > priceStaleMs);
+        }
+        // 티커를 정상으로 받았는데 없는 코인은 시세가 없는 자산
+        boolean healthy = usdtPrices != null && usdtKrw != null;
+        return new PricePoint(0.0, healthy ? 0 : -1, !healthy);
+    }
+
+    private static BigDecimal decimalOrZero(String v) {
+        if (v == null || v.isEmpty()) return BigDecimal.ZERO;
+        try {
+            return new BigDecimal(v);
+        } catch (NumberFormatException e) {
+            return BigDecimal.ZERO;
         }
-        return 0.0;
     }
 
 //    private UnifiedTrade mapGateioToUnified(Trade trade) {
@@ -274,31 +346,25 @@ public class CryptoService {
                 tx.get("ord_type").toString(), tx.get("paid_fee").toString());
     }
 
-    private double getBithumbCurrentPrice(String pair) {
-        try {
-            String url = "https://api.bithumb.com/public/ticker/" + pair;
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-            if (response.getBody() != null && "0000".equals(response.getBody().get("status"))) {
-                Map<String,Object> data = (Map<String,Object>) response.getBody().get("data");
-                if (data != null && data.get("closing_price") != null) {
-                    return Double.parseDouble(data.get("closing_price").toString());
-                }
-            }
-        } catch (Exception ignored) {}
-        return 0.0;
-    }
-
-    private double getUsdKrwRate() {
-        try {
-            double btcKrw = getBithumbCurrentPrice("BTC_KRW");
-            double btcUsdt = getGateioCurrentPrice("BTC_USDT");
-            if (btcUsdt > 0) return btcKrw / btcUsdt;
-        } catch (Exception ignored) {}
-        return 1350.0;
+    // 평가에 쓰는 시세의 버전 (스냅샷 수신 시각 + 웹소켓 갱신 횟수), 같으면 같은 잔고의 평가 결과도 같음
+    public String priceVersion() {
+        return priceSnapshotCache.current().fetchedAt() + "." + topOfBook.version();
     }
 
-    private double getGateioCurrentPrice(String pair) throws Exception {
-        SpotApi spotApi = new SpotApi(Configuration.getDefaultApiClient());
-        return Double.parseDouble(spotApi.listTickers().currencyPair(pair).execute().get(0).getLast());
+    // 빗썸 KRW 시세 (메모리 조회만): 웹소켓 / 스냅샷 중 최신 값
+    // 거래소 장애로 갱신이 멈춰도 0원으로 평가하지 않고 마지막으로 받은 값을 stale 표시와 함께 사용
+    private PricePoint resolveBithumbPrice(String currency, PriceSnapshotCache.Snapshot snapshot) {
+        if ("KRW".equalsIgnoreCase(currency)) return new PricePoint(1, 0, false);
+        TopOfBookStore.Quote quote = topOfBook.get("bithumb", "KRW-" + currency);
+        boolean hasQuote = quote != null && !Double.isNaN(quote.price());
+        if (snapshot.contains(currency) && !(hasQuote && quote.ageMillis() < snapshot.ageMillis())) {
+            long age = snapshot.ageMillis();
+            return new PricePoint(snapshot.price(currency), age, age > priceStaleMs);
+        }
+        if (hasQuote) return new PricePoint(quote.price(), quote.ageMillis(), quote.ageMillis() > priceStaleMs);
+        // 스냅샷이 최신인데 없는 코인은 KRW 마켓이 없는 자산 (포인트 등)
+        long age = snapshot.ageMillis();
+        boolean snapshotHealthy = age >= 0 && age <= priceStaleMs;
+        return new PricePoint(0.0, snapshotHealthy ? age : -1, !snapshotHealthy);
     }
 }
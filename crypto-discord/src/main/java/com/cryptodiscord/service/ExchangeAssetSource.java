@@ -0,0 +1,22 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.dto.CoinAsset;
+
+import java.util.List;
+
+// 포트폴리오 집계 대상 거래소 (거래소별 구현체를 빈으로 등록하면 자동으로 합산됨)
+public interface ExchangeAssetSource {
+
+    // 응답에 표시할 거래소 이름 (bithumb, gateio ...)
+    String exchange();
+
+    // 이 거래소 조회에 허용할 최대 시간(ms)
+    long deadlineMillis();
+
+    // 사용자가 이 거래소 키를 등록했는지 (false 면 조회하지 않고 not_configured 로 표시)
+    default boolean configured(String discordId) {
+        return true;
+    }
+
+    List<CoinAsset> fetchAssets(String discordId) throws Exception;
+}
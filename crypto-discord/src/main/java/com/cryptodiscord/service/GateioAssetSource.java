@@ -0,0 +1,42 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.UserApiKeys;
+import com.cryptodiscord.dto.CoinAsset;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class GateioAssetSource implements ExchangeAssetSource {
+    private final CryptoService cryptoService;
+    private final UserApiKeys userApiKeys;
+    private final long deadlineMs;
+
+    public GateioAssetSource(CryptoService cryptoService, UserApiKeys userApiKeys,
+                             @Value("${crypto.exchange.gateio.deadline-ms:5000}") long deadlineMs) {
+        this.cryptoService = cryptoService;
+        this.userApiKeys = userApiKeys;
+        this.deadlineMs = deadlineMs;
+    }
+
+    @Override
+    public String exchange() {
+        return "gateio";
+    }
+
+    @Override
+    public long deadlineMillis() {
+        return deadlineMs;
+    }
+
+    @Override
+    public boolean configured(String discordId) {
+        return userApiKeys.hasKeys(discordId, "gateio");
+    }
+
+    @Override
+    public List<CoinAsset> fetchAssets(String discordId) throws Exception {
+        return cryptoService.getGateioAssets(discordId);
+    }
+}
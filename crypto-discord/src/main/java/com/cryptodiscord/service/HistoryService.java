@@ -0,0 +1,209 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.CrossRateEngine;
+import com.cryptodiscord.component.OutboundRequestScheduler;
+import com.cryptodiscord.component.TimeSeriesStore;
+import com.cryptodiscord.component.TimeSeriesStore.Resolution;
+import com.cryptodiscord.component.UserApiKeys;
+import com.cryptodiscord.dto.CoinAsset;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 포트폴리오 가치 / 시세 이력 기록 (TimeSeriesStore)
+// - 시세: sample-ms 마다 CrossRateEngine 의 KRW 가격 기록 (거래소 호출 없음)
+// - 포트폴리오: 조회 때 받은 거래소별 잔고를 보관해 두고 sample-ms 마다 현재 시세로 다시 평가해 합계 기록
+//   잔고는 balance-refresh-ms 마다 백그라운드로 재조회, 조회에 실패한 거래소는 직전 잔고 유지 (일시 장애가 급락으로 기록되지 않도록)
+// - 기록 대상 사용자: idle-ms 안에 자산/이력을 조회한 사용자 (재시작 후에는 저장된 시리즈에서 복구)
+//   그보다 오래 조회가 없으면 잔고를 버리고 재조회/기록 중단, 다시 조회하면 재개
+//   키를 지운 거래소의 잔고는 키 변경 통지 때 바로 버림 (남은 키가 없으면 사용자째)
+@Service
+public class HistoryService {
+    private static final Logger log = LoggerFactory.getLogger(HistoryService.class);
+    private static final String PORTFOLIO = "portfolio:";
+    private static final String PRICE = "price:";
+
+    private final TimeSeriesStore store;
+    private final PortfolioAggregator portfolioAggregator;
+    private final CrossRateEngine crossRateEngine;
+    private final OutboundRequestScheduler scheduler;
+    private final UserApiKeys userApiKeys;
+    private final List<String> symbols;
+    private final long priceStaleMs;
+    private final long idleMs;
+
+    // discord_id → 거래소 → 마지막으로 받은 잔고
+    private final Map<String, Map<String, List<CoinAsset>>> balances = new ConcurrentHashMap<>();
+    // discord_id → 마지막으로 직접 조회한 시각 (백그라운드 재조회는 포함하지 않음)
+    private final Map<String, Long> lastQueried = new ConcurrentHashMap<>();
+    // refreshBalances 가 재조회 중인 사용자 (그 결과로 lastQueried 를 늘리지 않도록)
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public HistoryService(TimeSeriesStore store, PortfolioAggregator portfolioAggregator,
+                          CrossRateEngine crossRateEngine, OutboundRequestScheduler scheduler,
+                          UserApiKeys userApiKeys,
+                          @Value("${crypto.history.symbols:BTC,ETH,XRP,SOL,USDT}") List<String> symbols,
+                          @Value("${crypto.price.stale-ms:15000}") long priceStaleMs,
+                          @Value("${crypto.history.idle-ms:604800000}") long idleMs) {
+        this.store = store;
+        this.portfolioAggregator = portfolioAggregator;
+        this.crossRateEngine = crossRateEngine;
+        this.scheduler = scheduler;
+        this.userApiKeys = userApiKeys;
+        this.symbols = symbols;
+        this.priceStaleMs = priceStaleMs;
+        this.idleMs = idleMs;
+    }
+
+    @PostConstruct
+    public void init() {
+        portfolioAggregator.addListener(this::onPortfolio);
+        userApiKeys.addListener(this::onKeysChanged);
+        long now = System.currentTimeMillis();
+        for (String key : store.keys(PORTFOLIO)) {
+            String discordId = key.substring(PORTFOLIO.length());
+            balances.putIfAbsent(discordId, new ConcurrentHashMap<>());
+            lastQueried.putIfAbsent(discordId, now);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void onPortfolio(String discordId, Map<String, Object> result) {
+        if (!isSeriesSafe(discordId)) return;
+        if (!refreshing.contains(discordId)) lastQueried.put(discordId, System.currentTimeMillis());
+        Map<String, Object> exchanges = (Map<String, Object>) result.getOrDefault("exchanges", Map.of());
+        List<CoinAsset> coins = (List<CoinAsset>) result.getOrDefault("coins", List.of());
+
+        Map<String, List<CoinAsset>> byExchange = new HashMap<>();
+        exchanges.forEach((exchange, status) -> {
+            if (status instanceof Map<?, ?> m && "ok".equals(m.get("status"))) byExchange.put(exchange, new ArrayList<>());
+        });
+        for (CoinAsset coin : coins) {
+            List<CoinAsset> list = byExchange.get(coin.exchange());
+            if (list != null) list.add(coin);
+        }
+        if (byExchange.isEmpty()) return;
+
+        Map<String, List<CoinAsset>> user = balances.computeIfAbsent(discordId, id -> new ConcurrentHashMap<>());
+        user.putAll(byExchange);
+        record(discordId, user, System.currentTimeMillis());
+    }
+
+    // 키를 지운 거래소 잔고는 더 이상 기록하지 않음 (이력 파일은 그대로)
+    void onKeysChanged(String discordId) {
+        Map<String, List<CoinAsset>> user = balances.get(discordId);
+        if (user == null) return;
+        user.keySet().removeIf(exchange -> !userApiKeys.hasKeys(discordId, exchange));
+        if (user.isEmpty() && UserApiKeys.EXCHANGES.stream().noneMatch(e -> userApiKeys.hasKeys(discordId, e))) {
+            forget(discordId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crypto.history.sample-ms:60000}")
+    public void sample() {
+        long now = System.currentTimeMillis();
+        Set<String> currencies = new TreeSet<>();
+        for (String s : symbols) currencies.add(s.trim().toUpperCase());
+        balances.forEach((discordId, user) -> {
+            user.values().forEach(list -> list.forEach(c -> currencies.add(c.currency())));
+            if (!user.isEmpty()) record(discordId, user, now);
+        });
+
+        for (String currency : currencies) {
+            if ("KRW".equals(currency) || "P".equals(currency) || !isSeriesSafe(currency)) continue;
+            CrossRateEngine.Rate rate = crossRateEngine.krw(currency);
+            // 갱신이 멈춘 시세는 같은 값을 반복 기록하지 않음
+            if (rate != null && rate.ageMillis() <= priceStaleMs) store.record(PRICE + currency, now, rate.value());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crypto.history.balance-refresh-ms:600000}",
+            initialDelayString = "${crypto.history.balance-refresh-ms:600000}")
+    public void refreshBalances() {
+        long idleBefore = System.currentTimeMillis() - idleMs;
+        for (String discordId : balances.keySet()) {
+            if (lastQueried.getOrDefault(discordId, 0L) < idleBefore) {
+                forget(discordId);
+                log.info("[HISTORY] {} 최근 조회가 없어 잔고 재조회 중단", discordId);
+                continue;
+            }
+            refreshing.add(discordId);
+            try {
+                // 결과는 리스너(onPortfolio)로 반영
+                scheduler.runInBackground(() -> portfolioAggregator.aggregate(discordId));
+            } catch (Exception e) {
+                log.warn("[HISTORY] {} 잔고 갱신 실패: {}", discordId, e.getMessage());
+            } finally {
+                refreshing.remove(discordId);
+            }
+        }
+    }
+
+    public Map<String, Object> portfolio(String discordId, long from, long to, Resolution resolution) {
+        // 이력 조회도 사용 중인 것으로 봄 (잔고가 남아 있는 사용자만)
+        if (balances.containsKey(discordId)) lastQueried.put(discordId, System.currentTimeMillis());
+        return toMap(PORTFOLIO + discordId, store.query(PORTFOLIO + discordId, resolution, from, to));
+    }
+
+    public Map<String, Object> price(String currency, long from, long to, Resolution resolution) {
+        String key = PRICE + currency.toUpperCase();
+        return toMap(key, store.query(key, resolution, from, to));
+    }
+
+    // 구간 길이에 맞는 기본 해상도 (6시간 이하 1m, 30일 이하 1h, 그 외 1d)
+    public Resolution defaultResolution(long rangeMs) {
+        if (rangeMs <= 6 * 3_600_000L) return Resolution.MINUTE;
+        if (rangeMs <= 30 * 86_400_000L) return Resolution.HOUR;
+        return Resolution.DAY;
+    }
+
+    private void forget(String discordId) {
+        balances.remove(discordId);
+        lastQueried.remove(discordId);
+    }
+
+    private void record(String discordId, Map<String, List<CoinAsset>> user, long at) {
+        double total = 0;
+        for (List<CoinAsset> list : user.values()) {
+            for (CoinAsset coin : list) total += value(coin);
+        }
+        store.record(PORTFOLIO + discordId, at, total);
+    }
+
+    // 보유 수량 × 현재 KRW 가격 (시세를 모르면 조회 당시 가격)
+    private double value(CoinAsset coin) {
+        BigDecimal qty = coin.balance() == null ? BigDecimal.ZERO : coin.balance();
+        if (coin.locked() != null) qty = qty.add(coin.locked());
+        String currency = coin.currency();
+        // 현금 / 포인트는 1원 단위
+        if ("KRW".equalsIgnoreCase(currency) || "P".equalsIgnoreCase(currency)) return qty.doubleValue();
+        CrossRateEngine.Rate rate = crossRateEngine.krw(currency);
+        double price = rate != null ? rate.value() : coin.current_price();
+        return qty.doubleValue() * price;
+    }
+
+    // 응답은 점 객체 없이 열 배열 그대로 (t: 버킷 시작 시각 ms)
+    private static Map<String, Object> toMap(String key, TimeSeriesStore.Range range) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("series", key);
+        m.put("resolution", range.resolution().label);
+        m.put("points", range.size());
+        m.put("t", range.t());
+        m.put("avg", range.avg());
+        m.put("min", range.min());
+        m.put("max", range.max());
+        m.put("last", range.last());
+        return m;
+    }
+
+    private static boolean isSeriesSafe(String id) {
+        return id != null && id.matches("[A-Za-z0-9_.-]{1,64}");
+    }
+}
@@ -0,0 +1,166 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.AccountResponseCache;
+import com.cryptodiscord.component.OrderJournal;
+import com.cryptodiscord.component.OutboundRequestScheduler;
+import com.cryptodiscord.component.UserApiKeys;
+import com.cryptodiscord.dto.BithumbOrder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 빗썸 주문 → 로컬 저널 동기화
+// - 최초 1회: 상태별로 전체 이력을 과거 방향으로 페이지 조회 (backfill)
+// - 이후: 최신 페이지부터 읽다가 이미 저널에 있는 주문을 만나면 중단 (증분)
+// - wait(미체결)은 상태가 계속 바뀌므로 매번 전체를 다시 확인
+// - 저널에 wait/watch 로 남아 있는데 현재 목록에 없는 주문은 uuid 로 다시 조회 (체결/취소된 오래된 주문은
+//   증분 조회가 멈추는 첫 페이지보다 뒤에 있어 done/cancel 목록으로는 발견되지 않음)
+@Service
+public class OrderSyncService {
+    private static final Logger log = LoggerFactory.getLogger(OrderSyncService.class);
+    private static final List<String> STATES = List.of("wait", "watch", "done", "cancel");
+    private static final List<String> OPEN_STATES = List.of("wait", "watch");
+    // 거래소에서 더 이상 찾을 수 없는 주문 (미체결로 계속 보이지 않도록)
+    static final String UNKNOWN = "unknown";
+    private static final int PAGE_SIZE = 100;
+
+    private final CryptoService cryptoService;
+    private final OrderJournal orderJournal;
+    private final OutboundRequestScheduler scheduler;
+    private final AccountResponseCache accountCache;
+    private final UserApiKeys userApiKeys;
+    private final long staleMs;
+    private final int maxPages;
+    private final Map<String, Long> lastSyncAt = new ConcurrentHashMap<>();
+    private final Map<String, Object> userLocks = new ConcurrentHashMap<>();
+    private final Set<String> syncing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "order-journal-sync");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public OrderSyncService(CryptoService cryptoService, OrderJournal orderJournal, OutboundRequestScheduler scheduler,
+                            AccountResponseCache accountCache, UserApiKeys userApiKeys,
+                            @Value("${crypto.journal.stale-ms:30000}") long staleMs,
+                            @Value("${crypto.journal.max-pages:500}") int maxPages) {
+        this.cryptoService = cryptoService;
+        this.orderJournal = orderJournal;
+        this.scheduler = scheduler;
+        this.accountCache = accountCache;
+        this.userApiKeys = userApiKeys;
+        this.staleMs = staleMs;
+        this.maxPages = maxPages;
+    }
+
+    // 조회 전에 호출: 한 번도 동기화하지 않은 사용자만 기다리고, 나머지는 저널에서 바로 응답
+    public void ensureSynced(String discordId) throws Exception {
+        boolean backfilled = STATES.stream().allMatch(s -> orderJournal.isBackfilled(discordId, s));
+        if (!backfilled) {
+            // 최초 동기화 중 같은 사용자의 요청이 겹치면 진행 중인 동기화 1건을 함께 기다림
+            accountCache.coalesce(discordId, "bithumb.orders.sync", "", () -> {
+                sync(discordId);
+                return null;
+            });
+        } else if (System.currentTimeMillis() - lastSyncAt.getOrDefault(discordId, 0L) > staleMs
+                && syncing.add(discordId)) {
+            // 오래된 경우 응답은 저널에서 바로 하고, 증분 동기화는 뒤에서 진행
+            syncExecutor.execute(() -> {
+                try {
+                    scheduler.runInBackground(() -> sync(discordId));
+                } catch (Exception e) {
+                    log.warn("[JOURNAL] {} 동기화 실패: {}", discordId, e.getMessage());
+                } finally {
+                    syncing.remove(discordId);
+                }
+            });
+        }
+    }
+
+    // 저널에 있는 사용자 전체를 주기적으로 증분 동기화 (빗썸 키를 지운 사용자는 건너뜀, 저널은 그대로 조회 가능)
+    @Scheduled(fixedDelayString = "${crypto.journal.sync-interval-ms:60000}")
+    public void syncAll() {
+        for (String discordId : orderJournal.users()) {
+            if (!userApiKeys.hasKeys(discordId, "bithumb")) continue;
+            try {
+                scheduler.runInBackground(() -> sync(discordId));
+            } catch (Exception e) {
+                // 거래소 장애 시에도 저널 조회는 계속 가능
+                log.warn("[JOURNAL] {} 동기화 실패: {}", discordId, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    public void sync(String discordId) throws Exception {
+        synchronized (userLocks.computeIfAbsent(discordId, id -> new Object())) {
+            int written = 0;
+            Set<String> open = new HashSet<>();
+            for (String state : STATES) {
+                written += syncState(discordId, state, open);
+            }
+            written += reconcileOpen(discordId, open);
+            lastSyncAt.put(discordId, System.currentTimeMillis());
+            if (written > 0) log.info("[JOURNAL] {} 주문 {}건 기록", discordId, written);
+        }
+    }
+
+    // open: 이번에 받은 wait/watch 주문 uuid
+    private int syncState(String discordId, String state, Set<String> open) throws Exception {
+        boolean backfill = !orderJournal.isBackfilled(discordId, state);
+        boolean terminal = "done".equals(state) || "cancel".equals(state);
+        int written = 0;
+
+        for (int page = 1; page <= maxPages; page++) {
+            List<BithumbOrder> orders = cryptoService.getBithumbOrders(discordId, null, state, page, PAGE_SIZE);
+
+            // 증분: 완료/취소 주문은 바뀌지 않으므로 이미 본 주문 이후는 조회할 필요 없음
+            boolean reachedKnown = !backfill && terminal
+                    && orders.stream().anyMatch(o -> orderJournal.contains(discordId, o));
+
+            if (!terminal) orders.forEach(o -> open.add(o.uuid()));
+            written += orderJournal.append(discordId, orders);
+            if (orders.size() < PAGE_SIZE || reachedKnown) {
+                if (backfill) orderJournal.markBackfilled(discordId, state);
+                break;
+            }
+        }
+        return written;
+    }
+
+    // 저널의 미체결 주문 중 현재 wait/watch 목록에 없는 것 → 개별 조회로 현재 상태 반영
+    private int reconcileOpen(String discordId, Set<String> open) throws Exception {
+        List<BithumbOrder> updated = new ArrayList<>();
+        for (String state : OPEN_STATES) {
+            for (BithumbOrder order : orderJournal.query(discordId, null, state, null, null, 1, Integer.MAX_VALUE)) {
+                if (open.contains(order.uuid())) continue;
+                BithumbOrder current = cryptoService.getBithumbOrder(discordId, order.uuid());
+                if (current == null) {
+                    log.warn("[JOURNAL] {} 주문 {} 을 거래소에서 찾을 수 없음 → {}", discordId, order.uuid(), UNKNOWN);
+                    current = new BithumbOrder(order.uuid(), order.side(), order.ordType(), order.price(), UNKNOWN,
+                            order.market(), order.createdAt(), order.volume(), order.remainingVolume(),
+                            order.executedVolume(), order.reservedFee(), order.remainingFee(), order.paidFee(),
+                            order.locked(), order.tradesCount());
+                }
+                updated.add(current);
+            }
+        }
+        return updated.isEmpty() ? 0 : orderJournal.append(discordId, updated);
+    }
+}
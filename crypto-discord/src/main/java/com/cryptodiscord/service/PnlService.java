@@ -0,0 +1,173 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.CrossRateEngine;
+import com.cryptodiscord.component.OrderJournal;
+import com.cryptodiscord.component.PnlBook;
+import com.cryptodiscord.dto.BithumbOrder;
+import com.cryptodiscord.dto.UnifiedTrade;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// 주문 저널 기반 손익 계산
+// - 사용자별 장부는 최초 조회 시 저널 전체를 created_at 순으로 한 번 재생해 만들고, 이후에는 새 체결분만 기록 순서대로 반영
+// - 같은 주문이 부분 체결 → 완료로 다시 기록되면 늘어난 체결 수량(executed_volume)만 체결로 반영
+// - 평가손익은 조회 시점의 시세(CrossRateEngine)로 마켓별 O(1) 계산
+@Service
+public class PnlService {
+    private static final Logger log = LoggerFactory.getLogger(PnlService.class);
+
+    private static final class Ledger {
+        final Map<String, PnlBook> books = new TreeMap<>();
+        // uuid → {반영한 체결 수량, 반영한 수수료}
+        final Map<String, double[]> applied = new HashMap<>();
+        final Queue<BithumbOrder> pending = new ConcurrentLinkedQueue<>();
+        int unpricedFills;
+        boolean loaded;
+    }
+
+    private final OrderJournal orderJournal;
+    private final OrderSyncService orderSyncService;
+    private final CrossRateEngine crossRateEngine;
+    private final Map<String, Ledger> ledgers = new ConcurrentHashMap<>();
+
+    public PnlService(OrderJournal orderJournal, OrderSyncService orderSyncService, CrossRateEngine crossRateEngine) {
+        this.orderJournal = orderJournal;
+        this.orderSyncService = orderSyncService;
+        this.crossRateEngine = crossRateEngine;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        // 저널 기록 스레드에서는 큐에 넣기만 하고, 반영은 조회 시점에
+        orderJournal.addListener((discordId, order) -> {
+            Ledger ledger = ledgers.get(discordId);
+            if (ledger != null) ledger.pending.add(order);
+        });
+    }
+
+    // method: average(이동평균) | fifo(선입선출)
+    public Map<String, Object> getPnl(String discordId, String method) throws Exception {
+        boolean fifo = "fifo".equalsIgnoreCase(method);
+        orderSyncService.ensureSynced(discordId);
+
+        Ledger ledger = ledgers.computeIfAbsent(discordId, id -> new Ledger());
+        List<Map<String, Object>> symbols = new ArrayList<>();
+        double realizedKrw = 0, unrealizedKrw = 0, feesKrw = 0;
+        int unpriced;
+
+        synchronized (ledger) {
+            catchUp(discordId, ledger);
+            unpriced = ledger.unpricedFills;
+
+            for (Map.Entry<String, PnlBook> e : ledger.books.entrySet()) {
+                PnlBook book = e.getValue();
+                String[] parts = e.getKey().split("-", 2);
+                String quote = parts[0];
+                String base = parts.length > 1 ? parts[1] : parts[0];
+
+                double mark = crossRateEngine.convert(1, base, quote);
+                double toKrw = crossRateEngine.convert(1, quote, "KRW");
+                double realized = book.realized(fifo);
+                double unrealized = book.position() > 0 && mark > 0 ? book.unrealized(mark, fifo) : 0;
+
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("symbol", e.getKey());
+                m.put("position", book.position());
+                m.put("avg_cost", fifo ? book.fifoAvgCost() : book.avgCost());
+                m.put("mark_price", mark);
+                m.put("realized", realized);
+                m.put("unrealized", unrealized);
+                m.put("fees", book.fees());
+                m.put("unmatched_qty", book.unmatchedQty());
+                m.put("fills", book.fills());
+                symbols.add(m);
+
+                realizedKrw += realized * toKrw;
+                unrealizedKrw += unrealized * toKrw;
+                feesKrw += book.fees() * toKrw;
+            }
+        }
+
+        Map<String, Object> total = new LinkedHashMap<>();
+        total.put("realized_krw", realizedKrw);
+        total.put("unrealized_krw", unrealizedKrw);
+        total.put("fees_krw", feesKrw);
+        total.put("net_krw", realizedKrw + unrealizedKrw - feesKrw);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("method", fifo ? "fifo" : "average");
+        result.put("symbols", symbols);
+        result.put("total", total);
+        result.put("unpriced_fills", unpriced);
+        return result;
+    }
+
+    private void catchUp(String discordId, Ledger ledger) {
+        if (!ledger.loaded) {
+            rebuild(discordId, ledger);
+            return;
+        }
+        // 체결은 기록된 순서(=실제 체결 시점 순)대로 반영
+        for (BithumbOrder o; (o = ledger.pending.poll()) != null; ) apply(ledger, o);
+    }
+
+    private void rebuild(String discordId, Ledger ledger) {
+        ledger.books.clear();
+        ledger.applied.clear();
+        ledger.pending.clear();
+        ledger.unpricedFills = 0;
+        // 큐를 비운 뒤 저널을 읽으므로 그 사이 기록분은 다음 조회에서 중복 없이(uuid 별 증가분만) 반영
+        for (BithumbOrder order : orderJournal.all(discordId)) {
+            apply(ledger, order);
+        }
+        ledger.loaded = true;
+        log.debug("[PNL] {} 장부 생성: 마켓 {}개, 가격 없는 체결 {}건", discordId, ledger.books.size(), ledger.unpricedFills);
+    }
+
+    // 체결 증가분 반영
+    private void apply(Ledger ledger, BithumbOrder order) {
+        if (order.uuid() == null || order.executedVolume() == null || order.market() == null) return;
+        double[] done = ledger.applied.computeIfAbsent(order.uuid(), k -> new double[2]);
+        BigDecimal executedDelta = order.executedVolume().subtract(BigDecimal.valueOf(done[0]));
+        if (executedDelta.signum() <= 0) return;
+        BigDecimal paidFee = order.paidFee() != null ? order.paidFee() : BigDecimal.ZERO;
+        BigDecimal feeDelta = paidFee.subtract(BigDecimal.valueOf(done[1])).max(BigDecimal.ZERO);
+
+        UnifiedTrade fill = toFill(order, executedDelta, feeDelta);
+        done[0] = order.executedVolume().doubleValue();
+        done[1] = paidFee.doubleValue();
+        if (fill.priceValue() == null) {
+            ledger.unpricedFills++;
+            return;
+        }
+
+        PnlBook book = ledger.books.computeIfAbsent(fill.symbol(), k -> new PnlBook());
+        double qty = fill.amountValue().doubleValue();
+        double price = fill.priceValue().doubleValue();
+        double fee = fill.paidFeeValue() != null ? fill.paidFeeValue().doubleValue() : 0;
+        if ("bid".equals(fill.side())) book.buy(qty, price, fee);
+        else if ("ask".equals(fill.side())) book.sell(qty, price, fee);
+    }
+
+    // 주문 → 체결 (가격은 지정가 주문가, 시장가 매수(price)는 주문 금액 / 체결 수량)
+    // 시장가 매도는 주문 목록에 체결가가 없어 가격 없음으로 처리
+    private static UnifiedTrade toFill(BithumbOrder o, BigDecimal qty, BigDecimal fee) {
+        BigDecimal price = null;
+        if ("price".equals(o.ordType())) {
+            if (o.price() != null && o.executedVolume() != null && o.executedVolume().signum() > 0) {
+                price = o.price().divide(o.executedVolume(), MathContext.DECIMAL64);
+            }
+        } else if (!"market".equals(o.ordType())) {
+            price = o.price();
+        }
+        return UnifiedTrade.of("Bithumb", o.market(), o.side(), price, qty, o.createdAt(), o.ordType(), fee);
+    }
+}
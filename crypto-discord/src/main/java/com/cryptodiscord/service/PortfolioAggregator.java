@@ -0,0 +1,116 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.CrossRateEngine;
+import com.cryptodiscord.component.OutboundRequestScheduler;
+import com.cryptodiscord.dto.CoinAsset;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+// 여러 거래소 자산을 동시에 조회해 하나의 포트폴리오로 합침
+// 거래소마다 deadline 을 두고, 시간 초과/실패한 거래소는 표시만 하고 나머지 결과는 그대로 반환
+@Service
+public class PortfolioAggregator {
+    private static final Logger log = LoggerFactory.getLogger(PortfolioAggregator.class);
+
+    private final List<ExchangeAssetSource> sources;
+    private final CrossRateEngine crossRateEngine;
+    private final OutboundRequestScheduler scheduler;
+    private final ExecutorService executor;
+    private final List<BiConsumer<String, Map<String, Object>>> listeners = new CopyOnWriteArrayList<>();
+
+    public PortfolioAggregator(List<ExchangeAssetSource> sources, CrossRateEngine crossRateEngine,
+                               OutboundRequestScheduler scheduler,
+                               @Value("${crypto.aggregate.pool-size:16}") int poolSize) {
+        this.sources = sources;
+        this.crossRateEngine = crossRateEngine;
+        this.scheduler = scheduler;
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "exchange-fanout-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public Map<String, Object> aggregate(String discordId) {
+        long start = System.nanoTime();
+
+        Map<ExchangeAssetSource, Future<List<CoinAsset>>> futures = new LinkedHashMap<>();
+        // 키가 없는 거래소는 호출하지 않음 (요청 한도 / 차단기 / 오류 통계에 잡히지 않도록)
+        Map<String, Object> exchanges = new LinkedHashMap<>();
+        for (ExchangeAssetSource source : sources) {
+            if (!source.configured(discordId)) {
+                exchanges.put(source.exchange(), Map.of("status", "not_configured"));
+                continue;
+            }
+            // 백그라운드 작업에서 부른 경우 거래소 호출도 BACKGROUND 로
+            futures.put(source, executor.submit(scheduler.inheritPriority(() -> source.fetchAssets(discordId))));
+        }
+
+        List<CoinAsset> coins = new ArrayList<>();
+
+        // 모두 동시에 출발했으므로 각 거래소의 남은 시간만큼만 기다림 → 전체 지연 = 가장 느린 거래소(deadline 이내)
+        for (Map.Entry<ExchangeAssetSource, Future<List<CoinAsset>>> e : futures.entrySet()) {
+            ExchangeAssetSource source = e.getKey();
+            Future<List<CoinAsset>> future = e.getValue();
+            long remainingNs = start + TimeUnit.MILLISECONDS.toNanos(source.deadlineMillis()) - System.nanoTime();
+
+            Map<String, Object> status = new LinkedHashMap<>();
+            try {
+                coins.addAll(future.get(Math.max(0L, remainingNs), TimeUnit.NANOSECONDS));
+                status.put("status", "ok");
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+                log.warn("[AGGREGATE] {} 조회 시간 초과 ({}ms)", source.exchange(), source.deadlineMillis());
+                status.put("status", "timeout");
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                log.warn("[AGGREGATE] {} 조회 실패: {}", source.exchange(), cause.getMessage());
+                status.put("status", "error");
+                status.put("message", String.valueOf(cause.getMessage()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                status.put("status", "error");
+                status.put("message", "interrupted");
+            }
+            status.put("elapsed_ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            exchanges.put(source.exchange(), status);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("coins", coins);
+        result.put("exchanges", exchanges);
+        // USDT 환산용 환율 (아직 시세가 없으면 null)
+        CrossRateEngine.Rate usdtKrw = crossRateEngine.usdtKrw();
+        result.put("usdt_krw", usdtKrw != null ? usdtKrw.value() : null);
+        result.put("usdt_krw_age_ms", usdtKrw != null ? usdtKrw.ageMillis() : null);
+
+        for (BiConsumer<String, Map<String, Object>> listener : listeners) {
+            try {
+                listener.accept(discordId, result);
+            } catch (RuntimeException ex) {
+                log.warn("[AGGREGATE] 리스너 처리 실패: {}", ex.getMessage());
+            }
+        }
+        return result;
+    }
+
+    // 집계 결과 통지 (요청 스레드에서 호출되므로 리스너는 가볍게 유지)
+    public void addListener(BiConsumer<String, Map<String, Object>> listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
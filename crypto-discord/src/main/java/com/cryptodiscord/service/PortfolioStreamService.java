@@ -0,0 +1,254 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.OutboundRequestScheduler;
+import com.cryptodiscord.component.PriceSnapshotCache;
+import com.cryptodiscord.component.TopOfBookStore;
+import com.cryptodiscord.dto.CoinAsset;
+import com.cryptodiscord.dto.CoinValuation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 포트폴리오 SSE 스트림 (/api/my-assets/stream)
+// - 구독 직후 전체(snapshot) 1회, 이후에는 바뀐 코인만(delta) 전송
+// - 같은 계정의 구독자들은 하나의 스트림을 공유 (잔고 조회/평가는 계정당 1번)
+// - 잔고는 balance-refresh-ms 마다 거래소 조회 (BACKGROUND 우선순위, 스트림 락 밖에서), 시세는 스냅샷이 바뀔 때마다 메모리에서 재평가
+// - 전송은 계정별로 min-interval-ms 이상 간격으로 묶어서 (그 사이 변경은 합쳐짐)
+@Service
+public class PortfolioStreamService {
+    private static final Logger log = LoggerFactory.getLogger(PortfolioStreamService.class);
+
+    private final PortfolioAggregator portfolioAggregator;
+    private final PriceSnapshotCache priceSnapshotCache;
+    private final TopOfBookStore topOfBook;
+    private final OutboundRequestScheduler scheduler;
+    private final long minIntervalMs;
+    private final long balanceRefreshMs;
+    private final long sseTimeoutMs;
+    private final ScheduledExecutorService executor;
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private volatile long priceVersion;
+
+    public PortfolioStreamService(PortfolioAggregator portfolioAggregator, PriceSnapshotCache priceSnapshotCache,
+                                  TopOfBookStore topOfBook, OutboundRequestScheduler scheduler,
+                                  @Value("${crypto.portfolio-stream.min-interval-ms:1000}") long minIntervalMs,
+                                  @Value("${crypto.portfolio-stream.balance-refresh-ms:10000}") long balanceRefreshMs,
+                                  @Value("${crypto.portfolio-stream.sse-timeout-ms:0}") long sseTimeoutMs,
+                                  @Value("${crypto.portfolio-stream.pool-size:4}") int poolSize) {
+        this.portfolioAggregator = portfolioAggregator;
+        this.priceSnapshotCache = priceSnapshotCache;
+        this.topOfBook = topOfBook;
+        this.scheduler = scheduler;
+        this.minIntervalMs = minIntervalMs;
+        this.balanceRefreshMs = balanceRefreshMs;
+        this.sseTimeoutMs = sseTimeoutMs;
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "portfolio-stream-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    public void init() {
+        // 새 시세 스냅샷이 오면 버전만 올리고, 재평가는 각 스트림의 다음 주기에
+        priceSnapshotCache.addListener(s -> priceVersion = s.fetchedAt());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        streams.values().forEach(s -> s.emitters.forEach(SseEmitter::complete));
+    }
+
+    public SseEmitter subscribe(String discordId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        Stream stream = streams.compute(discordId, (id, existing) -> {
+            Stream s = existing != null ? existing : new Stream(id);
+            s.emitters.add(emitter);
+            return s;
+        });
+        Runnable leave = () -> unsubscribe(discordId, stream, emitter);
+        emitter.onCompletion(leave);
+        emitter.onTimeout(leave);
+        emitter.onError(e -> leave.run());
+
+        // 이미 돌고 있는 스트림이면 현재 상태를 바로 전체로 보내고, 새 스트림이면 첫 주기에서 전송
+        executor.execute(() -> stream.sendSnapshot(emitter));
+        return emitter;
+    }
+
+    public Map<String, Object> stats() {
+        int subscribers = 0;
+        for (Stream s : streams.values()) subscribers += s.emitters.size();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("streams", streams.size());
+        m.put("subscribers", subscribers);
+        return m;
+    }
+
+    private void unsubscribe(String discordId, Stream stream, SseEmitter emitter) {
+        streams.computeIfPresent(discordId, (id, s) -> {
+            if (s != stream) return s;
+            s.emitters.remove(emitter);
+            if (!s.emitters.isEmpty()) return s;
+            s.task.cancel(false);
+            return null;
+        });
+    }
+
+    private final class Stream {
+        final String discordId;
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        final ScheduledFuture<?> task;
+
+        // 아래 상태는 스트림 작업(한 번에 1개 실행)과 sendSnapshot 에서만 접근, this 로 동기화
+        // (거래소 조회는 락 밖에서 하고 결과 교체만 락 안에서 → 조회 중에도 구독/전송이 막히지 않음)
+        List<CoinAsset> balances;
+        long balancesAt;
+        long pricedVersion = -1;
+        Map<String, CoinValuation> last;
+        Map<String, Object> exchanges = Map.of();
+
+        Stream(String discordId) {
+            this.discordId = discordId;
+            this.task = executor.scheduleWithFixedDelay(this::tick, 0, minIntervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        @SuppressWarnings("unchecked")
+        void tick() {
+            try {
+                long now = System.currentTimeMillis();
+                boolean balanceDue;
+                synchronized (this) {
+                    balanceDue = balances == null || now - balancesAt >= balanceRefreshMs;
+                }
+                Map<String, Object> result = null;
+                if (balanceDue) {
+                    // 주기적 갱신이므로 봇 명령(INTERACTIVE)보다 뒤로
+                    AtomicReference<Map<String, Object>> fetched = new AtomicReference<>();
+                    scheduler.runInBackground(() -> fetched.set(portfolioAggregator.aggregate(discordId)));
+                    result = fetched.get();
+                }
+
+                Map<String, CoinValuation> next;
+                synchronized (this) {
+                    if (result != null) {
+                        balances = merge(balances, (List<CoinAsset>) result.get("coins"),
+                                (Map<String, Object>) result.get("exchanges"));
+                        exchanges = (Map<String, Object>) result.get("exchanges");
+                        balancesAt = now;
+                    }
+                    // 웹소켓 시세는 계속 들어오므로 주기마다 재평가 (변화 없으면 전송 없음)
+                    long version = topOfBook.size() > 0 ? now : priceVersion;
+                    if (result == null && version == pricedVersion) return;
+                    pricedVersion = version;
+                    next = value(balances);
+
+                    if (last == null) {
+                        last = next;
+                        for (SseEmitter emitter : emitters) send(emitter, "snapshot", snapshotPayload());
+                        return;
+                    }
+                    Map<String, Object> delta = diff(last, next);
+                    last = next;
+                    if (delta == null) return;
+                    for (SseEmitter emitter : emitters) send(emitter, "delta", delta);
+                }
+            } catch (Exception e) {
+                log.warn("[STREAM] {} 갱신 실패: {}", discordId, e.getMessage());
+            }
+        }
+
+        void sendSnapshot(SseEmitter emitter) {
+            synchronized (this) {
+                if (last != null) send(emitter, "snapshot", snapshotPayload());
+            }
+        }
+
+        private Map<String, Object> snapshotPayload() {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("coins", last.values());
+            payload.put("exchanges", exchanges);
+            payload.put("total_krw", total(last));
+            return payload;
+        }
+
+        private void send(SseEmitter emitter, String name, Map<String, Object> payload) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(payload));
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    // 최근 잔고 × 현재 시세 (웹소켓 → 스냅샷 순, 둘 다 없는 코인은 조회 당시 가격 유지)
+    private Map<String, CoinValuation> value(List<CoinAsset> coins) {
+        PriceSnapshotCache.Snapshot snapshot = priceSnapshotCache.current();
+        Map<String, CoinValuation> result = new LinkedHashMap<>(coins.size() * 2);
+        for (CoinAsset coin : coins) {
+            double price = coin.current_price();
+            if ("bithumb".equals(coin.exchange())) {
+                double live = topOfBook.freshPrice("bithumb", "KRW-" + coin.currency(), snapshot.ageMillis());
+                if (!Double.isNaN(live)) price = live;
+                else if (snapshot.contains(coin.currency())) price = snapshot.price(coin.currency());
+            }
+            CoinValuation v = CoinValuation.of(coin, price);
+            result.put(v.key(), v);
+        }
+        return result;
+    }
+
+    // 이번 조회에서 시간 초과/오류인 거래소는 직전 잔고 유지
+    // (빈 목록으로 바꾸면 removed 후 다음 정상 조회 때 changed 가 한꺼번에 나감, 키를 지운 not_configured 는 버림)
+    static List<CoinAsset> merge(List<CoinAsset> previous, List<CoinAsset> coins, Map<String, Object> exchanges) {
+        if (previous == null || exchanges == null) return coins;
+        Set<String> failed = new HashSet<>();
+        exchanges.forEach((exchange, status) -> {
+            Object s = status instanceof Map<?, ?> m ? m.get("status") : null;
+            if ("timeout".equals(s) || "error".equals(s)) failed.add(exchange);
+        });
+        if (failed.isEmpty()) return coins;
+        List<CoinAsset> merged = new ArrayList<>(coins);
+        for (CoinAsset coin : previous) {
+            if (failed.contains(coin.exchange())) merged.add(coin);
+        }
+        return merged;
+    }
+
+    // 바뀐 코인과 사라진 코인만, 변화가 없으면 null
+    static Map<String, Object> diff(Map<String, CoinValuation> previous, Map<String, CoinValuation> next) {
+        List<CoinValuation> changed = new ArrayList<>();
+        for (Map.Entry<String, CoinValuation> e : next.entrySet()) {
+            if (!e.getValue().equals(previous.get(e.getKey()))) changed.add(e.getValue());
+        }
+        List<String> removed = new ArrayList<>();
+        for (String key : previous.keySet()) {
+            if (!next.containsKey(key)) removed.add(key);
+        }
+        if (changed.isEmpty() && removed.isEmpty()) return null;
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("changed", changed);
+        delta.put("removed", removed);
+        delta.put("total_krw", total(next));
+        return delta;
+    }
+
+    private static double total(Map<String, CoinValuation> coins) {
+        double sum = 0;
+        for (CoinValuation v : coins.values()) sum += v.valuation();
+        return sum;
+    }
+}
@@ -0,0 +1,217 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.PriceAlertIndex;
+import com.cryptodiscord.component.PriceSnapshotCache;
+import com.cryptodiscord.dto.PriceAlert;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 가격 알림: 등록/조회/삭제 + 빗썸 시세 스냅샷 갱신마다 발동 확인 + SSE 로 봇에 전달
+// - 시세는 자산 평가와 같은 PriceSnapshotCache (추가 거래소 호출 없음)
+// - 발동 이벤트는 최근 N건을 보관해 봇이 재접속하면 Last-Event-ID 이후분을 다시 보냄
+// - 알림 목록은 변경 시 표시만 하고 주기적으로 파일에 저장 (재시작 후 복구)
+@Service
+public class PriceAlertService {
+    private static final Logger log = LoggerFactory.getLogger(PriceAlertService.class);
+    private static final Set<String> TYPES = Set.of("above", "below", "percent");
+
+    private final PriceSnapshotCache priceSnapshotCache;
+    private final ObjectMapper objectMapper;
+    private final PriceAlertIndex index = new PriceAlertIndex();
+    private final AtomicLong alertSeq = new AtomicLong();
+    private final Path file;
+    private final int maxPerUser;
+    private final int replaySize;
+    private final long sseTimeoutMs;
+    private volatile boolean dirty;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final Deque<Map<String, Object>> recentEvents = new ArrayDeque<>();
+    private long eventSeq;
+    // 전송은 별도 스레드 (느린 구독자가 시세 갱신을 막지 않도록)
+    private final ExecutorService deliveryExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "price-alert-delivery");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public PriceAlertService(PriceSnapshotCache priceSnapshotCache, ObjectMapper objectMapper,
+                             @Value("${crypto.alerts.dir:data}") String dir,
+                             @Value("${crypto.alerts.max-per-user:100}") int maxPerUser,
+                             @Value("${crypto.alerts.replay-size:1000}") int replaySize,
+                             @Value("${crypto.alerts.sse-timeout-ms:0}") long sseTimeoutMs) {
+        this.priceSnapshotCache = priceSnapshotCache;
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(dir, "alerts.json");
+        this.maxPerUser = maxPerUser;
+        this.replaySize = replaySize;
+        this.sseTimeoutMs = sseTimeoutMs;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (Files.exists(file)) {
+            List<PriceAlert> saved = objectMapper.readValue(file.toFile(), new TypeReference<List<PriceAlert>>() {});
+            for (PriceAlert alert : saved) {
+                index.add(alert);
+                alertSeq.accumulateAndGet(alert.id(), Math::max);
+            }
+            log.info("[ALERT] {}건 복구", saved.size());
+        }
+        priceSnapshotCache.addListener(this::onSnapshot);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        flush();
+        deliveryExecutor.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    public PriceAlert register(String discordId, String symbol, String type, double value) {
+        String sym = symbol.toUpperCase();
+        String t = type.toLowerCase();
+        if (!TYPES.contains(t)) throw new IllegalArgumentException("알림 종류는 above / below / percent 중 하나입니다.");
+        if (value <= 0) throw new IllegalArgumentException("알림 값은 0보다 커야 합니다.");
+        if (index.countForUser(discordId) >= maxPerUser) {
+            throw new IllegalArgumentException("알림은 최대 " + maxPerUser + "개까지 등록할 수 있습니다.");
+        }
+        PriceSnapshotCache.Snapshot snapshot = priceSnapshotCache.current();
+        if (!snapshot.contains(sym)) throw new IllegalArgumentException("시세가 없는 종목입니다: " + sym);
+        double base = snapshot.price(sym);
+
+        Double upper = null;
+        Double lower = null;
+        switch (t) {
+            case "above" -> upper = value;
+            case "below" -> lower = value;
+            default -> {
+                upper = base * (1 + value / 100);
+                lower = base * (1 - value / 100);
+            }
+        }
+        PriceAlert alert = new PriceAlert(alertSeq.incrementAndGet(), discordId, sym, t, value, base,
+                upper, lower, System.currentTimeMillis());
+        index.add(alert);
+        dirty = true;
+        return alert;
+    }
+
+    public List<PriceAlert> list(String discordId) {
+        return index.forUser(discordId);
+    }
+
+    public boolean delete(String discordId, long id) {
+        List<PriceAlert> mine = index.forUser(discordId);
+        if (mine.stream().noneMatch(a -> a.id() == id)) return false;
+        index.remove(id);
+        dirty = true;
+        return true;
+    }
+
+    // 봇 구독 (lastEventId 이후 놓친 이벤트부터 전송)
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        List<Map<String, Object>> missed = new ArrayList<>();
+        synchronized (recentEvents) {
+            if (lastEventId != null) {
+                for (Map<String, Object> event : recentEvents) {
+                    if ((long) event.get("event_id") > lastEventId) missed.add(event);
+                }
+            }
+            emitters.add(emitter);
+        }
+        deliveryExecutor.execute(() -> missed.forEach(event -> send(emitter, event)));
+        return emitter;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("alerts", index.size());
+        m.put("symbols", index.symbols().size());
+        m.put("subscribers", emitters.size());
+        return m;
+    }
+
+    // 시세 갱신마다: 알림이 걸린 심볼만, 넘어선 임계값만 확인
+    void onSnapshot(PriceSnapshotCache.Snapshot snapshot) {
+        for (String symbol : index.symbols()) {
+            if (!snapshot.contains(symbol)) continue;
+            double price = snapshot.price(symbol);
+            for (PriceAlert alert : index.crossed(symbol, price)) {
+                dirty = true;
+                publish(alert, price, snapshot.fetchedAt());
+            }
+        }
+    }
+
+    private void publish(PriceAlert alert, double price, long at) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        synchronized (recentEvents) {
+            event.put("event_id", ++eventSeq);
+            event.put("alert", alert);
+            event.put("price", price);
+            event.put("fired_at", at);
+            recentEvents.addLast(event);
+            while (recentEvents.size() > replaySize) recentEvents.removeFirst();
+        }
+        log.info("[ALERT] {} {} {} 발동 (현재가 {})", alert.discord_id(), alert.symbol(), alert.type(), price);
+        deliveryExecutor.execute(() -> emitters.forEach(emitter -> send(emitter, event)));
+    }
+
+    private void send(SseEmitter emitter, Map<String, Object> event) {
+        try {
+            emitter.send(SseEmitter.event().id(event.get("event_id").toString()).name("alert").data(event));
+        } catch (Exception e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    // 프록시/봇이 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트 전송
+    @Scheduled(fixedDelayString = "${crypto.alerts.heartbeat-ms:15000}")
+    public void heartbeat() {
+        deliveryExecutor.execute(() -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (Exception e) {
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${crypto.alerts.flush-ms:5000}")
+    public void flush() throws IOException {
+        if (!dirty) return;
+        dirty = false;
+        // 임시 파일에 쓰고 교체 (쓰는 도중 종료돼도 이전 파일 유지)
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        objectMapper.writeValue(tmp.toFile(), index.all());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,113 @@
+package com.cryptodiscord.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountResponseCacheTest {
+
+    private static AccountResponseCache cache(long ttlMs, long staleMs, int maxEntries) {
+        return new AccountResponseCache(new OutboundRequestScheduler(new MockEnvironment(), new SimpleMeterRegistry(), 1000, 1000),
+                ttlMs, staleMs, maxEntries, 5000);
+    }
+
+    @Test
+    void concurrentMissesShareOneCall() throws Exception {
+        AccountResponseCache cache = cache(60_000, 0, 10);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.get("u1", "bithumb.accounts", "", () -> {
+                    calls.incrementAndGet();
+                    release.await();
+                    return "balance";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> f : results) assertEquals("balance", f.get());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals("balance", cache.get("u1", "bithumb.accounts", "", () -> "unused"));
+        assertEquals(1L, cache.stats().get("misses"));
+        assertEquals(1L, cache.stats().get("hits"));
+    }
+
+    @Test
+    void staleValueIsServedWhileRefreshing() throws Exception {
+        AccountResponseCache cache = cache(0, 60_000, 10);
+        assertEquals("v1", cache.get("u1", "bithumb.accounts", "", () -> "v1"));
+        Thread.sleep(5);
+
+        CountDownLatch refreshed = new CountDownLatch(1);
+        assertEquals("v1", cache.get("u1", "bithumb.accounts", "", () -> {
+            refreshed.countDown();
+            return "v2";
+        }));
+        refreshed.await();
+        Thread.sleep(50);
+        assertEquals("v2", cache.get("u1", "bithumb.accounts", "", () -> "v3"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() throws Exception {
+        AccountResponseCache cache = cache(60_000, 0, 2);
+        cache.get("u1", "bithumb.accounts", "", () -> "a");
+        cache.get("u2", "bithumb.accounts", "", () -> "b");
+        cache.get("u1", "bithumb.accounts", "", () -> "unused");
+        cache.get("u3", "bithumb.accounts", "", () -> "c");
+
+        assertEquals(1L, cache.stats().get("evictions"));
+        assertEquals("a", cache.get("u1", "bithumb.accounts", "", () -> "reloaded"));
+        assertEquals("reloaded", cache.get("u2", "bithumb.accounts", "", () -> "reloaded"));
+    }
+
+    @Test
+    void errorInLoaderDoesNotLeaveWaitersBlocked() throws Exception {
+        AccountResponseCache cache = cache(60_000, 0, 10);
+        assertThrows(NoClassDefFoundError.class, () -> cache.get("u1", "bithumb.accounts", "", () -> {
+            throw new NoClassDefFoundError("x");
+        }));
+        // inflight 가 비워졌으므로 다음 요청은 기다리지 않고 다시 조회
+        assertEquals("ok", cache.get("u1", "bithumb.accounts", "", () -> "ok"));
+    }
+
+    @Test
+    void waitingOnSlowCallIsBounded() throws Exception {
+        AccountResponseCache cache = new AccountResponseCache(
+                new OutboundRequestScheduler(new MockEnvironment(), new SimpleMeterRegistry(), 1000, 1000), 60_000, 0, 10, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> cache.get("u1", "bithumb.accounts", "", () -> {
+                started.countDown();
+                release.await();
+                return "late";
+            }));
+            started.await();
+            assertThrows(TimeoutException.class, () -> cache.get("u1", "bithumb.accounts", "", () -> "unused"));
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+}
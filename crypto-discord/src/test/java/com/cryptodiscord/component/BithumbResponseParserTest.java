@@ -0,0 +1,80 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.dto.BithumbAccount;
+import com.cryptodiscord.dto.BithumbOrder;
+import com.cryptodiscord.dto.BithumbTicker;
+import com.cryptodiscord.dto.UnifiedTrade;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BithumbResponseParserTest {
+    private final BithumbResponseParser parser = new BithumbResponseParser();
+
+    private static InputStream json(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parsesAccountsKeepingDecimalScale() throws Exception {
+        List<BithumbAccount> accounts = parser.parseAccounts(json("""
+                [{"currency":"BTC","balance":"0.00100000","locked":"0","avg_buy_price":"95000000",
+                  "avg_buy_price_modified":false,"unit_currency":"KRW","extra":{"nested":[1,2]}}]"""));
+
+        assertEquals(1, accounts.size());
+        assertEquals("BTC", accounts.get(0).currency());
+        assertEquals("0.00100000", accounts.get(0).balance().toPlainString());
+        assertEquals(0, new BigDecimal("95000000").compareTo(accounts.get(0).avgBuyPrice()));
+    }
+
+    @Test
+    void parsesOrdersFromArrayOrStatusEnvelope() throws Exception {
+        String order = """
+                {"uuid":"u1","side":"bid","ord_type":"price","price":null,"state":"done","market":"KRW-BTC",
+                 "created_at":"2025-11-13T12:34:56+09:00","volume":"0.5","paid_fee":"12.5","trades_count":2}""";
+
+        List<BithumbOrder> fromArray = parser.parseOrders(json("[" + order + "]"));
+        List<BithumbOrder> fromEnvelope = parser.parseOrders(json("{\"status\":\"0000\",\"data\":[" + order + "]}"));
+        List<BithumbOrder> failed = parser.parseOrders(json("{\"status\":\"5600\",\"message\":\"error\"}"));
+
+        assertEquals(fromArray, fromEnvelope);
+        assertNull(fromArray.get(0).price());
+        assertEquals(2, fromArray.get(0).tradesCount());
+        assertTrue(failed.isEmpty());
+        // 개별 주문 조회(/v1/order): 객체 1개 + trades 배열
+        String single = order.substring(0, order.length() - 1) + ",\"trades\":[{\"uuid\":\"t1\",\"volume\":\"0.5\"}]}";
+        assertEquals(fromArray.get(0), parser.parseOrder(json(single)));
+    }
+
+    @Test
+    void parsesAllKrwTickersSkippingMetaFields() throws Exception {
+        List<BithumbTicker> tickers = parser.parseAllTickers(json("""
+                {"status":"0000","data":{"BTC":{"opening_price":"1","closing_price":"95000000.5"},
+                 "ETH":{"closing_price":"4500000"},"date":"1700000000000"}}"""));
+
+        assertEquals(List.of(new BithumbTicker("BTC", 95000000.5), new BithumbTicker("ETH", 4500000)), tickers);
+    }
+
+    @Test
+    void unifiedTradeJsonKeepsStringViewOnly() throws Exception {
+        UnifiedTrade trade = UnifiedTrade.of("Bithumb", "KRW-BTC", "bid", null, new BigDecimal("0.50"),
+                "2025-11-13T12:34:56+09:00", "limit", new BigDecimal("12.5"));
+        ObjectMapper mapper = new ObjectMapper();
+
+        Map<String, Object> json = mapper.readValue(mapper.writeValueAsString(trade), Map.class);
+        UnifiedTrade back = mapper.readValue(mapper.writeValueAsString(trade), UnifiedTrade.class);
+
+        assertEquals(8, json.size());
+        assertEquals("정보 없음", json.get("price"));
+        assertEquals("0.50", json.get("amount"));
+        assertEquals(trade, back);
+    }
+}
@@ -0,0 +1,67 @@
+package com.cryptodiscord.component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalResponseCacheTest {
+
+    private final ConditionalResponseCache cache = new ConditionalResponseCache(new ObjectMapper(), 100);
+
+    @Test
+    void reusesBodyWhileVersionIsUnchangedAndAnswers304ForMatchingEtag() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseEntity<List<String>> first = cache.respond("trades:u1", "1", Long.MAX_VALUE, null,
+                () -> List.of("a" + calls.incrementAndGet()));
+        String etag = first.getHeaders().getETag();
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertTrue(etag.startsWith("W/\""));
+
+        ResponseEntity<List<String>> second = cache.respond("trades:u1", "1", Long.MAX_VALUE, etag,
+                () -> List.of("a" + calls.incrementAndGet()));
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+        assertEquals(1, calls.get());
+
+        // 버전이 바뀌면 다시 계산, 내용이 달라졌으므로 200
+        ResponseEntity<List<String>> third = cache.respond("trades:u1", "2", Long.MAX_VALUE, etag,
+                () -> List.of("a" + calls.incrementAndGet()));
+        assertEquals(HttpStatus.OK, third.getStatusCode());
+        assertEquals(List.of("a2"), third.getBody());
+        assertNotEquals(etag, third.getHeaders().getETag());
+        assertEquals(2L, cache.stats().get("computed"));
+        assertEquals(1L, cache.stats().get("not_modified"));
+    }
+
+    @Test
+    void recomputedBodyWithSameFingerprintKeepsEtag() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        // age_ms 만 다른 결과는 지문이 같으므로 304
+        ResponseEntity<Map<String, Object>> first = cache.respond("assets:u1", "1", 0, null,
+                () -> Map.of("price", 100, "age_ms", calls.incrementAndGet()), body -> body.get("price"));
+        ResponseEntity<Map<String, Object>> second = cache.respond("assets:u1", "2", 0,
+                first.getHeaders().getETag(),
+                () -> Map.of("price", 100, "age_ms", calls.incrementAndGet()), body -> body.get("price"));
+
+        assertEquals(2, calls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+    }
+
+    @Test
+    void matchesWeakAndListedEtags() {
+        assertTrue(ConditionalResponseCache.matches("\"abc\"", "W/\"abc\""));
+        assertTrue(ConditionalResponseCache.matches("W/\"x\", W/\"abc\"", "W/\"abc\""));
+        assertTrue(ConditionalResponseCache.matches("*", "W/\"abc\""));
+        assertFalse(ConditionalResponseCache.matches("W/\"abd\"", "W/\"abc\""));
+        assertFalse(ConditionalResponseCache.matches(null, "W/\"abc\""));
+    }
+}
@@ -0,0 +1,63 @@
+package com.cryptodiscord.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossRateEngineTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void derivesUsdtRateAndGateioOnlyCoinsIncrementally() {
+        // 원천 시세가 없으면 조회는 거래소를 부르지 않고 null
+        CrossRateEngine engine = new CrossRateEngine(null, null, null, null);
+        assertNull(engine.usdtKrw());
+        engine.onGateioPrice("BTC", 100_000, 1);
+        engine.onGateioPrice("SUI", 2, 1);
+        engine.onBithumbPrice("BTC", 150_000_000, 1);
+
+        // 빗썸 USDT 마켓이 없으면 BTC 교차 시세 사용
+        assertEquals(1500.0, engine.krw("USDT").value(), 1e-9);
+        assertEquals(3000.0, engine.krw("SUI").value(), 1e-9);
+
+        // 빗썸 USDT 가 들어오면 직접 시세로 바뀌고, 이를 거치는 코인도 다시 계산
+        engine.onBithumbPrice("USDT", 1400, 2);
+        assertEquals(1400.0, engine.usdtKrw().value(), 1e-9);
+        assertEquals(2800.0, engine.krw("SUI").value(), 1e-9);
+        Map<String, Map<String, Object>> cross = (Map<String, Map<String, Object>>) engine.rates(List.of()).get("cross");
+        assertEquals((1500.0 / 1400 - 1) * 100, (double) cross.get(CrossRateEngine.BTC_PREMIUM_PCT).get("rate"), 1e-9);
+
+        // 빗썸에도 있는 코인은 빗썸 KRW 가격 우선
+        engine.onGateioPrice("ETH", 3_000, 3);
+        engine.onBithumbPrice("ETH", 4_300_000, 3);
+        engine.onGateioPrice("ETH", 3_100, 4);
+        assertEquals(4_300_000.0, engine.krw("ETH").value(), 1e-9);
+        assertEquals(4_300_000.0 / 1400, engine.convert(1, "ETH", "USDT"), 1e-9);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unchangedPriceStillRefreshesAge() {
+        CrossRateEngine engine = new CrossRateEngine(null, null, null, null);
+        long old = System.currentTimeMillis() - 60_000;
+        engine.onBithumbPrice("USDT", 1400, old);
+        engine.onGateioPrice("SUI", 2, old);
+        assertTrue(engine.usdtKrw().ageMillis() >= 60_000);
+
+        // 같은 값이 다시 들어와도 시각은 새로 (KRW/USDT 와 이를 거치는 코인 모두)
+        long now = System.currentTimeMillis();
+        engine.onBithumbPrice("USDT", 1400, now);
+        engine.onGateioPrice("SUI", 2, now);
+        assertEquals(now, engine.usdtKrw().updatedAt());
+        assertEquals(now, engine.krw("USDT").updatedAt());
+        assertEquals(now, engine.krw("SUI").updatedAt());
+        assertEquals(2800.0, engine.krw("SUI").value(), 1e-9);
+
+        // 기준 통화는 항상 0ms
+        Map<String, Map<String, Object>> krw = (Map<String, Map<String, Object>>) engine.rates(List.of("KRW")).get("krw");
+        assertEquals(0L, krw.get("KRW").get("age_ms"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.cryptodiscord.component;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptedKeyStoreTest {
+    private static final String MASTER_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storesEncryptedAndPicksUpChangesFromAnotherWriter() throws Exception {
+        Path file = dir.resolve("keys.db");
+        EncryptedKeyStore store = new EncryptedKeyStore(file.toString(), MASTER_KEY, null, 2);
+        store.reload();
+        List<String> changed = new ArrayList<>();
+        store.addListener(changed::add);
+
+        store.put("100", "bithumb", new UserApiKeys.ApiKeys("access-100", "secret-100"));
+        assertEquals("secret-100", store.get("100", "bithumb").secretKey());
+        assertNull(store.get("100", "gateio"));
+        assertFalse(new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1).contains("secret-100"));
+
+        // 다른 인스턴스(다른 프로세스 역할)가 파일을 바꾸면 다시 읽을 때 바뀐 사용자만 반영
+        EncryptedKeyStore other = new EncryptedKeyStore(file.toString(), MASTER_KEY, null, 2);
+        other.reload();
+        other.put("200", "gateio", new UserApiKeys.ApiKeys("access-200", "secret-200"));
+        other.put("100", "bithumb", new UserApiKeys.ApiKeys("access-100b", "secret-100b"));
+        changed.clear();
+        store.reload();
+        assertEquals(List.of("100", "200"), changed.stream().sorted().toList());
+        assertEquals("access-100b", store.get("100", "bithumb").apiKey());
+        assertEquals("secret-200", store.get("200", "gateio").secretKey());
+
+        assertTrue(other.remove("200", "gateio"));
+        store.reload();
+        assertNull(store.get("200", "gateio"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.dto.BithumbOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderJournalTest {
+
+    private static BithumbOrder order(String uuid, String market, String state, String createdAt) {
+        return new BithumbOrder(uuid, "bid", "limit", new BigDecimal("95000000"), state, market, createdAt,
+                new BigDecimal("0.001"), BigDecimal.ZERO, new BigDecimal("0.001"), null, null,
+                new BigDecimal("47.5"), BigDecimal.ZERO, 1);
+    }
+
+    @Test
+    void replaysJournalAndQueriesByIndexes(@TempDir Path dir) throws Exception {
+        OrderJournal journal = new OrderJournal(dir.toString());
+        journal.open();
+        journal.append("u1", List.of(
+                order("a", "KRW-BTC", "wait", "2025-11-01T10:00:00+09:00"),
+                order("b", "KRW-BTC", "done", "2025-11-02T10:00:00+09:00"),
+                order("c", "KRW-ETH", "done", "2025-11-03T10:00:00+09:00")));
+        // 상태 변경은 같은 uuid 재기록 → 마지막 기록이 유효
+        journal.append("u1", List.of(order("a", "KRW-BTC", "done", "2025-11-01T10:00:00+09:00")));
+        journal.markBackfilled("u1", "done");
+        journal.close();
+
+        OrderJournal reopened = new OrderJournal(dir.toString());
+        reopened.open();
+
+        assertTrue(reopened.isBackfilled("u1", "done"));
+        assertTrue(reopened.query("u1", "KRW-BTC", "wait", null, null, 1, 10).isEmpty());
+        assertEquals(List.of("b", "a"),
+                reopened.query("u1", "KRW-BTC", "done", null, null, 1, 10).stream().map(BithumbOrder::uuid).toList());
+        assertEquals(List.of("c", "b", "a"),
+                reopened.query("u1", null, "done", null, null, 1, 10).stream().map(BithumbOrder::uuid).toList());
+        assertEquals(List.of("b"),
+                reopened.query("u1", null, null, null, null, 2, 1).stream().map(BithumbOrder::uuid).toList());
+
+        long from = OffsetDateTime.parse("2025-11-02T10:00:00+09:00").toInstant().toEpochMilli();
+        long to = OffsetDateTime.parse("2025-11-03T10:00:00+09:00").toInstant().toEpochMilli();
+        assertEquals(List.of("c", "b"),
+                reopened.query("u1", null, null, from, to, 1, 10).stream().map(BithumbOrder::uuid).toList());
+        reopened.close();
+    }
+}
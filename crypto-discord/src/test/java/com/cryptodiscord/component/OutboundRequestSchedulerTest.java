@@ -0,0 +1,84 @@
+package com.cryptodiscord.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundRequestSchedulerTest {
+
+    private static OutboundRequestScheduler scheduler(long capacity, long periodMs, long maxWaitMs) {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("crypto.ratelimit.bithumb.private.capacity", Long.toString(capacity))
+                .withProperty("crypto.ratelimit.bithumb.private.period-ms", Long.toString(periodMs));
+        return new OutboundRequestScheduler(env, new SimpleMeterRegistry(), maxWaitMs, maxWaitMs);
+    }
+
+    @Test
+    void failsAfterBoundedWaitWhenBucketIsEmpty() throws Exception {
+        OutboundRequestScheduler scheduler = scheduler(1, 60_000, 50);
+
+        assertEquals("ok", scheduler.execute("bithumb", OutboundRequestScheduler.Endpoint.PRIVATE, () -> "ok"));
+        assertThrows(OutboundRequestScheduler.RateLimitTimeoutException.class,
+                () -> scheduler.execute("bithumb", OutboundRequestScheduler.Endpoint.PRIVATE, () -> "late"));
+
+        Map<String, Object> lane = (Map<String, Object>) scheduler.stats().get("bithumb.private");
+        assertEquals(1L, lane.get("acquired"));
+        assertEquals(1L, lane.get("timeouts"));
+        assertEquals(0, lane.get("queue_depth"));
+    }
+
+    @Test
+    void recordsCallLatencyByEndpointAndOutcome() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OutboundRequestScheduler scheduler = new OutboundRequestScheduler(new MockEnvironment(), registry, 1000, 1000);
+
+        scheduler.execute("bithumb", OutboundRequestScheduler.Endpoint.PRIVATE, "accounts", () -> "ok");
+        assertThrows(IllegalStateException.class, () -> scheduler.execute("bithumb",
+                OutboundRequestScheduler.Endpoint.PRIVATE, "accounts", () -> { throw new IllegalStateException(); }));
+
+        assertEquals(1, registry.get("exchange.requests")
+                .tags("exchange", "bithumb", "endpoint", "accounts", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("exchange.requests")
+                .tags("exchange", "bithumb", "endpoint", "accounts", "outcome", "error").timer().count());
+        assertEquals(2, registry.get("exchange.ratelimit.wait").tag("lane", "bithumb.private").timer().count());
+    }
+
+    @Test
+    void interactiveCallsOvertakeQueuedBackgroundCalls() throws Exception {
+        // 토큰 1개가 200ms 마다 채워짐
+        OutboundRequestScheduler scheduler = scheduler(1, 200, 5_000);
+        scheduler.execute("bithumb", OutboundRequestScheduler.Endpoint.PRIVATE, () -> null);
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(2);
+        List<Thread> background = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    scheduler.runInBackground(() -> {
+                        started.countDown();
+                        scheduler.execute("bithumb", OutboundRequestScheduler.Endpoint.PRIVATE, () -> order.add("background"));
+                    });
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            t.start();
+            background.add(t);
+        }
+        started.await();
+        Thread.sleep(50);
+        scheduler.execute("bithumb", OutboundRequestScheduler.Endpoint.PRIVATE, () -> order.add("interactive"));
+        for (Thread t : background) t.join();
+
+        assertEquals(List.of("interactive", "background", "background"), order);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cryptodiscord.component;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PnlBookTest {
+
+    @Test
+    void averageCostAndFifoDivergeOnPartialSell() {
+        PnlBook book = new PnlBook();
+        book.buy(1, 100, 1);
+        book.buy(1, 200, 1);
+        book.sell(1.5, 300, 2);
+
+        assertEquals(0.5, book.position(), 1e-12);
+        // 이동평균: 평단 150 → 1.5 × (300 - 150)
+        assertEquals(225, book.realized(false), 1e-9);
+        assertEquals(150, book.avgCost(), 1e-9);
+        // FIFO: 1 × (300 - 100) + 0.5 × (300 - 200), 남은 로트는 200원 0.5개
+        assertEquals(250, book.realized(true), 1e-9);
+        assertEquals(200, book.fifoAvgCost(), 1e-9);
+        assertEquals(1, book.openLots());
+
+        assertEquals(0.5 * (400 - 150), book.unrealized(400, false), 1e-9);
+        assertEquals(0.5 * (400 - 200), book.unrealized(400, true), 1e-9);
+        assertEquals(4, book.fees(), 1e-12);
+    }
+
+    @Test
+    void sellingMoreThanBoughtIsTrackedAsUnmatched() {
+        PnlBook book = new PnlBook();
+        for (int i = 0; i < 20; i++) book.buy(1, 10 + i, 0);
+        book.sell(25, 50, 0);
+
+        assertEquals(0, book.position(), 1e-12);
+        assertEquals(5, book.unmatchedQty(), 1e-12);
+        assertEquals(book.realized(false), book.realized(true), 1e-9);
+        assertEquals(0, book.openLots());
+    }
+}
@@ -0,0 +1,37 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.dto.PriceAlert;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceAlertIndexTest {
+
+    private static PriceAlert alert(long id, String user, String type, Double upper, Double lower) {
+        return new PriceAlert(id, user, "BTC", type, 0, 100, upper, lower, 0);
+    }
+
+    @Test
+    void firesOnlyCrossedThresholdsOnce() {
+        PriceAlertIndex index = new PriceAlertIndex();
+        index.add(alert(1, "u1", "above", 110.0, null));
+        index.add(alert(2, "u1", "above", 120.0, null));
+        index.add(alert(3, "u2", "below", null, 90.0));
+        index.add(alert(4, "u2", "percent", 105.0, 95.0));
+
+        assertTrue(index.crossed("BTC", 100).isEmpty());
+        assertTrue(index.crossed("ETH", 1).isEmpty());
+
+        List<PriceAlert> fired = index.crossed("BTC", 112);
+        assertEquals(List.of(4L, 1L), fired.stream().map(PriceAlert::id).toList());
+        // percent 알림은 한쪽이 발동하면 반대쪽 임계값도 제거
+        assertTrue(index.crossed("BTC", 94).isEmpty());
+        assertEquals(List.of(3L), index.crossed("BTC", 90).stream().map(PriceAlert::id).toList());
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.countForUser("u2"));
+        assertEquals(List.of(2L), index.forUser("u1").stream().map(PriceAlert::id).toList());
+    }
+}
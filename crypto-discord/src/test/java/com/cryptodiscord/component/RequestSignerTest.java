@@ -0,0 +1,68 @@
+package com.cryptodiscord.component;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestSignerTest {
+    private static final String SECRET = "test-secret";
+    private final RequestSigner signer = new RequestSigner();
+
+    @Test
+    void sha512HexMatchesLegacyEncoding() throws Exception {
+        String query = "market=KRW-BTC&state=done&page=1&limit=10&order_by=desc";
+        MessageDigest md = MessageDigest.getInstance("SHA-512");
+        String legacy = String.format("%0128x", new BigInteger(1, md.digest(query.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(legacy, signer.sha512Hex(query));
+    }
+
+    @Test
+    void jwtSignatureMatchesJavaJwtHmac256() {
+        String expected = JWT.create().withClaim("access_key", "a").withClaim("timestamp", 1L)
+                .sign(Algorithm.HMAC256(SECRET));
+        String actual = JWT.create().withClaim("access_key", "a").withClaim("timestamp", 1L)
+                .sign(signer.jwtAlgorithm(SECRET));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void verifyAcceptsBotSignatureInAnyCase() throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = Hex.encodeHexString(mac.doFinal("1700000000000".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(signer.verifyHmacSha256Hex(SECRET, "1700000000000", signature));
+        assertTrue(signer.verifyHmacSha256Hex(SECRET, "1700000000000", signature.toUpperCase()));
+        assertFalse(signer.verifyHmacSha256Hex(SECRET, "1700000000001", signature));
+        assertFalse(signer.verifyHmacSha256Hex(SECRET, "1700000000000", "zz"));
+    }
+
+    @Test
+    void ownerKeyIsReplacedOnRotationAndForgotten() {
+        String before = JWT.create().withClaim("a", 1L).sign(signer.jwtAlgorithm("u1", "old-secret"));
+        String after = JWT.create().withClaim("a", 1L).sign(signer.jwtAlgorithm("u1", "new-secret"));
+        assertEquals(JWT.create().withClaim("a", 1L).sign(Algorithm.HMAC256("old-secret")), before);
+        assertEquals(JWT.create().withClaim("a", 1L).sign(Algorithm.HMAC256("new-secret")), after);
+        assertEquals(1, signer.cachedKeys());
+
+        signer.forget("u1");
+        assertEquals(0, signer.cachedKeys());
+    }
+
+    @Test
+    void keyCacheIsBounded() {
+        for (int i = 0; i < RequestSigner.MAX_KEYS + 10; i++) {
+            signer.hmacSha256Hex("secret-" + i, "data");
+        }
+        assertEquals(RequestSigner.MAX_KEYS, signer.cachedKeys());
+    }
+}
@@ -0,0 +1,73 @@
+package com.cryptodiscord.component;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientCallerTest {
+    private static final OutboundRequestScheduler.Endpoint PUBLIC = OutboundRequestScheduler.Endpoint.PUBLIC;
+
+    private static ResilientCaller caller(long timeoutMs, long hedgeMs, int failureThreshold, long openMs) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        OutboundRequestScheduler scheduler = new OutboundRequestScheduler(new MockEnvironment(), registry, 1000, 1000);
+        return new ResilientCaller(scheduler, registry, timeoutMs, hedgeMs, hedgeMs, failureThreshold, openMs);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void slowCallIsHedgedAndFasterResponseWins() throws Exception {
+        ResilientCaller caller = caller(2_000, 50, 5, 10_000);
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result = caller.call("bithumb", PUBLIC, "ticker_all_krw", true, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(1_500);
+                return "slow";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        Map<String, Object> stats = (Map<String, Object>) caller.stats().get("bithumb.ticker_all_krw");
+        assertEquals(1L, stats.get("hedges"));
+        assertEquals(1L, stats.get("hedge_wins"));
+    }
+
+    @Test
+    void opensAfterConsecutiveFaultsAndFailsFastUntilTrialSucceeds() throws Exception {
+        ResilientCaller caller = caller(1_000, 1_000, 2, 200);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IOException.class, () -> caller.call("bithumb", PUBLIC, "ticker", false, () -> {
+                calls.incrementAndGet();
+                throw new IOException("connection reset");
+            }));
+        }
+        // 열린 동안은 호출하지 않고 바로 실패
+        assertThrows(ResilientCaller.CircuitOpenException.class,
+                () -> caller.call("bithumb", PUBLIC, "ticker", false, calls::incrementAndGet));
+        assertEquals(2, calls.get());
+
+        // 사용자 오류는 장애로 세지 않음 (다른 엔드포인트)
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalArgumentException.class, () -> caller.call("bithumb", PUBLIC, "accounts", false, () -> {
+                throw new IllegalArgumentException("invalid key");
+            }));
+        }
+        assertEquals("ok", caller.call("bithumb", PUBLIC, "accounts", false, () -> "ok"));
+
+        // open-ms 이후 시험 호출이 성공하면 복구
+        Thread.sleep(250);
+        assertEquals(3, (int) caller.call("bithumb", PUBLIC, "ticker", false, calls::incrementAndGet));
+        assertEquals(4, (int) caller.call("bithumb", PUBLIC, "ticker", false, calls::incrementAndGet));
+    }
+}
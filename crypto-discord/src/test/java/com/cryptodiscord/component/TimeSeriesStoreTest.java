@@ -0,0 +1,99 @@
+package com.cryptodiscord.component;
+
+import com.cryptodiscord.component.TimeSeriesStore.Range;
+import com.cryptodiscord.component.TimeSeriesStore.Resolution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesStoreTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 3_600_000L;
+
+    @TempDir
+    Path dir;
+
+    private TimeSeriesStore open(int minuteDays) throws Exception {
+        TimeSeriesStore store = new TimeSeriesStore(dir.toString(), minuteDays, 30, 365);
+        store.open();
+        return store;
+    }
+
+    @Test
+    void rollsUpIntoMinuteAndHourBuckets() throws Exception {
+        TimeSeriesStore store = open(1);
+        long base = (System.currentTimeMillis() / HOUR - 2) * HOUR;
+        // 2시간 전 정시부터 1분마다 1..120
+        for (int i = 0; i < 120; i++) store.record("portfolio:u1", base + i * MINUTE, i + 1);
+
+        Range minutes = store.query("portfolio:u1", Resolution.MINUTE, base, base + 10 * MINUTE - 1);
+        assertEquals(10, minutes.size());
+        assertEquals(base + 9 * MINUTE, minutes.t()[9]);
+        assertEquals(10.0, minutes.last()[9]);
+
+        Range hours = store.query("portfolio:u1", Resolution.HOUR, base, base + 2 * HOUR - 1);
+        assertEquals(2, hours.size());
+        assertEquals(30.5, hours.avg()[0], 1e-9);
+        assertEquals(1.0, hours.min()[0]);
+        assertEquals(60.0, hours.max()[0]);
+        assertEquals(120.0, hours.last()[1]);
+        store.close();
+    }
+
+    @Test
+    void keepsOnlyRetentionWindowAndSurvivesReopenAndResize() throws Exception {
+        TimeSeriesStore store = open(1);
+        long now = System.currentTimeMillis();
+        long start = now - 2 * 86_400_000L;
+        // 1분 해상도 보존은 1일 → 앞의 하루치는 덮어써짐
+        for (long t = start; t <= now; t += MINUTE) store.record("price:BTC", t, t);
+
+        Range all = store.query("price:BTC", Resolution.MINUTE, start, now);
+        assertTrue(all.size() <= 1440);
+        assertTrue(all.t()[0] > now - 86_400_000L);
+        assertEquals(now / MINUTE * MINUTE, all.t()[all.size() - 1]);
+        store.close();
+
+        // 다시 열어도 그대로, 보존 기간을 줄이면 최신 버킷만 남음
+        TimeSeriesStore reopened = open(1);
+        assertEquals(all.size(), reopened.query("price:BTC", Resolution.MINUTE, start, now).size());
+        assertTrue(reopened.keys("price:").contains("price:BTC"));
+        reopened.close();
+
+        TimeSeriesStore resized = new TimeSeriesStore(dir.toString(), 0, 30, 365);
+        resized.open();
+        Range one = resized.query("price:BTC", Resolution.MINUTE, start, now);
+        assertEquals(1, one.size());
+        assertEquals(now / MINUTE * MINUTE, one.t()[0]);
+        resized.close();
+    }
+
+    @Test
+    void unknownSeriesIsEmptyAndBadNamesAreRejected() throws Exception {
+        TimeSeriesStore store = open(1);
+        assertEquals(0, store.query("portfolio:none", Resolution.DAY, 0, System.currentTimeMillis()).size());
+        assertThrows(IllegalArgumentException.class, () -> store.record("../x", 0, 1));
+        store.close();
+    }
+
+    @Test
+    void cleanupDeletesExpiredSeriesWithoutOpeningTheRest() throws Exception {
+        TimeSeriesStore store = open(1);
+        long now = System.currentTimeMillis();
+        store.record("price:OLD", now - 400 * 86_400_000L, 1);
+        store.record("price:NEW", now, 1);
+        store.close();
+
+        TimeSeriesStore reopened = open(1);
+        reopened.cleanup();
+        assertEquals(Set.of("price:NEW"), reopened.keys("price:"));
+        assertEquals(0, reopened.stats().get("series_open"));
+        assertEquals(1, reopened.query("price:NEW", Resolution.DAY, now - 86_400_000L, now).size());
+        reopened.close();
+    }
+}
@@ -0,0 +1,141 @@
+package com.cryptodiscord.component;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebSocketFeedConnectionTest {
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private ServerSocket server;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        if (server != null) server.close();
+    }
+
+    @Test
+    void resubscribesAfterDropAndUpdatesTopOfBook() throws Exception {
+        server = new ServerSocket(0);
+        String url = "ws://127.0.0.1:" + server.getLocalPort();
+        TopOfBookStore store = new TopOfBookStore();
+        BithumbMarketDataFeed feed = new BithumbMarketDataFeed(url, List.of("KRW-BTC"), null);
+        WebSocketFeedConnection connection =
+                new WebSocketFeedConnection(feed, store, HttpClient.newHttpClient(), executor, 10, 50);
+        connection.start();
+
+        // 첫 연결: 구독 메시지 확인 후 체결 1건 보내고 연결을 끊음
+        try (Socket first = accept()) {
+            assertTrue(readText(first).contains("KRW-BTC"));
+            sendText(first, "{\"type\":\"ticker\",\"code\":\"KRW-BTC\",\"trade_price\":100000000,\"timestamp\":1}");
+            waitUntil(() -> store.get("bithumb", "KRW-BTC") != null);
+        }
+        assertEquals(100_000_000.0, store.get("bithumb", "KRW-BTC").price(), 1e-9);
+
+        // 재연결되면 다시 구독, 호가 반영 / 늦게 도착한 이전 체결은 버림
+        try (Socket second = accept()) {
+            assertTrue(readText(second).contains("KRW-BTC"));
+            sendText(second, "{\"type\":\"orderbook\",\"code\":\"KRW-BTC\",\"timestamp\":3,"
+                    + "\"orderbook_units\":[{\"bid_price\":99000000,\"ask_price\":101000000}]}");
+            waitUntil(() -> !Double.isNaN(store.get("bithumb", "KRW-BTC").bid()));
+            assertFalse(store.onTrade("bithumb", "KRW-BTC", 1, 0));
+            TopOfBookStore.Quote quote = store.get("bithumb", "KRW-BTC");
+            assertEquals(99_000_000.0, quote.bid(), 1e-9);
+            assertEquals(101_000_000.0, quote.ask(), 1e-9);
+            assertEquals(100_000_000.0, quote.last(), 1e-9);
+            assertEquals(2L, connection.stats().get("connects"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Test
+    void overlappingResubscribesAreSentInOrder() throws Exception {
+        server = new ServerSocket(0);
+        String url = "ws://127.0.0.1:" + server.getLocalPort();
+        BithumbMarketDataFeed feed = new BithumbMarketDataFeed(url, List.of("KRW-BTC"), null);
+        WebSocketFeedConnection connection =
+                new WebSocketFeedConnection(feed, new TopOfBookStore(), HttpClient.newHttpClient(), executor, 10, 50);
+        connection.start();
+
+        // 연결 직후 구독과 겹치도록 바로 재구독 (동시에 sendText 2건이면 IllegalStateException)
+        try (Socket socket = accept()) {
+            waitUntil(connection::isConnected);
+            connection.resubscribe();
+            connection.resubscribe();
+            for (int i = 0; i < 3; i++) assertTrue(readText(socket).contains("KRW-BTC"));
+            waitUntil(() -> connection.subscribed().contains("KRW-BTC"));
+        } finally {
+            connection.close();
+        }
+    }
+
+    // --- 최소 웹소켓 서버 (핸드셰이크 + 텍스트 프레임만) ---
+
+    private Socket accept() throws Exception {
+        server.setSoTimeout(10_000);
+        Socket socket = server.accept();
+        socket.setSoTimeout(10_000);
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+        String key = null;
+        for (String line; (line = in.readLine()) != null && !line.isEmpty(); ) {
+            if (line.toLowerCase().startsWith("sec-websocket-key:")) key = line.substring(line.indexOf(':') + 1).trim();
+        }
+        byte[] sha1 = MessageDigest.getInstance("SHA-1")
+                .digest((key + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11").getBytes(StandardCharsets.ISO_8859_1));
+        String response = "HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + Base64.getEncoder().encodeToString(sha1) + "\r\n\r\n";
+        socket.getOutputStream().write(response.getBytes(StandardCharsets.ISO_8859_1));
+        socket.getOutputStream().flush();
+        return socket;
+    }
+
+    // 클라이언트 프레임은 항상 마스킹되어 옴
+    private static String readText(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        in.readUnsignedByte();
+        int len = in.readUnsignedByte() & 0x7f;
+        long length = len == 126 ? in.readUnsignedShort() : len == 127 ? in.readLong() : len;
+        byte[] mask = new byte[4];
+        in.readFully(mask);
+        byte[] payload = new byte[(int) length];
+        in.readFully(payload);
+        for (int i = 0; i < payload.length; i++) payload[i] ^= mask[i % 4];
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private static void sendText(Socket socket, String text) throws IOException {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeByte(0x81);
+        if (payload.length < 126) {
+            out.writeByte(payload.length);
+        } else {
+            out.writeByte(126);
+            out.writeShort(payload.length);
+        }
+        out.write(payload);
+        out.flush();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("timed out");
+            Thread.sleep(10);
+        }
+    }
+}
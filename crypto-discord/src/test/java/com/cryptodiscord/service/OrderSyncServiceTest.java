@@ -0,0 +1,94 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.component.AccountResponseCache;
+import com.cryptodiscord.component.OrderJournal;
+import com.cryptodiscord.component.RequestSigner;
+import com.cryptodiscord.component.UserApiKeys;
+import com.cryptodiscord.dto.BithumbOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderSyncServiceTest {
+
+    private static BithumbOrder order(String uuid, String state, String createdAt) {
+        return new BithumbOrder(uuid, "bid", "limit", new BigDecimal("95000000"), state, "KRW-BTC", createdAt,
+                new BigDecimal("0.001"), BigDecimal.ZERO, new BigDecimal("0.001"), null, null,
+                new BigDecimal("47.5"), BigDecimal.ZERO, 1);
+    }
+
+    // 상태별 목록(created_at 내림차순)과 uuid 조회만 흉내 내는 거래소
+    private static final class FakeExchange extends CryptoService {
+        final Map<String, List<BithumbOrder>> byState = new HashMap<>();
+        final Map<String, BithumbOrder> byUuid = new HashMap<>();
+        final List<String> lookedUp = new ArrayList<>();
+
+        FakeExchange() {
+            super(null, new UserApiKeys(), null, null, new RequestSigner(), null, null, new AccountResponseCache(null, -1, 0, 16, 5000),
+                    null, null, 0, "");
+        }
+
+        @Override
+        public List<BithumbOrder> getBithumbOrders(String discordId, String market, String state, int page, int limit) {
+            List<BithumbOrder> all = byState.getOrDefault(state, List.of());
+            int from = Math.min(all.size(), (page - 1) * limit);
+            return all.subList(from, Math.min(all.size(), from + limit));
+        }
+
+        @Override
+        public BithumbOrder getBithumbOrder(String discordId, String uuid) {
+            lookedUp.add(uuid);
+            return byUuid.get(uuid);
+        }
+    }
+
+    @Test
+    void oldOpenOrderIsReconciledWhenItFillsBehindNewerDoneOrders(@TempDir Path dir) throws Exception {
+        OrderJournal journal = new OrderJournal(dir.toString());
+        journal.open();
+        FakeExchange exchange = new FakeExchange();
+        OrderSyncService sync = new OrderSyncService(exchange, journal, null, null, new UserApiKeys(), 30_000, 500);
+
+        // 최초 동기화: 오래된 미체결 1건 + 최근 완료 120건
+        List<BithumbOrder> done = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            done.add(order("d" + i, "done", String.format("2025-11-10T%02d:%02d:00+09:00", 23 - i / 60, 59 - i % 60)));
+        }
+        BithumbOrder old = order("old", "wait", "2025-01-01T09:00:00+09:00");
+        exchange.byState.put("wait", List.of(old));
+        exchange.byState.put("done", done);
+        sync.sync("u1");
+        assertEquals(List.of("old"), uuids(journal.query("u1", null, "wait", null, null, 1, 10)));
+        assertTrue(exchange.lookedUp.isEmpty());
+
+        // 오래된 주문이 체결됨 → done 목록에서는 첫 페이지(이미 아는 주문)보다 한참 뒤
+        List<BithumbOrder> doneAfter = new ArrayList<>(done);
+        BithumbOrder filled = order("old", "done", old.createdAt());
+        doneAfter.add(filled);
+        exchange.byState.put("wait", List.of());
+        exchange.byState.put("done", doneAfter);
+        exchange.byUuid.put("old", filled);
+        sync.sync("u1");
+
+        assertEquals(List.of("old"), exchange.lookedUp);
+        assertTrue(journal.query("u1", null, "wait", null, null, 1, 10).isEmpty());
+        assertEquals(121, journal.query("u1", null, "done", null, null, 1, 200).size());
+
+        // 거래소에서 사라진 주문은 unknown 으로 표시하고 다시 조회하지 않음
+        journal.append("u1", List.of(order("gone", "wait", "2025-02-01T09:00:00+09:00")));
+        sync.sync("u1");
+        sync.sync("u1");
+        assertEquals(List.of("old", "gone"), exchange.lookedUp);
+        assertEquals(List.of("gone"), uuids(journal.query("u1", null, OrderSyncService.UNKNOWN, null, null, 1, 10)));
+        journal.close();
+    }
+
+    private static List<String> uuids(List<BithumbOrder> orders) {
+        return orders.stream().map(BithumbOrder::uuid).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.cryptodiscord.service;
+
+import com.cryptodiscord.dto.CoinAsset;
+import com.cryptodiscord.dto.CoinValuation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioStreamServiceTest {
+
+    private static CoinValuation coin(String currency, String balance, double price) {
+        BigDecimal b = new BigDecimal(balance);
+        return new CoinValuation("bithumb", currency, b, BigDecimal.ZERO, BigDecimal.ZERO, price, b.doubleValue() * price);
+    }
+
+    private static Map<String, CoinValuation> state(CoinValuation... coins) {
+        Map<String, CoinValuation> m = new LinkedHashMap<>();
+        for (CoinValuation c : coins) m.put(c.key(), c);
+        return m;
+    }
+
+    @Test
+    void deltaContainsOnlyChangedAndRemovedCoins() {
+        Map<String, CoinValuation> before = state(coin("BTC", "1", 100), coin("ETH", "2", 10), coin("XRP", "5", 1));
+        Map<String, CoinValuation> after = state(coin("BTC", "1", 110), coin("ETH", "2", 10), coin("SOL", "3", 2));
+
+        Map<String, Object> delta = PortfolioStreamService.diff(before, after);
+
+        assertEquals(List.of(coin("BTC", "1", 110), coin("SOL", "3", 2)), delta.get("changed"));
+        assertEquals(List.of("bithumb:XRP"), delta.get("removed"));
+        assertEquals(110 + 20 + 6, (double) delta.get("total_krw"), 1e-9);
+        assertNull(PortfolioStreamService.diff(after, state(after.values().toArray(new CoinValuation[0]))));
+    }
+
+    private static CoinAsset asset(String exchange, String currency, String balance) {
+        return new CoinAsset(exchange, currency, new BigDecimal(balance), BigDecimal.ZERO, BigDecimal.ZERO, "KRW",
+                100, 0, false);
+    }
+
+    @Test
+    void failedExchangeKeepsPreviousBalances() {
+        List<CoinAsset> previous = List.of(asset("bithumb", "BTC", "1"), asset("gateio", "SUI", "10"));
+
+        // Gate.io 시간 초과: 빗썸은 새 잔고, Gate.io 는 직전 잔고 그대로
+        List<CoinAsset> merged = PortfolioStreamService.merge(previous, List.of(asset("bithumb", "BTC", "2")),
+                Map.of("bithumb", Map.of("status", "ok"), "gateio", Map.of("status", "timeout")));
+        assertEquals(List.of(asset("bithumb", "BTC", "2"), asset("gateio", "SUI", "10")), merged);
+
+        // 삭제/추가 없이 값이 바뀐 코인만 delta 로
+        Map<String, CoinValuation> before = new LinkedHashMap<>();
+        Map<String, CoinValuation> after = new LinkedHashMap<>();
+        for (CoinAsset c : previous) before.put(CoinValuation.of(c, 100).key(), CoinValuation.of(c, 100));
+        for (CoinAsset c : merged) after.put(CoinValuation.of(c, 100).key(), CoinValuation.of(c, 100));
+        Map<String, Object> delta = PortfolioStreamService.diff(before, after);
+        assertEquals(List.of(), delta.get("removed"));
+        assertEquals(1, ((List<?>) delta.get("changed")).size());
+
+        // 키를 지운 거래소(not_configured)는 잔고도 버림
+        assertEquals(List.of(asset("bithumb", "BTC", "2")), PortfolioStreamService.merge(previous,
+                List.of(asset("bithumb", "BTC", "2")),
+                Map.of("bithumb", Map.of("status", "ok"), "gateio", Map.of("status", "not_configured"))));
+    }
+}